@@ -0,0 +1,21 @@
+package com.banking.account.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration shared by Kafka events and HTTP responses
+ */
+@Configuration
+public class JacksonConfig {
+    
+    /**
+     * Generates property accessors with LambdaMetafactory instead of reflection.
+     * Spring Boot registers module beans with the application ObjectMapper.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
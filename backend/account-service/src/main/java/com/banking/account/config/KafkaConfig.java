@@ -1,14 +1,22 @@
 package com.banking.account.config;
 
+import com.banking.account.service.EventPublisherService;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +29,12 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
     
+    @Value("${account-events.partitions:3}")
+    private int accountEventPartitions;
+    
+    @Value("${transfer-saga.partitions:12}")
+    private int transferCommandPartitions;
+    
     @Bean
     public ProducerFactory<String, String> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -41,4 +55,58 @@ public class KafkaConfig {
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Listener container factory for topics every instance consumes in full,
+     * such as cache invalidations. It never commits offsets: the instance
+     * starts from the latest offset each time, and its consumer group keeps no
+     * state on the broker once the instance stops.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> broadcastContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        // Records are never acknowledged, so nothing is committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        return factory;
+    }
+    
+    /**
+     * Consumer group of this instance for a broadcast listener. Host name and
+     * server port tell running instances apart and stay the same when an
+     * instance restarts.
+     */
+    public static String instanceGroupId(String listener, int serverPort) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return listener + "-" + host + "-" + serverPort;
+    }
+    
+    /**
+     * Account events are keyed by account ID and compacted, so consumers can
+     * rebuild the current state of every account by replaying the topic.
+     */
+    @Bean
+    public NewTopic accountEventsTopic() {
+        return TopicBuilder.name(EventPublisherService.ACCOUNT_EVENTS_TOPIC)
+                .partitions(accountEventPartitions)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+    
+    /**
+     * Transfer saga commands are keyed by account, so the partition count
+     * bounds how many accounts can be worked on in parallel.
+     */
+    @Bean
+    public NewTopic transferCommandsTopic() {
+        return new NewTopic(EventPublisherService.TRANSFER_COMMANDS_TOPIC, transferCommandPartitions, (short) 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.banking.account.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Beans kept eager when spring.main.lazy-initialization is on (fast-start profile).
+ *
+ * Everything else is created on first use. Kafka listeners, scheduled jobs and
+ * beans with start-up side effects must exist before the application is ready,
+ * and the entity manager factory stays eager so that mapping errors fail the
+ * start instead of the first request.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EntityManagerFactory.class.isAssignableFrom(beanType)
+                || AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+                || (beanType.getName().startsWith("com.banking.") && hasStartupWork(beanType)));
+    }
+
+    private static boolean hasStartupWork(Class<?> beanType) {
+        if (AnnotatedElementUtils.hasAnnotation(beanType, Configuration.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, KafkaListener.class)) {
+            return true;
+        }
+        return !MethodIntrospector.selectMethods(beanType, (ReflectionUtils.MethodFilter) method ->
+                AnnotatedElementUtils.hasAnnotation(method, KafkaListener.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || method.isAnnotationPresent(PostConstruct.class)).isEmpty();
+    }
+}
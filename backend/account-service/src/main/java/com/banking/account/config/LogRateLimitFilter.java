@@ -0,0 +1,77 @@
+package com.banking.account.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logback turbo filter that caps how often each log statement may fire.
+ *
+ * Events below WARN from loggers under {@code loggerPrefix} are counted per
+ * message format and at most {@code eventsPerSecond} of them pass in any
+ * one-second window; the rest are dropped before a logging event is built.
+ * WARN and ERROR always pass. Configured from logback-spring.xml.
+ *
+ * The transaction service builds on its own and carries an identical copy of
+ * this class and of the prod logback configuration; change both together.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private static final int MAX_TRACKED_FORMATS = 1024;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "com.banking";
+    private int eventsPerSecond = 20;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= MAX_TRACKED_FORMATS) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(format, f -> new Window());
+        }
+        return window.tryAcquire(System.currentTimeMillis() / 1000, eventsPerSecond)
+                ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    private static final class Window {
+
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now, int limit) {
+            if (second != now) {
+                synchronized (this) {
+                    if (second != now) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
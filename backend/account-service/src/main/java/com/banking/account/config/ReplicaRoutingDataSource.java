@@ -0,0 +1,116 @@
+package com.banking.account.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is only
+ * fetched once the transaction's read-only flag is known. The flag is also set
+ * for read-only scopes without an actual transaction, e.g. readOnly methods
+ * with Propagation.SUPPORTS called from outside a transaction, so their reads
+ * go to the replica as well. Replica lag is polled
+ * in the background; while the replica is unreachable or lags more than the
+ * configured limit, read-only transactions fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long lagCheckIntervalMs;
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile boolean replicaAvailable;
+    private volatile double replicaLagSeconds = Double.NaN;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery,
+                                    double maxLagSeconds, long lagCheckIntervalMs) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplica();
+        lagChecker.scheduleWithFixedDelay(this::checkReplica, lagCheckIntervalMs, lagCheckIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && replicaAvailable ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public double getReplicaLagSeconds() {
+        return replicaLagSeconds;
+    }
+
+    private void checkReplica() {
+        boolean available;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+            replicaLagSeconds = lag;
+            available = lag <= maxLagSeconds;
+            if (!available && replicaAvailable) {
+                logger.warn("Replica lag {}s exceeds {}s, routing reads to primary", lag, maxLagSeconds);
+            }
+        } catch (Exception e) {
+            replicaLagSeconds = Double.NaN;
+            available = false;
+            if (replicaAvailable) {
+                logger.warn("Replica check failed, routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (available && !replicaAvailable) {
+            logger.info("Replica available, routing read-only transactions to replica");
+        }
+        replicaAvailable = available;
+    }
+
+    @Override
+    public void destroy() {
+        lagChecker.shutdownNow();
+    }
+}
@@ -1,23 +0,0 @@
-package com.banking.account.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.web.client.RestTemplate;
-
-/**
- * Configuration for RestTemplate to communicate with other services.
- */
-@Configuration
-public class RestTemplateConfig {
-
-    @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 seconds connection timeout
-        factory.setReadTimeout(10000);   // 10 seconds read timeout
-        
-        RestTemplate restTemplate = new RestTemplate(factory);
-        return restTemplate;
-    }
-} 
\ No newline at end of file
@@ -1,16 +1,22 @@
 package com.banking.account.controller;
 
-import com.banking.account.domain.valueobject.Money;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.DailyBalanceResponse;
 import com.banking.account.dto.MoneyTransactionRequest;
 import com.banking.account.service.AccountService;
+import com.banking.account.service.BalanceHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +30,7 @@ import java.util.UUID;
  * - Account inquiry  
  * - Money transactions (credit/debit)
  * - Balance checking
+ * - Daily balance history
  */
 @RestController
 @RequestMapping("/api/accounts")
@@ -31,10 +38,12 @@ import java.util.UUID;
 public class AccountController {
     
     private final AccountService accountService;
+    private final BalanceHistoryService balanceHistoryService;
     
     @Autowired
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, BalanceHistoryService balanceHistoryService) {
         this.accountService = accountService;
+        this.balanceHistoryService = balanceHistoryService;
     }
     
     /**
@@ -62,9 +71,12 @@ public class AccountController {
      * GET /api/accounts/{accountId}
      */
     @GetMapping("/{accountId}")
-    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID accountId) {
+    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID accountId, WebRequest webRequest) {
         try {
             AccountResponse response = accountService.getAccount(accountId);
+            if (webRequest.checkNotModified(etag(response))) {
+                return null;
+            }
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -76,9 +88,12 @@ public class AccountController {
      * GET /api/accounts/number/{accountNumber}
      */
     @GetMapping("/number/{accountNumber}")
-    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
+    public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber, WebRequest webRequest) {
         try {
             AccountResponse response = accountService.getAccountByNumber(accountNumber);
+            if (webRequest.checkNotModified(etag(response))) {
+                return null;
+            }
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -90,8 +105,11 @@ public class AccountController {
      * GET /api/accounts/user/{userId}
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AccountResponse>> getUserAccounts(@PathVariable UUID userId) {
+    public ResponseEntity<List<AccountResponse>> getUserAccounts(@PathVariable UUID userId, WebRequest webRequest) {
         List<AccountResponse> accounts = accountService.getUserAccounts(userId);
+        if (webRequest.checkNotModified(etag(accounts))) {
+            return null;
+        }
         return ResponseEntity.ok(accounts);
     }
     
@@ -132,19 +150,59 @@ public class AccountController {
      * GET /api/accounts/{accountId}/balance
      */
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<Map<String, Object>> getAccountBalance(@PathVariable UUID accountId) {
+    public ResponseEntity<Map<String, Object>> getAccountBalance(@PathVariable UUID accountId, WebRequest webRequest) {
         try {
-            Money balance = accountService.getAccountBalance(accountId);
+            AccountResponse account = accountService.getAccount(accountId);
+            if (webRequest.checkNotModified(etag(account))) {
+                return null;
+            }
             Map<String, Object> response = new HashMap<>();
             response.put("accountId", accountId);
-            response.put("balance", balance.getAmount());
-            response.put("currency", balance.getCurrency());
+            response.put("balance", account.getBalance());
+            response.put("currency", account.getCurrency());
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Get daily balance history for the last N days
+     * GET /api/accounts/{accountId}/balance-history?days=30
+     */
+    @GetMapping("/{accountId}/balance-history")
+    public ResponseEntity<List<DailyBalanceResponse>> getBalanceHistory(
+            @PathVariable UUID accountId,
+            @RequestParam(defaultValue = "30") int days) {
+        List<DailyBalanceResponse> history = balanceHistoryService.getBalanceHistory(accountId, days);
+        return ResponseEntity.ok(history);
+    }
+    
+    /**
+     * Strong ETag for an account, built from the response it is sent with; the row
+     * version increases with every write to the account row
+     */
+    private String etag(AccountResponse account) {
+        return "\"" + account.getId() + "-" + account.getVersion() + "\"";
+    }
+    
+    /**
+     * Strong ETag for an account list: a SHA-256 digest of every (id, version) pair
+     * in the order the list is sent, so any added, removed or written account changes it
+     */
+    private String etag(List<AccountResponse> accounts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        for (AccountResponse account : accounts) {
+            digest.update((account.getId() + ":" + account.getVersion() + ";").getBytes(StandardCharsets.US_ASCII));
+        }
+        return "\"" + String.format("%064x", new BigInteger(1, digest.digest())) + "\"";
+    }
+    
     /**
      * Health check endpoint
      * GET /api/accounts/health
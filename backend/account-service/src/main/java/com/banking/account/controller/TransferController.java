@@ -0,0 +1,71 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.CreateTransferRequest;
+import com.banking.account.dto.TransferResponse;
+import com.banking.account.service.TransferSagaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for transfers between accounts
+ * 
+ * Transfers are executed asynchronously by the transfer saga; the
+ * returned transfer can be polled until it reaches COMPLETED or FAILED.
+ */
+@RestController
+@RequestMapping("/api/transfers")
+@CrossOrigin(origins = "*") // For React frontend
+public class TransferController {
+    
+    private final TransferSagaService transferSagaService;
+    
+    @Autowired
+    public TransferController(TransferSagaService transferSagaService) {
+        this.transferSagaService = transferSagaService;
+    }
+    
+    /**
+     * Start a transfer between two accounts
+     * POST /api/transfers
+     */
+    @PostMapping
+    public ResponseEntity<TransferResponse> createTransfer(@Valid @RequestBody CreateTransferRequest request) {
+        try {
+            TransferResponse response = transferSagaService.startTransfer(request);
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new RuntimeException("Transfer failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Get transfer by ID
+     * GET /api/transfers/{transferId}
+     */
+    @GetMapping("/{transferId}")
+    public ResponseEntity<TransferResponse> getTransfer(@PathVariable UUID transferId) {
+        try {
+            TransferResponse response = transferSagaService.getTransfer(transferId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Global exception handler for this controller
+     */
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -4,7 +4,11 @@ import com.banking.account.domain.valueobject.AccountNumber;
 import com.banking.account.domain.valueobject.Money;
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.GenericGenerator;
 
@@ -20,8 +24,12 @@ import java.util.UUID;
  * - Value objects (AccountNumber, Money)
  * - JPA entity mapping
  * - Validation constraints
+ * - Second-level caching, with the account number as a cached natural id
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Account.CACHE_REGION)
+@NaturalIdCache(region = Account.NATURAL_ID_CACHE_REGION)
 @Table(name = "accounts", indexes = {
     @Index(name = "idx_account_number", columnList = "account_number"),
     @Index(name = "idx_user_id", columnList = "user_id"),
@@ -29,12 +37,16 @@ import java.util.UUID;
 })
 public class Account {
 
+    public static final String CACHE_REGION = "accounts";
+    public static final String NATURAL_ID_CACHE_REGION = "account-numbers";
+
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = "com.banking.account.domain.id.UuidV7Generator")
     @Column(columnDefinition = "UUID")
     private UUID id;
 
+    @NaturalId
     @Embedded
     @AttributeOverride(name = "value", column = @Column(name = "account_number", unique = true, nullable = false))
     private AccountNumber accountNumber;
@@ -79,6 +91,10 @@ public class Account {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Column(name = "closed_at")
     private LocalDateTime closedAt;
 
@@ -112,12 +128,13 @@ public class Account {
 
     /**
      * Debits the account with the specified amount.
-     * Implements business rules for withdrawal operations.
+     * Implements business rules for withdrawal operations; funds held for
+     * pending transfers cannot be withdrawn.
      */
     public void debit(Money amount) {
         validateActiveStatus();
         validateCurrency(amount);
-        validateSufficientFunds(amount);
+        validateSufficientAvailableFunds(amount);
         
         this.balance = this.balance.subtract(amount);
         this.availableBalance = this.availableBalance.subtract(amount);
@@ -151,6 +168,21 @@ public class Account {
         this.availableBalance = this.availableBalance.add(amount);
     }
 
+    /**
+     * Settles previously blocked funds, removing them from the balance.
+     * Used when a pending transfer out of this account completes.
+     */
+    public void settleBlockedFunds(Money amount) {
+        validateCurrency(amount);
+        
+        Money blocked = this.balance.subtract(this.availableBalance);
+        if (amount.isGreaterThan(blocked)) {
+            throw new IllegalArgumentException("Cannot settle more funds than blocked");
+        }
+        
+        this.balance = this.balance.subtract(amount);
+    }
+
     /**
      * Activates the account if it's pending.
      */
@@ -195,12 +227,6 @@ public class Account {
         }
     }
 
-    private void validateSufficientFunds(Money amount) {
-        if (this.balance.isLessThan(amount)) {
-            throw new IllegalArgumentException("Insufficient funds");
-        }
-    }
-
     private void validateSufficientAvailableFunds(Money amount) {
         if (this.availableBalance.isLessThan(amount)) {
             throw new IllegalArgumentException("Insufficient available funds");
@@ -260,6 +286,10 @@ public class Account {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public LocalDateTime getClosedAt() {
         return closedAt;
     }
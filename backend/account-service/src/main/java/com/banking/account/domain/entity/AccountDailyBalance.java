@@ -0,0 +1,123 @@
+package com.banking.account.domain.entity;
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Daily balance and turnover of an account (balance history read model).
+ *
+ * Rows are only written through AccountDailyBalanceRepository.recordPosting,
+ * which upserts the day in the same transaction as the posting itself.
+ */
+@Entity
+@Table(name = "account_daily_balances")
+@IdClass(AccountDailyBalance.Key.class)
+public class AccountDailyBalance {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "balance_date", nullable = false)
+    private LocalDate balanceDate;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "opening_balance", nullable = false)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(name = "total_credits", nullable = false)
+    private BigDecimal totalCredits;
+
+    @Column(name = "total_debits", nullable = false)
+    private BigDecimal totalDebits;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    protected AccountDailyBalance() {
+        // JPA requires default constructor
+    }
+
+    // Getters
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getBalanceDate() {
+        return balanceDate;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+
+    public BigDecimal getTotalDebits() {
+        return totalDebits;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Composite primary key (account_id, balance_date)
+     */
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private LocalDate balanceDate;
+
+        public Key() {
+        }
+
+        public Key(UUID accountId, LocalDate balanceDate) {
+            this.accountId = accountId;
+            this.balanceDate = balanceDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(accountId, key.accountId) && Objects.equals(balanceDate, key.balanceDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, balanceDate);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.banking.account.domain.entity;
+
+import com.banking.account.domain.valueobject.Money;
+import javax.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Transfer Entity tracking the state of a money transfer saga between two accounts.
+ *
+ * The saga reserves funds on the source account, credits the target account
+ * and then settles the reservation. If the target cannot be credited the
+ * reservation is released again (compensation).
+ */
+@Entity
+@Table(name = "transfers", indexes = {
+    @Index(name = "idx_transfers_source_account", columnList = "source_account_id"),
+    @Index(name = "idx_transfers_target_account", columnList = "target_account_id"),
+    @Index(name = "idx_transfers_status", columnList = "status")
+})
+public class Transfer {
+
+    @Id
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = "com.banking.account.domain.id.UuidV7Generator")
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "source_account_id", nullable = false)
+    private UUID sourceAccountId;
+
+    @Column(name = "target_account_id", nullable = false)
+    private UUID targetAccountId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "amount", column = @Column(name = "amount", nullable = false)),
+        @AttributeOverride(name = "currency", column = @Column(name = "currency", nullable = false))
+    })
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransferStatus status = TransferStatus.REQUESTED;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    protected Transfer() {
+        // JPA requires default constructor
+    }
+
+    public Transfer(UUID sourceAccountId, UUID targetAccountId, UUID userId, Money amount, String description) {
+        if (sourceAccountId.equals(targetAccountId)) {
+            throw new IllegalArgumentException("Source and target account must differ");
+        }
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.userId = userId;
+        this.amount = amount;
+        this.description = description;
+        this.status = TransferStatus.REQUESTED;
+    }
+
+    // Saga transitions
+
+    /**
+     * Marks the source funds as reserved.
+     */
+    public void fundsReserved() {
+        transition(TransferStatus.REQUESTED, TransferStatus.FUNDS_RESERVED);
+    }
+
+    /**
+     * Marks the target account as credited.
+     */
+    public void targetCredited() {
+        transition(TransferStatus.FUNDS_RESERVED, TransferStatus.TARGET_CREDITED);
+    }
+
+    /**
+     * Completes the transfer once the source reservation has been settled.
+     */
+    public void complete() {
+        transition(TransferStatus.TARGET_CREDITED, TransferStatus.COMPLETED);
+        this.completedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Starts compensation after the target account could not be credited.
+     */
+    public void compensate(String reason) {
+        transition(TransferStatus.FUNDS_RESERVED, TransferStatus.COMPENSATING);
+        this.failureReason = reason;
+    }
+
+    /**
+     * Fails the transfer. Allowed before funds are reserved or once compensation is done.
+     */
+    public void fail(String reason) {
+        if (this.status != TransferStatus.REQUESTED && this.status != TransferStatus.COMPENSATING) {
+            throw new IllegalStateException("Transfer cannot be failed in current status: " + this.status.name());
+        }
+        this.status = TransferStatus.FAILED;
+        if (reason != null) {
+            this.failureReason = reason;
+        }
+        this.completedAt = LocalDateTime.now();
+    }
+
+    private void transition(TransferStatus expected, TransferStatus next) {
+        if (this.status != expected) {
+            throw new IllegalStateException("Transfer must be in " + expected.name() + " status, was " + this.status.name());
+        }
+        this.status = next;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public UUID getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public TransferStatus getStatus() {
+        return status;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "Transfer{" +
+                "id=" + id +
+                ", sourceAccountId=" + sourceAccountId +
+                ", targetAccountId=" + targetAccountId +
+                ", amount=" + amount +
+                ", status=" + status.name() +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.account.domain.entity;
+
+/**
+ * Enumeration representing the steps of a transfer saga.
+ */
+public enum TransferStatus {
+    REQUESTED("Requested"),
+    FUNDS_RESERVED("Funds Reserved"),
+    TARGET_CREDITED("Target Credited"),
+    COMPLETED("Completed"),
+    COMPENSATING("Compensating"),
+    FAILED("Failed");
+    
+    private final String displayName;
+    
+    TransferStatus(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    public boolean isFinal() {
+        return this == COMPLETED || this == FAILED;
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -4,6 +4,7 @@ import javax.persistence.Embeddable;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Pattern;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.Random;
 
@@ -12,7 +13,7 @@ import java.util.Random;
  * Demonstrates immutability and validation patterns.
  */
 @Embeddable
-public class AccountNumber {
+public class AccountNumber implements Serializable {
     
     @NotBlank(message = "Account number cannot be blank")
     @Pattern(regexp = "^[0-9]{10,12}$", message = "Account number must be 10-12 digits")
@@ -0,0 +1,108 @@
+package com.banking.account.domain.valueobject;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Immutable currency descriptor from a registry precomputed at class load.
+ * 
+ * Every ISO 4217 currency whose minor unit fits the DECIMAL(15,2) amount
+ * columns (0 to 2 fraction digits) gets exactly one instance, stored in an
+ * array indexed by its three-letter code. Lookups are an index computation
+ * and an array read, and instances can be compared by reference.
+ */
+public final class CurrencyUnit implements Serializable {
+    
+    private static final int LETTERS = 26;
+    private static final CurrencyUnit[] REGISTRY = new CurrencyUnit[LETTERS * LETTERS * LETTERS];
+    
+    static {
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int fractionDigits = currency.getDefaultFractionDigits();
+            int index = index(currency.getCurrencyCode());
+            if (index >= 0 && fractionDigits >= 0 && fractionDigits <= Money.SCALE) {
+                REGISTRY[index] = new CurrencyUnit(currency.getCurrencyCode(), fractionDigits);
+            }
+        }
+    }
+    
+    private final String code;
+    private final int fractionDigits;
+    private final long minorUnitStep;
+    
+    private CurrencyUnit(String code, int fractionDigits) {
+        this.code = code;
+        this.fractionDigits = fractionDigits;
+        this.minorUnitStep = BigDecimal.ONE.scaleByPowerOfTen(Money.SCALE - fractionDigits).longValueExact();
+    }
+    
+    /**
+     * Look up a currency by its ISO code (case-insensitive)
+     */
+    public static CurrencyUnit of(String code) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("Currency cannot be null or empty");
+        }
+        int index = index(code);
+        CurrencyUnit unit = index >= 0 ? REGISTRY[index] : null;
+        if (unit == null) {
+            throw new IllegalArgumentException("Invalid currency code: " + code);
+        }
+        return unit;
+    }
+    
+    /**
+     * Registry slot of a three-letter code, or -1 if it is not three letters
+     */
+    private static int index(String code) {
+        if (code.length() != 3) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < 3; i++) {
+            int letter = (code.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+            index = index * LETTERS + letter;
+        }
+        return index;
+    }
+    
+    /**
+     * Convert an amount to Money minor units, rounding half up to this currency's precision
+     */
+    long toMinorUnits(BigDecimal amount) {
+        BigDecimal rounded = amount.scale() == fractionDigits ? amount : amount.setScale(fractionDigits, RoundingMode.HALF_UP);
+        if (rounded.precision() > 18 - (Money.SCALE - fractionDigits)) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
+        return rounded.unscaledValue().longValue() * minorUnitStep;
+    }
+    
+    public String getCode() {
+        return code;
+    }
+    
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+    
+    /**
+     * Money minor units per smallest unit of this currency (1 for cents, 100 for whole yen)
+     */
+    public long getMinorUnitStep() {
+        return minorUnitStep;
+    }
+    
+    private Object readResolve() {
+        return of(code);
+    }
+    
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,21 @@
+package com.banking.account.domain.valueobject;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Maps currency columns to registry instances of CurrencyUnit
+ */
+@Converter
+public class CurrencyUnitConverter implements AttributeConverter<CurrencyUnit, String> {
+    
+    @Override
+    public String convertToDatabaseColumn(CurrencyUnit currency) {
+        return currency != null ? currency.getCode() : null;
+    }
+    
+    @Override
+    public CurrencyUnit convertToEntityAttribute(String code) {
+        return code != null ? CurrencyUnit.of(code) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.banking.account.domain.valueobject;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Maps Money minor units to the DECIMAL(15,2) amount columns
+ */
+@Converter
+public class MinorUnitsConverter implements AttributeConverter<Long, BigDecimal> {
+    
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+        return minorUnits != null ? Money.toDecimal(minorUnits) : null;
+    }
+    
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount != null ? amount.setScale(Money.SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact() : null;
+    }
+}
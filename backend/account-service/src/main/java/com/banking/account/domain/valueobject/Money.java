@@ -1,47 +1,66 @@
 package com.banking.account.domain.valueobject;
 
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Embeddable;
 import javax.validation.constraints.NotNull;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Currency;
 import java.util.Objects;
 
 /**
  * Value object representing monetary amounts.
- * Demonstrates proper handling of financial calculations.
+ * 
+ * Amounts are held as a long count of minor units (cents) so that posting
+ * arithmetic is exact and allocation-free; BigDecimal only appears at the
+ * edges (requests, events, JPA columns). The range is that of the
+ * DECIMAL(15,2) columns, and every operation is overflow checked.
+ * Currencies are CurrencyUnit registry instances, so currency checks are
+ * reference comparisons; amounts are rounded to the currency's own
+ * precision (e.g. whole units for JPY).
  */
 @Embeddable
-public class Money {
+public class Money implements Serializable {
     
-    @NotNull
-    private BigDecimal amount;
+    /**
+     * Decimal places of the stored amount (the scale of the DECIMAL(15,2) columns)
+     */
+    public static final int SCALE = 2;
+    
+    /**
+     * Largest absolute amount in minor units that fits DECIMAL(15,2)
+     */
+    public static final long MAX_MINOR_UNITS = 999_999_999_999_999L;
+    
+    @Convert(converter = MinorUnitsConverter.class)
+    @Column(precision = 15, scale = SCALE)
+    private long amount;
     
     @NotNull
-    private String currency;
+    @Convert(converter = CurrencyUnitConverter.class)
+    private CurrencyUnit currency;
     
     protected Money() {
         // JPA requires default constructor
     }
     
+    private Money(long minorUnits, CurrencyUnit currency) {
+        this.amount = checkRange(minorUnits);
+        this.currency = currency;
+    }
+    
     public Money(BigDecimal amount, String currency) {
+        this(amount, CurrencyUnit.of(currency));
+    }
+    
+    public Money(BigDecimal amount, CurrencyUnit currency) {
         if (amount == null) {
             throw new IllegalArgumentException("Amount cannot be null");
         }
-        if (currency == null || currency.trim().isEmpty()) {
-            throw new IllegalArgumentException("Currency cannot be null or empty");
-        }
-        
-        // Validate currency code
-        try {
-            Currency.getInstance(currency);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid currency code: " + currency);
-        }
-        
-        this.amount = amount.setScale(2, RoundingMode.HALF_UP);
-        this.currency = currency.toUpperCase();
+        this.amount = checkRange(currency.toMinorUnits(amount));
+        this.currency = currency;
     }
     
     public Money(double amount, String currency) {
@@ -49,7 +68,7 @@ public class Money {
     }
     
     public static Money zero(String currency) {
-        return new Money(BigDecimal.ZERO, currency);
+        return new Money(0L, CurrencyUnit.of(currency));
     }
     
     public static Money of(BigDecimal amount, String currency) {
@@ -60,18 +79,25 @@ public class Money {
         return new Money(amount, currency);
     }
     
+    public static Money ofMinorUnits(long minorUnits, CurrencyUnit currency) {
+        if (minorUnits % currency.getMinorUnitStep() != 0) {
+            throw new IllegalArgumentException("Amount is finer than the precision of " + currency);
+        }
+        return new Money(minorUnits, currency);
+    }
+    
     public Money add(Money other) {
         validateSameCurrency(other);
-        return new Money(this.amount.add(other.amount), this.currency);
+        return new Money(Math.addExact(this.amount, other.amount), this.currency);
     }
     
     public Money subtract(Money other) {
         validateSameCurrency(other);
-        return new Money(this.amount.subtract(other.amount), this.currency);
+        return new Money(Math.subtractExact(this.amount, other.amount), this.currency);
     }
     
     public Money multiply(BigDecimal multiplier) {
-        return new Money(this.amount.multiply(multiplier), this.currency);
+        return new Money(getAmount().multiply(multiplier), this.currency);
     }
     
     public Money multiply(double multiplier) {
@@ -79,7 +105,7 @@ public class Money {
     }
     
     public Money divide(BigDecimal divisor) {
-        return new Money(this.amount.divide(divisor, 2, RoundingMode.HALF_UP), this.currency);
+        return new Money(getAmount().divide(divisor, currency.getFractionDigits(), RoundingMode.HALF_UP), this.currency);
     }
     
     public Money divide(double divisor) {
@@ -87,39 +113,39 @@ public class Money {
     }
     
     public boolean isZero() {
-        return amount.compareTo(BigDecimal.ZERO) == 0;
+        return amount == 0;
     }
     
     public boolean isPositive() {
-        return amount.compareTo(BigDecimal.ZERO) > 0;
+        return amount > 0;
     }
     
     public boolean isNegative() {
-        return amount.compareTo(BigDecimal.ZERO) < 0;
+        return amount < 0;
     }
     
     public boolean isGreaterThan(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) > 0;
+        return this.amount > other.amount;
     }
     
     public boolean isLessThan(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) < 0;
+        return this.amount < other.amount;
     }
     
     public boolean isGreaterThanOrEqual(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) >= 0;
+        return this.amount >= other.amount;
     }
     
     public boolean isLessThanOrEqual(Money other) {
         validateSameCurrency(other);
-        return this.amount.compareTo(other.amount) <= 0;
+        return this.amount <= other.amount;
     }
     
     public boolean hasSameCurrency(Money other) {
-        return this.currency.equals(other.currency);
+        return this.currency == other.currency;
     }
     
     private void validateSameCurrency(Money other) {
@@ -131,19 +157,41 @@ public class Money {
     }
     
     public BigDecimal getAmount() {
+        return toDecimal(amount);
+    }
+    
+    public long getMinorUnits() {
         return amount;
     }
     
     public String getCurrency() {
+        return currency.getCode();
+    }
+    
+    public CurrencyUnit getCurrencyUnit() {
         return currency;
     }
     
+    /**
+     * Convert minor units to a decimal amount with the column scale
+     */
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+    
+    private static long checkRange(long minorUnits) {
+        if (minorUnits > MAX_MINOR_UNITS || minorUnits < -MAX_MINOR_UNITS) {
+            throw new IllegalArgumentException("Amount out of range: " + toDecimal(minorUnits));
+        }
+        return minorUnits;
+    }
+    
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount) && Objects.equals(currency, money.currency);
+        return amount == money.amount && currency == money.currency;
     }
     
     @Override
@@ -153,6 +201,6 @@ public class Money {
     
     @Override
     public String toString() {
-        return String.format("%s %s", currency, amount);
+        return String.format("%s %s", currency, getAmount());
     }
-} 
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package com.banking.account.dto;
 
+import com.banking.account.domain.entity.Account;
 import com.banking.account.domain.entity.AccountStatus;
 import com.banking.account.domain.entity.AccountType;
+import com.banking.account.domain.valueobject.CurrencyUnit;
+import com.banking.account.domain.valueobject.Money;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,10 +24,50 @@ public class AccountResponse {
     private BigDecimal availableBalance;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
     
     // Constructors
     public AccountResponse() {}
     
+    /**
+     * Constructor used by JPQL projections (amounts arrive as Money minor units, currency as its registry entry)
+     */
+    public AccountResponse(UUID id, String accountNumber, UUID userId, AccountType accountType,
+                           AccountStatus status, Long balance, CurrencyUnit currency,
+                           Long availableBalance, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           long version) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.userId = userId;
+        this.accountType = accountType;
+        this.status = status;
+        this.balance = Money.toDecimal(balance);
+        this.currency = currency.getCode();
+        this.availableBalance = Money.toDecimal(availableBalance);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
+    /**
+     * Map an account entity; flush it first, the version only increases on flush
+     */
+    public static AccountResponse from(Account account) {
+        AccountResponse response = new AccountResponse();
+        response.setId(account.getId());
+        response.setAccountNumber(account.getAccountNumber().getValue());
+        response.setUserId(account.getUserId());
+        response.setAccountType(account.getAccountType());
+        response.setStatus(account.getStatus());
+        response.setBalance(account.getBalance().getAmount());
+        response.setCurrency(account.getBalance().getCurrency());
+        response.setAvailableBalance(account.getAvailableBalance().getAmount());
+        response.setCreatedAt(account.getCreatedAt());
+        response.setUpdatedAt(account.getUpdatedAt());
+        response.setVersion(account.getVersion());
+        return response;
+    }
+    
     // Getters and Setters
     public UUID getId() {
         return id;
@@ -105,4 +148,15 @@ public class AccountResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    /**
+     * Row version of the account, increased by every change
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(long version) {
+        this.version = version;
+    }
 } 
\ No newline at end of file
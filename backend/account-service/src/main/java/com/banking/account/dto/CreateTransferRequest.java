@@ -0,0 +1,81 @@
+package com.banking.account.dto;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Request DTO for transferring money between two accounts
+ */
+public class CreateTransferRequest {
+    
+    @NotNull(message = "Source account ID is required")
+    private UUID sourceAccountId;
+    
+    @NotNull(message = "Target account ID is required")
+    private UUID targetAccountId;
+    
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than zero")
+    private BigDecimal amount;
+    
+    private String currency = "USD";
+    
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+    
+    // Constructors
+    public CreateTransferRequest() {}
+    
+    public CreateTransferRequest(UUID sourceAccountId, UUID targetAccountId, BigDecimal amount, 
+                                 String currency, String description) {
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+    }
+    
+    // Getters and Setters
+    public UUID getSourceAccountId() {
+        return sourceAccountId;
+    }
+    
+    public void setSourceAccountId(UUID sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+    
+    public UUID getTargetAccountId() {
+        return targetAccountId;
+    }
+    
+    public void setTargetAccountId(UUID targetAccountId) {
+        this.targetAccountId = targetAccountId;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
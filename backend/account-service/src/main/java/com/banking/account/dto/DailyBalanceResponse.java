@@ -0,0 +1,78 @@
+package com.banking.account.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for one day of account balance history
+ */
+public class DailyBalanceResponse {
+    
+    private LocalDate date;
+    private String currency;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private int transactionCount;
+    
+    // Constructors
+    public DailyBalanceResponse() {}
+    
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+    
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+    
+    public BigDecimal getClosingBalance() {
+        return closingBalance;
+    }
+    
+    public void setClosingBalance(BigDecimal closingBalance) {
+        this.closingBalance = closingBalance;
+    }
+    
+    public BigDecimal getTotalCredits() {
+        return totalCredits;
+    }
+    
+    public void setTotalCredits(BigDecimal totalCredits) {
+        this.totalCredits = totalCredits;
+    }
+    
+    public BigDecimal getTotalDebits() {
+        return totalDebits;
+    }
+    
+    public void setTotalDebits(BigDecimal totalDebits) {
+        this.totalDebits = totalDebits;
+    }
+    
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(int transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
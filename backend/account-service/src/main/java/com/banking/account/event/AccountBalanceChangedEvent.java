@@ -0,0 +1,85 @@
+package com.banking.account.event;
+
+import com.banking.account.domain.entity.AccountStatus;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Event published when a transfer saga step changes an account's balances.
+ * It carries the account's full state because account events are compacted
+ * by account ID, so it may become the only event kept for the account.
+ */
+public class AccountBalanceChangedEvent extends AccountEvent {
+
+    private String accountNumber;
+    private AccountStatus status;
+    private BigDecimal balance;
+    private BigDecimal availableBalance;
+    private String currency;
+
+    public AccountBalanceChangedEvent() {
+        super();
+    }
+
+    public AccountBalanceChangedEvent(UUID accountId, UUID userId, String accountNumber, AccountStatus status,
+                                      BigDecimal balance, BigDecimal availableBalance, String currency) {
+        super("ACCOUNT_BALANCE_CHANGED", accountId, userId);
+        this.accountNumber = accountNumber;
+        this.status = status;
+        this.balance = balance;
+        this.availableBalance = availableBalance;
+        this.currency = currency;
+    }
+
+    // Getters and Setters
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public BigDecimal getAvailableBalance() {
+        return availableBalance;
+    }
+
+    public void setAvailableBalance(BigDecimal availableBalance) {
+        this.availableBalance = availableBalance;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountBalanceChangedEvent{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", status=" + status +
+                ", balance=" + balance +
+                ", availableBalance=" + availableBalance +
+                ", currency='" + currency + '\'' +
+                "} " + super.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.banking.account.event;
 
+import com.banking.account.domain.entity.AccountStatus;
 import com.banking.account.domain.entity.AccountType;
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -11,6 +12,7 @@ public class AccountCreatedEvent extends AccountEvent {
     
     private String accountNumber;
     private AccountType accountType;
+    private AccountStatus status;
     private BigDecimal initialBalance;
     private String currency;
     
@@ -19,10 +21,11 @@ public class AccountCreatedEvent extends AccountEvent {
     }
     
     public AccountCreatedEvent(UUID accountId, UUID userId, String accountNumber, 
-                              AccountType accountType, BigDecimal initialBalance, String currency) {
+                              AccountType accountType, AccountStatus status, BigDecimal initialBalance, String currency) {
         super("ACCOUNT_CREATED", accountId, userId);
         this.accountNumber = accountNumber;
         this.accountType = accountType;
+        this.status = status;
         this.initialBalance = initialBalance;
         this.currency = currency;
     }
@@ -44,6 +47,14 @@ public class AccountCreatedEvent extends AccountEvent {
         this.accountType = accountType;
     }
     
+    public AccountStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+    
     public BigDecimal getInitialBalance() {
         return initialBalance;
     }
@@ -65,6 +76,7 @@ public class AccountCreatedEvent extends AccountEvent {
         return "AccountCreatedEvent{" +
                 "accountNumber='" + accountNumber + '\'' +
                 ", accountType=" + accountType +
+                ", status=" + status +
                 ", initialBalance=" + initialBalance +
                 ", currency='" + currency + '\'' +
                 "} " + super.toString();
@@ -0,0 +1,61 @@
+package com.banking.account.event;
+
+import java.util.UUID;
+
+/**
+ * Command driving one step of the transfer saga.
+ * Commands are keyed by the account they operate on, so all steps touching
+ * the same account are processed in order on a single partition.
+ */
+public class TransferCommand {
+    
+    public enum Step {
+        RESERVE_FUNDS, CREDIT_TARGET, SETTLE_SOURCE, RELEASE_FUNDS
+    }
+    
+    private UUID transferId;
+    private UUID accountId;
+    private Step step;
+    
+    public TransferCommand() {}
+    
+    public TransferCommand(UUID transferId, UUID accountId, Step step) {
+        this.transferId = transferId;
+        this.accountId = accountId;
+        this.step = step;
+    }
+    
+    // Getters and Setters
+    public UUID getTransferId() {
+        return transferId;
+    }
+    
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+    
+    public UUID getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+    
+    public Step getStep() {
+        return step;
+    }
+    
+    public void setStep(Step step) {
+        this.step = step;
+    }
+    
+    @Override
+    public String toString() {
+        return "TransferCommand{" +
+                "transferId=" + transferId +
+                ", accountId=" + accountId +
+                ", step=" + step +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.banking.account.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Event published when a transfer saga completes or fails
+ */
+public class TransferEvent extends AccountEvent {
+    
+    private UUID transferId;
+    private UUID targetAccountId;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+    private String failureReason;
+    
+    public TransferEvent() {
+        super();
+    }
+    
+    public TransferEvent(String eventType, UUID transferId, UUID sourceAccountId, UUID targetAccountId, UUID userId,
+                         BigDecimal amount, String currency, String description, String failureReason) {
+        super(eventType, sourceAccountId, userId);
+        this.transferId = transferId;
+        this.targetAccountId = targetAccountId;
+        this.amount = amount;
+        this.currency = currency;
+        this.description = description;
+        this.failureReason = failureReason;
+    }
+    
+    // Getters and Setters
+    public UUID getTransferId() {
+        return transferId;
+    }
+    
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+    
+    public UUID getTargetAccountId() {
+        return targetAccountId;
+    }
+    
+    public void setTargetAccountId(UUID targetAccountId) {
+        this.targetAccountId = targetAccountId;
+    }
+    
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    @Override
+    public String toString() {
+        return "TransferEvent{" +
+                "transferId=" + transferId +
+                ", targetAccountId=" + targetAccountId +
+                ", amount=" + amount +
+                ", currency='" + currency + '\'' +
+                ", failureReason='" + failureReason + '\'' +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.account.listener;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.service.AccountCache;
+import com.banking.account.service.EventPublisherService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+/**
+ * Keeps the account near cache and the Hibernate second-level cache
+ * coherent across instances.
+ * Each instance consumes the account and transaction events in a consumer
+ * group of its own, starting from the latest offset and committing nothing,
+ * and evicts the accounts they mention. The events are written through the
+ * transactional outbox, so they arrive only after the change has committed.
+ */
+@Component
+public class AccountCacheInvalidationListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AccountCacheInvalidationListener.class);
+    
+    private final AccountCache accountCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public AccountCacheInvalidationListener(AccountCache accountCache, EntityManagerFactory entityManagerFactory,
+                                            ObjectMapper objectMapper) {
+        this.accountCache = accountCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+    }
+    
+    @KafkaListener(topics = {EventPublisherService.ACCOUNT_EVENTS_TOPIC, EventPublisherService.TRANSACTION_EVENTS_TOPIC},
+                   groupId = "#{T(com.banking.account.config.KafkaConfig).instanceGroupId('account-cache', ${server.port:8080})}",
+                   containerFactory = "broadcastContainerFactory",
+                   properties = {"auto.offset.reset=latest", "enable.auto.commit=false"})
+    public void onEvent(String message) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable account event for cache invalidation");
+            return;
+        }
+        
+        evict(uuid(event, "accountId"), uuid(event, "userId"));
+        UUID targetAccountId = uuid(event, "targetAccountId");
+        if (targetAccountId != null) {
+            evict(targetAccountId, null);
+        }
+    }
+    
+    private void evict(UUID accountId, UUID userId) {
+        accountCache.evict(accountId, userId);
+        if (accountId != null) {
+            // Hibernate second-level entry; the natural id mapping never changes
+            entityManagerFactory.getCache().evict(Account.class, accountId);
+        }
+    }
+    
+    private UUID uuid(JsonNode event, String field) {
+        JsonNode value = event.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.asText());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
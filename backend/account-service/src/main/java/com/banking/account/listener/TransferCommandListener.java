@@ -0,0 +1,47 @@
+package com.banking.account.listener;
+
+import com.banking.account.event.TransferCommand;
+import com.banking.account.service.EventPublisherService;
+import com.banking.account.service.TransferSagaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes transfer saga commands.
+ * Commands are keyed by account ID, so each partition serializes the steps
+ * for its accounts while different accounts are processed in parallel.
+ */
+@Component
+public class TransferCommandListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransferCommandListener.class);
+    
+    private final TransferSagaService transferSagaService;
+    private final ObjectReader commandReader;
+    
+    @Autowired
+    public TransferCommandListener(TransferSagaService transferSagaService, ObjectMapper objectMapper) {
+        this.transferSagaService = transferSagaService;
+        this.commandReader = objectMapper.readerFor(TransferCommand.class);
+    }
+    
+    @KafkaListener(topics = EventPublisherService.TRANSFER_COMMANDS_TOPIC,
+                   concurrency = "${transfer-saga.concurrency:6}")
+    public void onCommand(String message) {
+        TransferCommand command;
+        try {
+            command = commandReader.readValue(message);
+        } catch (JsonProcessingException e) {
+            logger.error("Discarding unreadable transfer command: {}", message, e);
+            return;
+        }
+        
+        transferSagaService.handle(command);
+    }
+}
@@ -0,0 +1,59 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.AccountDailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for the daily balance history read model
+ */
+@Repository
+public interface AccountDailyBalanceRepository extends JpaRepository<AccountDailyBalance, AccountDailyBalance.Key> {
+    
+    /**
+     * Add one posting to the account's row for the day, creating the row on the first posting.
+     * The opening balance is derived from the first posting of the day and never changes afterwards.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_balances (account_id, balance_date, currency, opening_balance, " +
+                   "closing_balance, total_credits, total_debits, transaction_count, updated_at) " +
+                   "VALUES (:accountId, :balanceDate, :currency, :balanceAfter - :credit + :debit, " +
+                   ":balanceAfter, :credit, :debit, 1, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (account_id, balance_date) DO UPDATE SET " +
+                   "closing_balance = EXCLUDED.closing_balance, " +
+                   "total_credits = account_daily_balances.total_credits + EXCLUDED.total_credits, " +
+                   "total_debits = account_daily_balances.total_debits + EXCLUDED.total_debits, " +
+                   "transaction_count = account_daily_balances.transaction_count + 1, " +
+                   "updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int recordPosting(@Param("accountId") UUID accountId,
+                      @Param("balanceDate") LocalDate balanceDate,
+                      @Param("currency") String currency,
+                      @Param("credit") BigDecimal credit,
+                      @Param("debit") BigDecimal debit,
+                      @Param("balanceAfter") BigDecimal balanceAfter);
+    
+    /**
+     * Find the daily rows of an account in a date range (primary key range scan)
+     */
+    @Query("SELECT b FROM AccountDailyBalance b WHERE b.accountId = :accountId " +
+           "AND b.balanceDate BETWEEN :fromDate AND :toDate ORDER BY b.balanceDate")
+    List<AccountDailyBalance> findHistory(@Param("accountId") UUID accountId,
+                                          @Param("fromDate") LocalDate fromDate,
+                                          @Param("toDate") LocalDate toDate);
+    
+    /**
+     * Find the last row of an account before a date, whose closing balance carries over into a history range
+     */
+    Optional<AccountDailyBalance> findTopByAccountIdAndBalanceDateBeforeOrderByBalanceDateDesc(UUID accountId,
+                                                                                               LocalDate date);
+}
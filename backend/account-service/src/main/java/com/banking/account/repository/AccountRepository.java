@@ -2,11 +2,15 @@ package com.banking.account.repository;
 
 import com.banking.account.domain.entity.Account;
 import com.banking.account.domain.valueobject.AccountNumber;
+import com.banking.account.dto.AccountResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +19,20 @@ import java.util.UUID;
  * Repository interface for Account entity operations
  */
 @Repository
-public interface AccountRepository extends JpaRepository<Account, UUID> {
+public interface AccountRepository extends JpaRepository<Account, UUID>, AccountRepositoryCustom {
+    
+    /**
+     * Constructor projection for read endpoints, avoids hydrating managed entities
+     */
+    String RESPONSE_SELECT = "SELECT new com.banking.account.dto.AccountResponse(a.id, a.accountNumber.value, " +
+            "a.userId, a.accountType, a.status, a.balance.amount, a.balance.currency, a.availableBalance.amount, " +
+            "a.createdAt, a.updatedAt, a.version) FROM Account a ";
+    
+    /**
+     * Find account responses for a specific user, in a stable order for the list ETag
+     */
+    @Query(RESPONSE_SELECT + "WHERE a.userId = :userId ORDER BY a.createdAt, a.id")
+    List<AccountResponse> findResponsesByUserId(@Param("userId") UUID userId);
     
     /**
      * Find account by account number
@@ -33,6 +50,13 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
     @Query("SELECT a FROM Account a WHERE a.userId = :userId AND a.status = 'ACTIVE'")
     List<Account> findActiveAccountsByUserId(@Param("userId") UUID userId);
     
+    /**
+     * Find account by ID and lock its row for the rest of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") UUID accountId);
+    
     /**
      * Check if account number already exists
      */
@@ -0,0 +1,17 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.valueobject.AccountNumber;
+
+import java.util.Optional;
+
+/**
+ * Account lookups that need the Hibernate session API
+ */
+public interface AccountRepositoryCustom {
+    
+    /**
+     * Find account by its natural id, resolved through the natural-id and entity caches
+     */
+    Optional<Account> findByNaturalId(AccountNumber accountNumber);
+}
@@ -0,0 +1,27 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.valueobject.AccountNumber;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+/**
+ * Session-level implementation of AccountRepositoryCustom
+ */
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Account> findByNaturalId(AccountNumber accountNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Account.class)
+                .loadOptional(accountNumber);
+    }
+}
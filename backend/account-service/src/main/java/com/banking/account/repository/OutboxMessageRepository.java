@@ -0,0 +1,39 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the transactional outbox
+ */
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    
+    /**
+     * Queue a message in the current transaction
+     */
+    @Modifying
+    @Query(value = "INSERT INTO outbox_messages (topic, message_key, payload) VALUES (:topic, :messageKey, :payload)",
+           nativeQuery = true)
+    int enqueue(@Param("topic") String topic,
+                @Param("messageKey") String messageKey,
+                @Param("payload") String payload);
+    
+    /**
+     * Oldest queued messages, in the order they were written
+     */
+    @Query(value = "SELECT * FROM outbox_messages ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxMessage> findNextBatch(@Param("limit") int limit);
+    
+    /**
+     * Make this the only relaying instance until the current transaction ends
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+}
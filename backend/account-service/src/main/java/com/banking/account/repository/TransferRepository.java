@@ -0,0 +1,48 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.Transfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for Transfer entity operations
+ */
+@Repository
+public interface TransferRepository extends JpaRepository<Transfer, UUID> {
+    
+    /**
+     * Find transfer by ID and lock its row for the rest of the transaction
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transfer t WHERE t.id = :transferId")
+    Optional<Transfer> findByIdForUpdate(@Param("transferId") UUID transferId);
+    
+    /**
+     * Lock in-flight transfers that have not changed for the given number of seconds.
+     * Transfers locked by a running saga step are skipped.
+     */
+    @Query(value = "SELECT * FROM transfers " +
+                   "WHERE status IN ('REQUESTED', 'FUNDS_RESERVED', 'TARGET_CREDITED', 'COMPENSATING') " +
+                   "AND updated_at < LOCALTIMESTAMP - make_interval(secs => :stalledSeconds) " +
+                   "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Transfer> findStalledForUpdate(@Param("stalledSeconds") long stalledSeconds, @Param("limit") int limit);
+    
+    /**
+     * Reset the stall clock of transfers whose pending step was sent again
+     */
+    @Modifying
+    @Query("UPDATE Transfer t SET t.updatedAt = CURRENT_TIMESTAMP WHERE t.id IN :transferIds")
+    int touch(@Param("transferIds") Collection<UUID> transferIds);
+}
@@ -0,0 +1,184 @@
+package com.banking.account.service;
+
+import com.banking.account.dto.AccountResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Near cache for account reads.
+ *
+ * Bounded Caffeine caches (W-TinyLFU eviction) hold account responses by ID and
+ * the account list per user; account numbers map to IDs and never change.
+ * Local writes evict after commit, and every instance evicts on the account
+ * and transaction events it consumes; every balance change, including each
+ * transfer saga step, publishes one. A short expiry bounds staleness while an
+ * event is still in flight.
+ *
+ * A read that loads from the database takes a generation first and hands it to
+ * put; every eviction advances the generations of the keys it touches, so a
+ * load that overlapped an eviction is dropped instead of putting the state it
+ * read before the change back into the cache.
+ */
+@Component
+public class AccountCache {
+    
+    private static final int GENERATION_STRIPES = 4096;
+    
+    private final Cache<UUID, AccountResponse> accountsById;
+    private final Cache<String, UUID> accountIdsByNumber;
+    private final Cache<UUID, UUID> ownerIdsByAccount;
+    private final Cache<UUID, List<AccountResponse>> accountsByUser;
+    
+    // Keys share a stripe by hash; a collision only drops a put, it never keeps a stale one
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    // Evictions whose owner is unknown here may still concern a user list being loaded
+    private final AtomicLong unownedEvictions = new AtomicLong();
+    
+    @Autowired
+    public AccountCache(@Value("${account-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${account-cache.expire-after-write-seconds:30}") long expireAfterWriteSeconds,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+        Duration expiry = Duration.ofSeconds(expireAfterWriteSeconds);
+        this.accountsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiry)
+                .recordStats()
+                .build();
+        this.accountIdsByNumber = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.ownerIdsByAccount = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.accountsByUser = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiry)
+                .recordStats()
+                .build();
+        
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, accountsById, "accounts.byId");
+            CaffeineCacheMetrics.monitor(registry, accountIdsByNumber, "accounts.byNumber");
+            CaffeineCacheMetrics.monitor(registry, accountsByUser, "accounts.byUser");
+        });
+    }
+    
+    public AccountResponse getById(UUID accountId) {
+        return accountsById.getIfPresent(accountId);
+    }
+    
+    public UUID getIdByNumber(String accountNumber) {
+        return accountIdsByNumber.getIfPresent(accountNumber);
+    }
+    
+    public List<AccountResponse> getByUser(UUID userId) {
+        return accountsByUser.getIfPresent(userId);
+    }
+    
+    /**
+     * Generation to take before loading an account, for {@link #put}
+     */
+    public long accountGeneration(UUID accountId) {
+        return generations.get(stripe(accountId));
+    }
+    
+    /**
+     * Generation to take before loading a user's accounts, for {@link #putUserAccounts}
+     */
+    public long userGeneration(UUID userId) {
+        return generations.get(stripe(userId)) + unownedEvictions.get();
+    }
+    
+    /**
+     * Cache a loaded account unless it was evicted after the generation was taken
+     */
+    public void put(AccountResponse account, long generation) {
+        remember(account);
+        // Checked under the entry's lock, which evict's invalidate also takes
+        accountsById.asMap().compute(account.getId(),
+                (id, current) -> accountGeneration(id) == generation ? account : current);
+    }
+    
+    /**
+     * Cache a loaded account list unless the user or one of the accounts was evicted
+     * after the generation was taken. The accounts are not cached one by one: their
+     * own generations were not taken before the load.
+     */
+    public void putUserAccounts(UUID userId, List<AccountResponse> accounts, long generation) {
+        accounts.forEach(this::remember);
+        List<AccountResponse> copy = List.copyOf(accounts);
+        accountsByUser.asMap().compute(userId,
+                (id, current) -> userGeneration(id) == generation ? copy : current);
+    }
+    
+    /**
+     * Cache the account number mapping only; it never changes
+     */
+    public void putAccountNumber(String accountNumber, UUID accountId) {
+        accountIdsByNumber.put(accountNumber, accountId);
+    }
+    
+    /**
+     * Evict an account and its owner's account list
+     */
+    public void evict(UUID accountId, UUID userId) {
+        if (accountId != null) {
+            UUID ownerId = ownerIdsByAccount.getIfPresent(accountId);
+            generations.incrementAndGet(stripe(accountId));
+            if (ownerId != null) {
+                generations.incrementAndGet(stripe(ownerId));
+            } else if (userId == null) {
+                unownedEvictions.incrementAndGet();
+            }
+            accountsById.invalidate(accountId);
+            if (ownerId != null) {
+                accountsByUser.invalidate(ownerId);
+            }
+        }
+        if (userId != null) {
+            generations.incrementAndGet(stripe(userId));
+            accountsByUser.invalidate(userId);
+        }
+    }
+    
+    /**
+     * Evict once the current transaction has committed, so a concurrent read
+     * cannot put the pre-commit state back into the cache
+     */
+    public void evictAfterCommit(UUID accountId, UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(accountId, userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(accountId, userId);
+            }
+        });
+    }
+    
+    private void remember(AccountResponse account) {
+        accountIdsByNumber.put(account.getAccountNumber(), account.getId());
+        ownerIdsByAccount.put(account.getId(), account.getUserId());
+    }
+    
+    private static int stripe(UUID key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+}
@@ -1,25 +1,22 @@
 package com.banking.account.service;
 
-import com.banking.account.client.TransactionServiceClient;
 import com.banking.account.domain.entity.Account;
 import com.banking.account.domain.entity.AccountType;
 import com.banking.account.domain.valueobject.AccountNumber;
 import com.banking.account.domain.valueobject.Money;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.CreateAccountRequest;
-import com.banking.account.dto.CreateTransactionRequest;
 import com.banking.account.dto.MoneyTransactionRequest;
-import com.banking.account.dto.TransactionDto;
 import com.banking.account.repository.AccountRepository;
 import com.banking.account.event.AccountCreatedEvent;
 import com.banking.account.event.MoneyTransactionEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service layer for account business operations
@@ -30,14 +27,19 @@ public class AccountService {
     
     private final AccountRepository accountRepository;
     private final EventPublisherService eventPublisher;
-    private final TransactionServiceClient transactionServiceClient;
+    private final BalanceHistoryService balanceHistoryService;
+    private final AccountCache accountCache;
+    private final SharedAccountCache sharedAccountCache;
     
     @Autowired
-    public AccountService(AccountRepository accountRepository, EventPublisherService eventPublisher, 
-                         TransactionServiceClient transactionServiceClient) {
+    public AccountService(AccountRepository accountRepository, EventPublisherService eventPublisher,
+                          BalanceHistoryService balanceHistoryService, AccountCache accountCache,
+                          SharedAccountCache sharedAccountCache) {
         this.accountRepository = accountRepository;
         this.eventPublisher = eventPublisher;
-        this.transactionServiceClient = transactionServiceClient;
+        this.balanceHistoryService = balanceHistoryService;
+        this.accountCache = accountCache;
+        this.sharedAccountCache = sharedAccountCache;
     }
     
     /**
@@ -63,175 +65,150 @@ public class AccountService {
                 savedAccount.getUserId(),
                 savedAccount.getAccountNumber().getValue(),
                 savedAccount.getAccountType(),
+                savedAccount.getStatus(),
                 savedAccount.getBalance().getAmount(),
                 savedAccount.getBalance().getCurrency()
         );
         eventPublisher.publishAccountEvent(event);
+        accountCache.evictAfterCommit(savedAccount.getId(), savedAccount.getUserId());
         
         return mapToResponse(savedAccount);
     }
     
     /**
-     * Get account by ID
+     * Get account by ID. Cached reads run without a transaction so a cache hit borrows no connection.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AccountResponse getAccount(UUID accountId) {
-        Account account = accountRepository.findById(accountId)
+        AccountResponse cached = accountCache.getById(accountId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = accountCache.accountGeneration(accountId);
+        AccountResponse account = sharedAccountCache.getOrLoad(accountId, () -> accountRepository.findById(accountId).map(this::mapToResponse))
                 .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
-        return mapToResponse(account);
+        accountCache.put(account, generation);
+        return account;
     }
     
     /**
      * Get account by account number
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AccountResponse getAccountByNumber(String accountNumber) {
         AccountNumber accNum = new AccountNumber(accountNumber);
-        Account account = accountRepository.findByAccountNumber(accNum)
+        UUID accountId = accountCache.getIdByNumber(accNum.getValue());
+        if (accountId != null) {
+            return getAccount(accountId);
+        }
+        AccountResponse account = accountRepository.findByNaturalId(accNum)
+                .map(this::mapToResponse)
                 .orElseThrow(() -> new RuntimeException("Account not found with number: " + accountNumber));
-        return mapToResponse(account);
+        // The ID was unknown before the load, so no generation guards the response; the next read caches it
+        accountCache.putAccountNumber(account.getAccountNumber(), account.getId());
+        return account;
     }
     
     /**
      * Get all accounts for a user
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<AccountResponse> getUserAccounts(UUID userId) {
-        List<Account> accounts = accountRepository.findByUserId(userId);
-        return accounts.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<AccountResponse> cached = accountCache.getByUser(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = accountCache.userGeneration(userId);
+        List<AccountResponse> accounts = accountRepository.findResponsesByUserId(userId);
+        accountCache.putUserAccounts(userId, accounts, generation);
+        return accounts;
     }
     
     /**
      * Credit money to account
      */
     public AccountResponse creditAccount(UUID accountId, MoneyTransactionRequest request) {
-        Account account = accountRepository.findById(accountId)
+        // Lock the row: the balance must come from the database, not a possibly stale cache entry
+        Account account = accountRepository.findByIdForUpdate(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
         
         Money amount = new Money(request.getAmount(), request.getCurrency());
         account.credit(amount);
         
-        Account savedAccount = accountRepository.save(account);
-        
-        // Create transaction record
-        CreateTransactionRequest transactionRequest = new CreateTransactionRequest(
-                "DEPOSIT",
-                request.getAmount(),
-                request.getCurrency(),
-                savedAccount.getId(),
-                null,
-                savedAccount.getUserId(),
-                request.getDescription() != null ? request.getDescription() : "Deposit to account " + savedAccount.getAccountNumber().getValue(),
-                null
-        );
+        // Flush now so the response and the shared cache entry carry the new version
+        Account savedAccount = accountRepository.saveAndFlush(account);
         
-        // Test connectivity first
-        if (!transactionServiceClient.isTransactionServiceAvailable()) {
-            System.err.println("WARNING: Transaction service is not available. Transaction will not be logged.");
-        }
+        String description = request.getDescription() != null ? request.getDescription() : "Deposit to account " + savedAccount.getAccountNumber().getValue();
         
-        TransactionDto transactionDto = transactionServiceClient.createTransaction(transactionRequest);
-        if (transactionDto != null) {
-            System.out.println("SUCCESS: Transaction record created with reference: " + transactionDto.getReference());
-        } else {
-            System.err.println("WARNING: Failed to create transaction record in transaction service");
-        }
-        
-        // Publish money deposited event
+        // Publish money deposited event (the transaction service records the posting from it)
         MoneyTransactionEvent event = new MoneyTransactionEvent(
                 savedAccount.getId(),
                 savedAccount.getUserId(),
                 MoneyTransactionEvent.TransactionType.DEPOSIT,
-                request.getAmount(),
-                request.getCurrency(),
+                amount.getAmount(),
+                amount.getCurrency(),
                 savedAccount.getBalance().getAmount(),
-                request.getDescription()
+                description
         );
+        balanceHistoryService.apply(event);
+        AccountResponse response = mapToResponse(savedAccount);
+        accountCache.evictAfterCommit(savedAccount.getId(), savedAccount.getUserId());
+        sharedAccountCache.putAfterCommit(response);
         eventPublisher.publishTransactionEvent(event);
         eventPublisher.publishTransactionForFraudDetection(event);
         
-        return mapToResponse(savedAccount);
+        return response;
     }
     
     /**
      * Debit money from account
      */
     public AccountResponse debitAccount(UUID accountId, MoneyTransactionRequest request) {
-        Account account = accountRepository.findById(accountId)
+        // Lock the row: the balance must come from the database, not a possibly stale cache entry
+        Account account = accountRepository.findByIdForUpdate(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
         
         Money amount = new Money(request.getAmount(), request.getCurrency());
         account.debit(amount);
         
-        Account savedAccount = accountRepository.save(account);
+        // Flush now so the response and the shared cache entry carry the new version
+        Account savedAccount = accountRepository.saveAndFlush(account);
         
-        // Create transaction record
-        CreateTransactionRequest transactionRequest = new CreateTransactionRequest(
-                "WITHDRAWAL",
-                request.getAmount(),
-                request.getCurrency(),
-                savedAccount.getId(),
-                null,
-                savedAccount.getUserId(),
-                request.getDescription() != null ? request.getDescription() : "Withdrawal from account " + savedAccount.getAccountNumber().getValue(),
-                null
-        );
-        
-        // Test connectivity first
-        if (!transactionServiceClient.isTransactionServiceAvailable()) {
-            System.err.println("WARNING: Transaction service is not available. Transaction will not be logged.");
-        }
+        String description = request.getDescription() != null ? request.getDescription() : "Withdrawal from account " + savedAccount.getAccountNumber().getValue();
         
-        TransactionDto transactionDto = transactionServiceClient.createTransaction(transactionRequest);
-        if (transactionDto != null) {
-            System.out.println("SUCCESS: Transaction record created with reference: " + transactionDto.getReference());
-        } else {
-            System.err.println("WARNING: Failed to create transaction record in transaction service");
-        }
-        
-        // Publish money withdrawn event
+        // Publish money withdrawn event (the transaction service records the posting from it)
         MoneyTransactionEvent event = new MoneyTransactionEvent(
                 savedAccount.getId(),
                 savedAccount.getUserId(),
                 MoneyTransactionEvent.TransactionType.WITHDRAWAL,
-                request.getAmount(),
-                request.getCurrency(),
+                amount.getAmount(),
+                amount.getCurrency(),
                 savedAccount.getBalance().getAmount(),
-                request.getDescription()
+                description
         );
+        balanceHistoryService.apply(event);
+        AccountResponse response = mapToResponse(savedAccount);
+        accountCache.evictAfterCommit(savedAccount.getId(), savedAccount.getUserId());
+        sharedAccountCache.putAfterCommit(response);
         eventPublisher.publishTransactionEvent(event);
         eventPublisher.publishTransactionForFraudDetection(event);
         
-        return mapToResponse(savedAccount);
+        return response;
     }
     
     /**
      * Get account balance
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Money getAccountBalance(UUID accountId) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
-        return account.getBalance();
+        AccountResponse account = getAccount(accountId);
+        return new Money(account.getBalance(), account.getCurrency());
     }
     
     /**
      * Map Account entity to AccountResponse DTO
      */
     private AccountResponse mapToResponse(Account account) {
-        AccountResponse response = new AccountResponse();
-        response.setId(account.getId());
-        response.setAccountNumber(account.getAccountNumber().getValue());
-        response.setUserId(account.getUserId());
-        response.setAccountType(account.getAccountType());
-        response.setStatus(account.getStatus());
-        response.setBalance(account.getBalance().getAmount());
-        response.setCurrency(account.getBalance().getCurrency());
-        response.setAvailableBalance(account.getAvailableBalance().getAmount());
-        response.setCreatedAt(account.getCreatedAt());
-        response.setUpdatedAt(account.getUpdatedAt());
-        return response;
+        return AccountResponse.from(account);
     }
 } 
\ No newline at end of file
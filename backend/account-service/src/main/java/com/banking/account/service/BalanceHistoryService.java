@@ -0,0 +1,130 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.entity.AccountDailyBalance;
+import com.banking.account.domain.valueobject.Money;
+import com.banking.account.dto.DailyBalanceResponse;
+import com.banking.account.event.MoneyTransactionEvent;
+import com.banking.account.repository.AccountDailyBalanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintains the daily balance history read model.
+ *
+ * Every posting upserts the account's row for the day inside the posting's own
+ * transaction, so the history never drifts from the balance. Reads return one
+ * entry per day, carrying the previous closing balance over days without postings,
+ * including days before the first posting in the range. Days before the
+ * account's first posting are left out.
+ */
+@Service
+public class BalanceHistoryService {
+    
+    public static final int MAX_HISTORY_DAYS = 366;
+    
+    private final AccountDailyBalanceRepository dailyBalanceRepository;
+    
+    @Autowired
+    public BalanceHistoryService(AccountDailyBalanceRepository dailyBalanceRepository) {
+        this.dailyBalanceRepository = dailyBalanceRepository;
+    }
+    
+    /**
+     * Apply a deposit or withdrawal event to the history
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(MoneyTransactionEvent event) {
+        boolean deposit = event.getTransactionType() == MoneyTransactionEvent.TransactionType.DEPOSIT;
+        dailyBalanceRepository.recordPosting(
+                event.getAccountId(),
+                event.getTimestamp().toLocalDate(),
+                event.getCurrency(),
+                deposit ? event.getAmount() : BigDecimal.ZERO,
+                deposit ? BigDecimal.ZERO : event.getAmount(),
+                event.getBalanceAfter()
+        );
+    }
+    
+    /**
+     * Record a credit that did not go through a MoneyTransactionEvent (transfer legs)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCredit(Account account, Money amount) {
+        dailyBalanceRepository.recordPosting(account.getId(), LocalDate.now(), amount.getCurrency(),
+                amount.getAmount(), BigDecimal.ZERO, account.getBalance().getAmount());
+    }
+    
+    /**
+     * Record a debit that did not go through a MoneyTransactionEvent (transfer legs)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDebit(Account account, Money amount) {
+        dailyBalanceRepository.recordPosting(account.getId(), LocalDate.now(), amount.getCurrency(),
+                BigDecimal.ZERO, amount.getAmount(), account.getBalance().getAmount());
+    }
+    
+    /**
+     * Get the balance history of an account for the last N days, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<DailyBalanceResponse> getBalanceHistory(UUID accountId, int days) {
+        if (days < 1 || days > MAX_HISTORY_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_HISTORY_DAYS);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate fromDate = today.minusDays(days - 1L);
+        List<AccountDailyBalance> rows = dailyBalanceRepository.findHistory(accountId, fromDate, today);
+        
+        List<DailyBalanceResponse> history = new ArrayList<>(days);
+        // Days before the first posting in range carry the closing balance of the last earlier posting
+        AccountDailyBalance previous = null;
+        if (rows.isEmpty() || rows.get(0).getBalanceDate().isAfter(fromDate)) {
+            previous = dailyBalanceRepository
+                    .findTopByAccountIdAndBalanceDateBeforeOrderByBalanceDateDesc(accountId, fromDate)
+                    .orElse(null);
+        }
+        int next = 0;
+        for (LocalDate date = fromDate; !date.isAfter(today); date = date.plusDays(1)) {
+            if (next < rows.size() && rows.get(next).getBalanceDate().equals(date)) {
+                previous = rows.get(next++);
+                history.add(mapToResponse(previous));
+            } else if (previous != null) {
+                history.add(carryOver(previous, date));
+            }
+        }
+        return history;
+    }
+    
+    private DailyBalanceResponse mapToResponse(AccountDailyBalance row) {
+        DailyBalanceResponse response = new DailyBalanceResponse();
+        response.setDate(row.getBalanceDate());
+        response.setCurrency(row.getCurrency());
+        response.setOpeningBalance(row.getOpeningBalance());
+        response.setClosingBalance(row.getClosingBalance());
+        response.setTotalCredits(row.getTotalCredits());
+        response.setTotalDebits(row.getTotalDebits());
+        response.setTransactionCount(row.getTransactionCount());
+        return response;
+    }
+    
+    private DailyBalanceResponse carryOver(AccountDailyBalance previous, LocalDate date) {
+        DailyBalanceResponse response = new DailyBalanceResponse();
+        response.setDate(date);
+        response.setCurrency(previous.getCurrency());
+        response.setOpeningBalance(previous.getClosingBalance());
+        response.setClosingBalance(previous.getClosingBalance());
+        response.setTotalCredits(BigDecimal.ZERO);
+        response.setTotalDebits(BigDecimal.ZERO);
+        response.setTransactionCount(0);
+        return response;
+    }
+}
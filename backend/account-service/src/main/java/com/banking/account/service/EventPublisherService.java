@@ -1,95 +1,95 @@
 package com.banking.account.service;
 
 import com.banking.account.event.AccountEvent;
+import com.banking.account.event.TransferCommand;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for publishing banking events to Kafka
+ *
+ * Every message goes through the transactional outbox: it is written in the
+ * caller's transaction and only sent once that transaction has committed, so
+ * consumers never see a change that was rolled back and never miss one that
+ * was committed. Callers must run in a transaction; a message that cannot
+ * be serialized throws and so rolls that transaction back.
  */
 @Service
 public class EventPublisherService {
     
     private static final Logger logger = LoggerFactory.getLogger(EventPublisherService.class);
     
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxService outboxService;
+    private final ClassValue<ObjectWriter> eventWriters;
+    private final ObjectWriter commandWriter;
     
     // Kafka topics
-    private static final String ACCOUNT_EVENTS_TOPIC = "banking.account.events";
-    private static final String TRANSACTION_EVENTS_TOPIC = "banking.transaction.events";
+    public static final String ACCOUNT_EVENTS_TOPIC = "banking.account.events";
+    public static final String TRANSACTION_EVENTS_TOPIC = "banking.transaction.events";
     private static final String FRAUD_DETECTION_TOPIC = "banking.fraud.detection";
+    public static final String TRANSFER_COMMANDS_TOPIC = "banking.transfer.commands";
     
     @Autowired
-    public EventPublisherService(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+    public EventPublisherService(OutboxService outboxService, ObjectMapper objectMapper) {
+        this.outboxService = outboxService;
+        // Writers are bound to the concrete event class, so the serializer is resolved once per type
+        this.eventWriters = new ClassValue<ObjectWriter>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return objectMapper.writerFor(type);
+            }
+        };
+        this.commandWriter = objectMapper.writerFor(TransferCommand.class);
     }
     
     /**
      * Publish account-related events
      */
     public void publishAccountEvent(AccountEvent event) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            kafkaTemplate.send(ACCOUNT_EVENTS_TOPIC, event.getAccountId().toString(), eventJson)
-                    .addCallback(
-                            result -> logger.info("Successfully published event: {} to topic: {}", 
-                                    event.getEventType(), ACCOUNT_EVENTS_TOPIC),
-                            failure -> logger.error("Failed to publish event: {} to topic: {}. Error: {}", 
-                                    event.getEventType(), ACCOUNT_EVENTS_TOPIC, failure.getMessage())
-                    );
-            
-            logger.info("Publishing event: {}", event);
-            
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize event: {}", event, e);
-        }
+        enqueueEvent(ACCOUNT_EVENTS_TOPIC, event);
     }
     
     /**
      * Publish transaction events for fraud detection
      */
     public void publishTransactionForFraudDetection(AccountEvent event) {
-        try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            kafkaTemplate.send(FRAUD_DETECTION_TOPIC, event.getAccountId().toString(), eventJson)
-                    .addCallback(
-                            result -> logger.info("Successfully sent transaction for fraud detection: {}", 
-                                    event.getEventType()),
-                            failure -> logger.error("Failed to send transaction for fraud detection: {}. Error: {}", 
-                                    event.getEventType(), failure.getMessage())
-                    );
-            
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize transaction event for fraud detection: {}", event, e);
-        }
+        enqueueEvent(FRAUD_DETECTION_TOPIC, event);
     }
     
     /**
      * Publish to transaction events topic
      */
     public void publishTransactionEvent(AccountEvent event) {
+        enqueueEvent(TRANSACTION_EVENTS_TOPIC, event);
+    }
+    
+    /**
+     * Publish a transfer saga command, keyed by the account it operates on
+     */
+    public void publishTransferCommand(TransferCommand command) {
+        try {
+            String commandJson = commandWriter.writeValueAsString(command);
+            outboxService.enqueue(TRANSFER_COMMANDS_TOPIC, command.getAccountId().toString(), commandJson);
+            logger.debug("Queued transfer command: {}", command);
+        } catch (JsonProcessingException e) {
+            // Rolls the caller back: the saga step must not commit without its command
+            throw new IllegalStateException("Failed to serialize transfer command: " + command, e);
+        }
+    }
+    
+    private void enqueueEvent(String topic, AccountEvent event) {
         try {
-            String eventJson = objectMapper.writeValueAsString(event);
-            
-            kafkaTemplate.send(TRANSACTION_EVENTS_TOPIC, event.getAccountId().toString(), eventJson)
-                    .addCallback(
-                            result -> logger.info("Successfully published transaction event: {}", 
-                                    event.getEventType()),
-                            failure -> logger.error("Failed to publish transaction event: {}. Error: {}", 
-                                    event.getEventType(), failure.getMessage())
-                    );
-            
+            String eventJson = eventWriters.get(event.getClass()).writeValueAsString(event);
+            outboxService.enqueue(topic, event.getAccountId().toString(), eventJson);
+            logger.debug("Queued event: {} for topic: {}", event.getEventType(), topic);
         } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize transaction event: {}", event, e);
+            // Rolls the caller back: the change must not commit without its event
+            throw new IllegalStateException("Failed to serialize event: " + event.getEventType(), e);
         }
     }
-} 
\ No newline at end of file
+}
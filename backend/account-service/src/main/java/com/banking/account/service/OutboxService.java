@@ -0,0 +1,168 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.OutboxMessage;
+import com.banking.account.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transactional outbox for Kafka messages.
+ *
+ * enqueue writes the message in the caller's transaction, so it is published
+ * if and only if the state change it announces commits. One relay thread per
+ * instance sends queued messages in the order they were written and deletes
+ * them once Kafka has acknowledged the whole batch; a Postgres advisory lock
+ * lets only one instance relay at a time, which keeps per-key order. The relay
+ * is woken after every commit that queued messages and polls as a fallback.
+ * Delivery is at least once: a batch that fails part-way is sent again.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    /** Advisory lock key held by the relaying instance ("outbox" in ASCII) */
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long lockRetryMs;
+    private final ScheduledExecutorService relay;
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    @Autowired
+    public OutboxService(OutboxMessageRepository outboxRepository, KafkaTemplate<String, String> kafkaTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${outbox.batch-size:500}") int batchSize,
+                         @Value("${outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                         @Value("${outbox.lock-retry-ms:100}") long lockRetryMs) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.lockRetryMs = lockRetryMs;
+        this.relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a message in the current transaction; it is sent after the transaction commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String topic, String key, String payload) {
+        outboxRepository.enqueue(topic, key, payload);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDrain();
+            }
+        });
+    }
+
+    /**
+     * Fallback for wake-ups that were missed, e.g. while another instance held the relay lock
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relay.shutdownNow();
+    }
+
+    private void requestDrain() {
+        // Wake-ups arriving while a drain is queued are covered by it
+        if (drainQueued.compareAndSet(false, true)) {
+            relay.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+
+            if (relayed != null && relayed < 0) {
+                // Another instance is relaying; check again shortly in case it missed our messages
+                relay.schedule(this::requestDrain, lockRetryMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            logger.warn("Outbox relay failed, retrying on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send one batch and delete it once every message is acknowledged.
+     * Returns the number of messages relayed, or -1 when another instance holds the relay lock.
+     */
+    private int relayBatch() {
+        if (!outboxRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return -1;
+        }
+
+        List<OutboxMessage> batch = outboxRepository.findNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ListenableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(kafkaTemplate.send(message.getTopic(), message.getMessageKey(), message.getPayload()));
+            ids.add(message.getId());
+        }
+        for (ListenableFuture<SendResult<String, String>> send : sends) {
+            awaitAck(send);
+        }
+
+        outboxRepository.deleteAllByIdInBatch(ids);
+        logger.debug("Relayed {} outbox messages", batch.size());
+        return batch.size();
+    }
+
+    private void awaitAck(ListenableFuture<SendResult<String, String>> send) {
+        try {
+            send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Kafka did not acknowledge an outbox message", e);
+        }
+    }
+}
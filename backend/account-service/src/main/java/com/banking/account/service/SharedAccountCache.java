@@ -0,0 +1,251 @@
+package com.banking.account.service;
+
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Redis-backed L2 cache for account responses, shared by all replicas.
+ *
+ * Postings and transfer saga steps write the new state through after commit.
+ * Entries carry the account's row version, which every update increments
+ * under the row lock, so neither a late write-through nor a loader that read
+ * the database before a commit can replace a newer state with an older one.
+ * Misses are loaded once per key: concurrent callers in this instance share
+ * one load, and a short Redis lock makes other replicas wait for the value
+ * instead of querying the database too. Expiry is jittered so entries
+ * written together do not expire together. Any Redis failure falls back to
+ * the database.
+ */
+@Component
+public class SharedAccountCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SharedAccountCache.class);
+    
+    private static final String KEY_PREFIX = "account:";
+    private static final String LOCK_SUFFIX = ":load";
+    
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], 'ver') "
+            + "if current and tonumber(current) > tonumber(ARGV[1]) then return 0 end "
+            + "redis.call('HSET', KEYS[1], 'ver', ARGV[1], 'v', ARGV[2]) "
+            + "redis.call('PEXPIRE', KEYS[1], ARGV[3]) "
+            + "return 1",
+            Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectReader accountReader;
+    private final ObjectWriter accountWriter;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Duration lockTimeout;
+    private final int lockWaitAttempts;
+    private final long lockWaitMillis;
+    
+    private final ConcurrentMap<UUID, CompletableFuture<Optional<AccountResponse>>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+    
+    @Autowired
+    public SharedAccountCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${account-cache.shared.enabled:false}") boolean enabled,
+                              @Value("${account-cache.shared.ttl-seconds:300}") long ttlSeconds,
+                              @Value("${account-cache.shared.lock-timeout-ms:2000}") long lockTimeoutMillis,
+                              @Value("${account-cache.shared.lock-wait-attempts:5}") int lockWaitAttempts,
+                              @Value("${account-cache.shared.lock-wait-ms:20}") long lockWaitMillis) {
+        this.redisTemplate = redisTemplate;
+        this.accountReader = objectMapper.readerFor(AccountResponse.class);
+        this.accountWriter = objectMapper.writerFor(AccountResponse.class);
+        this.enabled = enabled;
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMillis);
+        this.lockWaitAttempts = lockWaitAttempts;
+        this.lockWaitMillis = lockWaitMillis;
+        this.hits = meterRegistry.counter("account.cache.shared", "result", "hit");
+        this.misses = meterRegistry.counter("account.cache.shared", "result", "miss");
+        this.errors = meterRegistry.counter("account.cache.shared", "result", "error");
+    }
+    
+    /**
+     * Get an account from Redis, or load it once and store it
+     */
+    public Optional<AccountResponse> getOrLoad(UUID accountId, Supplier<Optional<AccountResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        AccountResponse cached = get(accountId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        
+        CompletableFuture<Optional<AccountResponse>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<AccountResponse>> existing = inFlight.putIfAbsent(accountId, load);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        
+        try {
+            Optional<AccountResponse> account = loadShared(accountId, loader);
+            load.complete(account);
+            return account;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(accountId, load);
+        }
+    }
+    
+    /**
+     * Write the committed account state through to Redis once the current transaction commits
+     */
+    public void putAfterCommit(AccountResponse account) {
+        if (enabled) {
+            afterCommit(() -> put(account));
+        }
+    }
+    
+    private Optional<AccountResponse> loadShared(UUID accountId, Supplier<Optional<AccountResponse>> loader) {
+        String lockKey = key(accountId) + LOCK_SUFFIX;
+        boolean locked = tryLock(lockKey);
+        if (!locked) {
+            // Another replica is loading; give it a moment before going to the database
+            for (int attempt = 0; attempt < lockWaitAttempts; attempt++) {
+                if (!pause()) {
+                    break;
+                }
+                AccountResponse cached = get(accountId);
+                if (cached != null) {
+                    return Optional.of(cached);
+                }
+            }
+        }
+        
+        try {
+            Optional<AccountResponse> account = loader.get();
+            account.ifPresent(this::put);
+            return account;
+        } finally {
+            if (locked) {
+                unlock(lockKey);
+            }
+        }
+    }
+    
+    private AccountResponse get(UUID accountId) {
+        try {
+            Object value = redisTemplate.opsForHash().get(key(accountId), "v");
+            return value != null ? accountReader.<AccountResponse>readValue(value.toString()) : null;
+        } catch (JsonProcessingException e) {
+            logger.warn("Discarding unreadable cached account {}", accountId);
+            evict(accountId);
+            return null;
+        } catch (RuntimeException e) {
+            errors.increment();
+            logger.debug("Shared account cache read failed for {}: {}", accountId, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void put(AccountResponse account) {
+        try {
+            long jitter = ThreadLocalRandom.current().nextLong(ttlMillis / 10 + 1);
+            redisTemplate.execute(PUT_IF_NEWER, Collections.singletonList(key(account.getId())),
+                    Long.toString(account.getVersion()),
+                    accountWriter.writeValueAsString(account),
+                    Long.toString(ttlMillis + jitter));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize account {} for the shared cache", account.getId(), e);
+        } catch (RuntimeException e) {
+            errors.increment();
+            logger.debug("Shared account cache write failed for {}: {}", account.getId(), e.getMessage());
+        }
+    }
+    
+    private void evict(UUID accountId) {
+        try {
+            redisTemplate.delete(key(accountId));
+        } catch (RuntimeException e) {
+            errors.increment();
+            logger.debug("Shared account cache evict failed for {}: {}", accountId, e.getMessage());
+        }
+    }
+    
+    private boolean tryLock(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, "1", lockTimeout));
+        } catch (RuntimeException e) {
+            errors.increment();
+            return false;
+        }
+    }
+    
+    private void unlock(String lockKey) {
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (RuntimeException e) {
+            errors.increment();
+        }
+    }
+    
+    private boolean pause() {
+        try {
+            Thread.sleep(lockWaitMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private static String key(UUID accountId) {
+        return KEY_PREFIX + accountId;
+    }
+}
@@ -0,0 +1,316 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.entity.Transfer;
+import com.banking.account.domain.entity.TransferStatus;
+import com.banking.account.domain.valueobject.Money;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.dto.CreateTransferRequest;
+import com.banking.account.dto.TransferResponse;
+import com.banking.account.event.AccountBalanceChangedEvent;
+import com.banking.account.event.TransferCommand;
+import com.banking.account.event.TransferEvent;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.TransferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Orchestrates money transfers between two accounts as a saga.
+ *
+ * Steps run as Kafka commands keyed by the account they touch:
+ * RESERVE_FUNDS (source) -> CREDIT_TARGET (target) -> SETTLE_SOURCE (source),
+ * with RELEASE_FUNDS (source) as compensation when the target cannot be
+ * credited. Each step is a local transaction that locks the transfer row and
+ * then only its own account row, and the transfer status makes every step
+ * idempotent on redelivery. The next command goes through the transactional
+ * outbox, so it is sent if and only if the step commits. Transfers that stop
+ * moving anyway, e.g. after a step exhausted its listener retries, get their
+ * pending command sent again by a periodic sweep. Every step that changes an
+ * account publishes its new state to the account events, which keeps the
+ * account caches of all instances coherent while a transfer is in flight.
+ */
+@Service
+@Transactional
+public class TransferSagaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferSagaService.class);
+
+    private final AccountRepository accountRepository;
+    private final TransferRepository transferRepository;
+    private final EventPublisherService eventPublisher;
+    private final BalanceHistoryService balanceHistoryService;
+    private final AccountCache accountCache;
+    private final SharedAccountCache sharedAccountCache;
+    private final long stalledSeconds;
+    private final int sweepBatchSize;
+
+    @Autowired
+    public TransferSagaService(AccountRepository accountRepository, TransferRepository transferRepository,
+                               EventPublisherService eventPublisher, BalanceHistoryService balanceHistoryService,
+                               AccountCache accountCache, SharedAccountCache sharedAccountCache,
+                               @Value("${transfer-saga.stalled-after-seconds:120}") long stalledSeconds,
+                               @Value("${transfer-saga.sweep-batch-size:100}") int sweepBatchSize) {
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.eventPublisher = eventPublisher;
+        this.balanceHistoryService = balanceHistoryService;
+        this.accountCache = accountCache;
+        this.sharedAccountCache = sharedAccountCache;
+        this.stalledSeconds = stalledSeconds;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Start a new transfer. Money moves asynchronously; poll the transfer for its outcome.
+     */
+    public TransferResponse startTransfer(CreateTransferRequest request) {
+        if (request.getSourceAccountId().equals(request.getTargetAccountId())) {
+            throw new IllegalArgumentException("Source and target account must differ");
+        }
+        Account source = accountRepository.findById(request.getSourceAccountId())
+                .orElseThrow(() -> new RuntimeException("Account not found with ID: " + request.getSourceAccountId()));
+        Account target = accountRepository.findById(request.getTargetAccountId())
+                .orElseThrow(() -> new RuntimeException("Account not found with ID: " + request.getTargetAccountId()));
+
+        Money amount = new Money(request.getAmount(), request.getCurrency());
+        if (!amount.hasSameCurrency(source.getBalance()) || !amount.hasSameCurrency(target.getBalance())) {
+            throw new IllegalArgumentException(String.format("Transfer currency %s does not match the accounts (%s -> %s)",
+                    amount.getCurrency(), source.getBalance().getCurrency(), target.getBalance().getCurrency()));
+        }
+        Transfer transfer = transferRepository.save(new Transfer(
+                source.getId(),
+                request.getTargetAccountId(),
+                source.getUserId(),
+                amount,
+                request.getDescription()
+        ));
+
+        sendNextCommand(transfer);
+
+        logger.info("Started transfer {} of {} from {} to {}", transfer.getId(), amount,
+                transfer.getSourceAccountId(), transfer.getTargetAccountId());
+        return mapToResponse(transfer);
+    }
+
+    /**
+     * Get transfer by ID
+     */
+    @Transactional(readOnly = true)
+    public TransferResponse getTransfer(UUID transferId) {
+        Transfer transfer = transferRepository.findById(transferId)
+                .orElseThrow(() -> new RuntimeException("Transfer not found with ID: " + transferId));
+        return mapToResponse(transfer);
+    }
+
+    /**
+     * Execute one saga step. The transfer row stays locked until the step commits,
+     * so a redelivered command waits and then sees the updated status.
+     */
+    public void handle(TransferCommand command) {
+        Transfer transfer = transferRepository.findByIdForUpdate(command.getTransferId()).orElse(null);
+        if (transfer == null) {
+            logger.warn("Ignoring command for unknown transfer: {}", command);
+            return;
+        }
+
+        switch (command.getStep()) {
+            case RESERVE_FUNDS:
+                reserveFunds(transfer);
+                break;
+            case CREDIT_TARGET:
+                creditTarget(transfer);
+                break;
+            case SETTLE_SOURCE:
+                settleSource(transfer);
+                break;
+            case RELEASE_FUNDS:
+                releaseFunds(transfer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported transfer step: " + command.getStep());
+        }
+    }
+
+    private void reserveFunds(Transfer transfer) {
+        if (transfer.getStatus() != TransferStatus.REQUESTED) {
+            logger.debug("Transfer {} already past reservation ({})", transfer.getId(), transfer.getStatus().name());
+            return;
+        }
+
+        Account source = lockAccount(transfer.getSourceAccountId());
+        try {
+            source.blockFunds(transfer.getAmount());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            transfer.fail(e.getMessage());
+            publishOutcome(transfer);
+            logger.info("Transfer {} rejected: {}", transfer.getId(), e.getMessage());
+            return;
+        }
+
+        accountChanged(source);
+        transfer.fundsReserved();
+        sendNextCommand(transfer);
+    }
+
+    private void creditTarget(Transfer transfer) {
+        if (transfer.getStatus() != TransferStatus.FUNDS_RESERVED) {
+            logger.debug("Transfer {} already past crediting ({})", transfer.getId(), transfer.getStatus().name());
+            return;
+        }
+
+        Account target = lockAccount(transfer.getTargetAccountId());
+        try {
+            target.credit(transfer.getAmount());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            transfer.compensate(e.getMessage());
+            sendNextCommand(transfer);
+            logger.info("Transfer {} could not credit target, compensating: {}", transfer.getId(), e.getMessage());
+            return;
+        }
+
+        balanceHistoryService.recordCredit(target, transfer.getAmount());
+        accountChanged(target);
+        transfer.targetCredited();
+        sendNextCommand(transfer);
+    }
+
+    private void settleSource(Transfer transfer) {
+        if (transfer.getStatus() != TransferStatus.TARGET_CREDITED) {
+            logger.debug("Transfer {} already settled ({})", transfer.getId(), transfer.getStatus().name());
+            return;
+        }
+
+        Account source = lockAccount(transfer.getSourceAccountId());
+        source.settleBlockedFunds(transfer.getAmount());
+        balanceHistoryService.recordDebit(source, transfer.getAmount());
+        accountChanged(source);
+        transfer.complete();
+        publishOutcome(transfer);
+        logger.info("Transfer {} completed", transfer.getId());
+    }
+
+    private void releaseFunds(Transfer transfer) {
+        if (transfer.getStatus() != TransferStatus.COMPENSATING) {
+            logger.debug("Transfer {} not compensating ({})", transfer.getId(), transfer.getStatus().name());
+            return;
+        }
+
+        Account source = lockAccount(transfer.getSourceAccountId());
+        source.releaseFunds(transfer.getAmount());
+        accountChanged(source);
+        transfer.fail(null);
+        publishOutcome(transfer);
+        logger.info("Transfer {} compensated", transfer.getId());
+    }
+
+    /**
+     * Send the pending command of transfers that have not moved for a while again
+     */
+    @Scheduled(fixedDelayString = "${transfer-saga.sweep-interval-ms:30000}")
+    public void resumeStalledTransfers() {
+        List<Transfer> stalled = transferRepository.findStalledForUpdate(stalledSeconds, sweepBatchSize);
+        if (stalled.isEmpty()) {
+            return;
+        }
+
+        stalled.forEach(this::sendNextCommand);
+        transferRepository.touch(stalled.stream().map(Transfer::getId).collect(Collectors.toList()));
+        logger.warn("Re-sent the pending step of {} stalled transfers", stalled.size());
+    }
+
+    private Account lockAccount(UUID accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
+    }
+
+    /**
+     * Evict the near cache and write the new state through to the shared cache
+     * after commit, and announce the new balances; other instances evict their
+     * near caches when the event arrives
+     */
+    private void accountChanged(Account account) {
+        // Flush so the shared cache entry carries the version this step commits
+        accountRepository.flush();
+        accountCache.evictAfterCommit(account.getId(), account.getUserId());
+        sharedAccountCache.putAfterCommit(AccountResponse.from(account));
+        eventPublisher.publishAccountEvent(new AccountBalanceChangedEvent(
+                account.getId(),
+                account.getUserId(),
+                account.getAccountNumber().getValue(),
+                account.getStatus(),
+                account.getBalance().getAmount(),
+                account.getAvailableBalance().getAmount(),
+                account.getBalance().getCurrency()
+        ));
+    }
+
+    private void sendNextCommand(Transfer transfer) {
+        TransferCommand.Step step;
+        UUID accountId = transfer.getSourceAccountId();
+        switch (transfer.getStatus()) {
+            case REQUESTED:
+                step = TransferCommand.Step.RESERVE_FUNDS;
+                break;
+            case FUNDS_RESERVED:
+                step = TransferCommand.Step.CREDIT_TARGET;
+                accountId = transfer.getTargetAccountId();
+                break;
+            case TARGET_CREDITED:
+                step = TransferCommand.Step.SETTLE_SOURCE;
+                break;
+            case COMPENSATING:
+                step = TransferCommand.Step.RELEASE_FUNDS;
+                break;
+            default:
+                return;
+        }
+        eventPublisher.publishTransferCommand(new TransferCommand(transfer.getId(), accountId, step));
+    }
+
+    private void publishOutcome(Transfer transfer) {
+        boolean completed = transfer.getStatus() == TransferStatus.COMPLETED;
+        TransferEvent event = new TransferEvent(
+                completed ? "TRANSFER_COMPLETED" : "TRANSFER_FAILED",
+                transfer.getId(),
+                transfer.getSourceAccountId(),
+                transfer.getTargetAccountId(),
+                transfer.getUserId(),
+                transfer.getAmount().getAmount(),
+                transfer.getAmount().getCurrency(),
+                transfer.getDescription(),
+                transfer.getFailureReason()
+        );
+
+        eventPublisher.publishTransactionEvent(event);
+    }
+
+    /**
+     * Map Transfer entity to TransferResponse DTO
+     */
+    private TransferResponse mapToResponse(Transfer transfer) {
+        TransferResponse response = new TransferResponse();
+        response.setId(transfer.getId());
+        response.setSourceAccountId(transfer.getSourceAccountId());
+        response.setTargetAccountId(transfer.getTargetAccountId());
+        response.setUserId(transfer.getUserId());
+        response.setAmount(transfer.getAmount().getAmount());
+        response.setCurrency(transfer.getAmount().getCurrency());
+        response.setStatus(transfer.getStatus());
+        response.setDescription(transfer.getDescription());
+        response.setFailureReason(transfer.getFailureReason());
+        response.setCreatedAt(transfer.getCreatedAt());
+        response.setUpdatedAt(transfer.getUpdatedAt());
+        response.setCompletedAt(transfer.getCompletedAt());
+        return response;
+    }
+}
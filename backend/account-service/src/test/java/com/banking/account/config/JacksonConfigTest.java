@@ -0,0 +1,107 @@
+package com.banking.account.config;
+
+import com.banking.account.domain.entity.AccountStatus;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.event.AccountBalanceChangedEvent;
+import com.banking.account.event.AccountCreatedEvent;
+import com.banking.account.event.MoneyTransactionEvent;
+import com.banking.account.service.EventPublisherService;
+import com.banking.account.service.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Boot's ObjectMapper with the Blackbird module bean against plain reflective Jackson.
+ */
+@JsonTest
+@Import(JacksonConfig.class)
+class JacksonConfigTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                    SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void blackbirdIsRegisteredWithTheApplicationMapper() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+    }
+
+    @Test
+    void eventsAndResponsesAreWrittenAsWithoutBlackbird() throws Exception {
+        UUID accountId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        List<Object> values = List.of(
+                new AccountCreatedEvent(accountId, userId, "1000000001", AccountType.CHECKING,
+                        AccountStatus.ACTIVE, BigDecimal.ZERO, "USD"),
+                new MoneyTransactionEvent(accountId, userId, MoneyTransactionEvent.TransactionType.DEPOSIT,
+                        new BigDecimal("125.40"), "USD", new BigDecimal("1125.40"), "Salary \"June\""),
+                new AccountBalanceChangedEvent(accountId, userId, "1000000001", AccountStatus.ACTIVE,
+                        new BigDecimal("100.00"), new BigDecimal("70.00"), "USD"),
+                accountResponse(accountId, userId));
+
+        for (Object value : values) {
+            String json = objectMapper.writerFor(value.getClass()).writeValueAsString(value);
+
+            assertThat(json).isEqualTo(reflective.writeValueAsString(value));
+            Object read = objectMapper.readerFor(value.getClass()).readValue(json);
+            assertThat(read).usingRecursiveComparison().isEqualTo(reflective.readValue(json, value.getClass()));
+        }
+    }
+
+    @Test
+    void publishedEventsCarryTheFieldsOfTheirConcreteClass() throws Exception {
+        OutboxService outboxService = mock(OutboxService.class);
+        EventPublisherService publisher = new EventPublisherService(outboxService, objectMapper);
+        AccountBalanceChangedEvent event = new AccountBalanceChangedEvent(UUID.randomUUID(), UUID.randomUUID(),
+                "1000000001", AccountStatus.ACTIVE, new BigDecimal("100.00"), new BigDecimal("70.00"), "USD");
+
+        publisher.publishAccountEvent(event);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(outboxService).enqueue(eq(EventPublisherService.ACCOUNT_EVENTS_TOPIC), anyString(), payload.capture());
+        AccountBalanceChangedEvent published = objectMapper.readValue(payload.getValue(), AccountBalanceChangedEvent.class);
+        // The event timestamp is written to the second
+        assertThat(published).usingRecursiveComparison().ignoringFields("timestamp").isEqualTo(event);
+        assertThat(published.getBalance()).isEqualByComparingTo("100.00");
+        assertThat(published.getAvailableBalance()).isEqualByComparingTo("70.00");
+    }
+
+    private static AccountResponse accountResponse(UUID accountId, UUID userId) {
+        AccountResponse account = new AccountResponse();
+        account.setId(accountId);
+        account.setAccountNumber("1000000001");
+        account.setUserId(userId);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(new BigDecimal("1125.40"));
+        account.setAvailableBalance(new BigDecimal("1095.40"));
+        account.setCurrency("USD");
+        account.setCreatedAt(LocalDateTime.of(2026, 6, 1, 9, 30, 15, 123_456_000));
+        account.setUpdatedAt(LocalDateTime.of(2026, 6, 2, 10, 0));
+        account.setVersion(7);
+        return account;
+    }
+}
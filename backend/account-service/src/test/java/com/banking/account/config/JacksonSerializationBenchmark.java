@@ -0,0 +1,111 @@
+package com.banking.account.config;
+
+import com.banking.account.domain.entity.AccountStatus;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.event.AccountCreatedEvent;
+import com.banking.account.event.MoneyTransactionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of account events and responses: a general ObjectMapper call
+ * against a writer bound to the type, without and with Blackbird.
+ * Run with -Djmh.args="-prof gc" to see the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JacksonSerializationBenchmark {
+
+    @Param({"AccountCreatedEvent", "MoneyTransactionEvent", "AccountResponse"})
+    public String type;
+
+    private Object value;
+    private ObjectMapper reflectiveMapper;
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter blackbirdWriter;
+
+    @Setup
+    public void setUp() {
+        UUID accountId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        switch (type) {
+            case "AccountCreatedEvent":
+                value = new AccountCreatedEvent(accountId, userId, "1000000001", AccountType.CHECKING,
+                        AccountStatus.ACTIVE, BigDecimal.ZERO, "USD");
+                break;
+            case "MoneyTransactionEvent":
+                value = new MoneyTransactionEvent(accountId, userId, MoneyTransactionEvent.TransactionType.DEPOSIT,
+                        new BigDecimal("125.40"), "USD", new BigDecimal("1125.40"), "Salary");
+                break;
+            default:
+                AccountResponse account = new AccountResponse();
+                account.setId(accountId);
+                account.setAccountNumber("1000000001");
+                account.setUserId(userId);
+                account.setAccountType(AccountType.CHECKING);
+                account.setStatus(AccountStatus.ACTIVE);
+                account.setBalance(new BigDecimal("1125.40"));
+                account.setAvailableBalance(new BigDecimal("1125.40"));
+                account.setCurrency("USD");
+                account.setCreatedAt(LocalDateTime.now());
+                account.setUpdatedAt(LocalDateTime.now());
+                account.setVersion(3);
+                value = account;
+        }
+        reflectiveMapper = mapper();
+        reflectiveWriter = reflectiveMapper.writerFor(value.getClass());
+        ObjectMapper blackbirdMapper = mapper();
+        blackbirdMapper.registerModule(new BlackbirdModule());
+        blackbirdWriter = blackbirdMapper.writerFor(value.getClass());
+    }
+
+    @Benchmark
+    public String objectMapper() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsString(value);
+    }
+
+    @Benchmark
+    public String typedWriter() throws JsonProcessingException {
+        return reflectiveWriter.writeValueAsString(value);
+    }
+
+    @Benchmark
+    public String typedWriterBlackbird() throws JsonProcessingException {
+        return blackbirdWriter.writeValueAsString(value);
+    }
+
+    /**
+     * Same settings as the application mapper, without the Blackbird module bean
+     */
+    private static ObjectMapper mapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.banking.account.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-format rate limiting of the prod logging profile.
+ */
+class LogRateLimitFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogRateLimitFilter filter = new LogRateLimitFilter();
+
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        logger = context.getLogger("com.banking.account.service.AccountService");
+        filter.setContext(context);
+        filter.setEventsPerSecond(3);
+        filter.start();
+    }
+
+    @Test
+    void eachFormatIsCappedWithinASecond() {
+        long passed = countPassed(logger, Level.INFO, "Account {} credited", 10);
+
+        assertThat(passed).isBetween(3L, 6L);
+    }
+
+    @Test
+    void formatsAreCountedSeparately() {
+        countPassed(logger, Level.INFO, "Account {} credited", 10);
+
+        assertThat(decide(logger, Level.INFO, "Account {} debited")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void windowResetsEverySecond() throws InterruptedException {
+        countPassed(logger, Level.INFO, "Account {} credited", 10);
+
+        Thread.sleep(1100);
+
+        assertThat(decide(logger, Level.INFO, "Account {} credited")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void warningsAndErrorsAlwaysPass() {
+        assertThat(countPassed(logger, Level.WARN, "Retrying publish for {}", 50)).isEqualTo(50);
+        assertThat(countPassed(logger, Level.ERROR, "Publish failed for {}", 50)).isEqualTo(50);
+    }
+
+    @Test
+    void loggersOutsideThePrefixAreNotLimited() {
+        Logger framework = context.getLogger("org.springframework.kafka.KafkaListenerEndpointContainer");
+
+        assertThat(countPassed(framework, Level.INFO, "partitions assigned: {}", 50)).isEqualTo(50);
+    }
+
+    @Test
+    void disabledLevelsAreLeftToTheLoggerAndNotCounted() {
+        assertThat(countPassed(logger, Level.DEBUG, "Account {} credited", 50)).isEqualTo(50);
+
+        assertThat(decide(logger, Level.INFO, "Account {} credited")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void stoppedFilterIsNeutral() {
+        filter.stop();
+
+        assertThat(countPassed(logger, Level.INFO, "Account {} credited", 50)).isEqualTo(50);
+    }
+
+    private long countPassed(Logger target, Level level, String format, int events) {
+        long passed = 0;
+        for (int i = 0; i < events; i++) {
+            if (decide(target, level, format) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    private FilterReply decide(Logger target, Level level, String format) {
+        return filter.decide(null, target, level, format, new Object[] {"1000000001"}, null);
+    }
+}
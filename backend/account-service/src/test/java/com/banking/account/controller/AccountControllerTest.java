@@ -0,0 +1,108 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.service.AccountService;
+import com.banking.account.service.BalanceHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Conditional GET on the user account list.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountControllerTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private BalanceHistoryService balanceHistoryService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID firstId = UUID.randomUUID();
+    private final UUID secondId = UUID.randomUUID();
+
+    private AccountController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AccountController(accountService, balanceHistoryService);
+    }
+
+    @Test
+    void listETagIsAStrongDigestOfTheAccounts() {
+        String etag = userAccountsETag(List.of(account(firstId, 1), account(secondId, 4)));
+
+        assertThat(etag).matches("\"[0-9a-f]{64}\"");
+        assertThat(etag).doesNotContain(userId.toString());
+        assertThat(userAccountsETag(List.of(account(firstId, 1), account(secondId, 4)))).isEqualTo(etag);
+    }
+
+    @Test
+    void writeToOneAccountChangesTheListETag() {
+        String before = userAccountsETag(List.of(account(firstId, 1), account(secondId, 4)));
+        String after = userAccountsETag(List.of(account(firstId, 1), account(secondId, 5)));
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void replacedAccountOfTheSameCountChangesTheListETag() {
+        String before = userAccountsETag(List.of(account(firstId, 1), account(secondId, 4)));
+        String after = userAccountsETag(List.of(account(firstId, 1), account(UUID.randomUUID(), 4)));
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void versionsMovingBetweenAccountsChangeTheListETag() {
+        String before = userAccountsETag(List.of(account(firstId, 1), account(secondId, 4)));
+        String after = userAccountsETag(List.of(account(firstId, 4), account(secondId, 1)));
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswersNotModified() {
+        List<AccountResponse> accounts = List.of(account(firstId, 1), account(secondId, 4));
+        String etag = userAccountsETag(accounts);
+        when(accountService.getUserAccounts(userId)).thenReturn(accounts);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts/user/" + userId);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(controller.getUserAccounts(userId, new ServletWebRequest(request, response))).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    private String userAccountsETag(List<AccountResponse> accounts) {
+        when(accountService.getUserAccounts(userId)).thenReturn(accounts);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(controller.getUserAccounts(userId, new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/api/accounts/user/" + userId), response)).getBody())
+                .isEqualTo(accounts);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private AccountResponse account(UUID id, long version) {
+        AccountResponse account = new AccountResponse();
+        account.setId(id);
+        account.setUserId(userId);
+        account.setVersion(version);
+        return account;
+    }
+}
@@ -0,0 +1,60 @@
+package com.banking.account.domain.entity;
+
+import com.banking.account.domain.valueobject.AccountNumber;
+import com.banking.account.domain.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountTest {
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        account = new Account(new AccountNumber("1000000001"), UUID.randomUUID(), AccountType.CHECKING);
+        account.activate();
+        account.credit(usd("100.00"));
+    }
+
+    @Test
+    void withdrawalCannotSpendFundsHeldForATransfer() {
+        account.blockFunds(usd("70.00"));
+
+        assertThatThrownBy(() -> account.debit(usd("50.00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient available funds");
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("100.00");
+        assertThat(account.getAvailableBalance().getAmount()).isEqualByComparingTo("30.00");
+
+        account.settleBlockedFunds(usd("70.00"));
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void withdrawalUpToTheAvailableBalanceLeavesTheHoldSettleable() {
+        account.blockFunds(usd("70.00"));
+
+        account.debit(usd("30.00"));
+        account.settleBlockedFunds(usd("70.00"));
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("0.00");
+        assertThat(account.getAvailableBalance().getAmount()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void withdrawalBeyondTheBalanceIsRejected() {
+        assertThatThrownBy(() -> account.debit(usd("100.01")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("100.00");
+    }
+
+    private static Money usd(String amount) {
+        return new Money(new BigDecimal(amount), "USD");
+    }
+}
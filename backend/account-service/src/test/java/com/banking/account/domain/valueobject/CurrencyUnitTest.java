@@ -0,0 +1,95 @@
+package com.banking.account.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyUnitTest {
+
+    @Test
+    void everyIsoCurrencyThatFitsTheColumnsIsRegisteredWithItsScale() {
+        int registered = 0;
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int fractionDigits = currency.getDefaultFractionDigits();
+            if (fractionDigits < 0 || fractionDigits > Money.SCALE) {
+                continue;
+            }
+            CurrencyUnit unit = CurrencyUnit.of(currency.getCurrencyCode());
+            assertThat(unit.getCode()).isEqualTo(currency.getCurrencyCode());
+            assertThat(unit.getFractionDigits()).isEqualTo(fractionDigits);
+            registered++;
+        }
+        assertThat(registered).isGreaterThan(100);
+    }
+
+    @Test
+    void minorUnitStepFollowsTheScale() {
+        assertThat(CurrencyUnit.of("USD").getFractionDigits()).isEqualTo(2);
+        assertThat(CurrencyUnit.of("USD").getMinorUnitStep()).isEqualTo(1);
+        assertThat(CurrencyUnit.of("JPY").getFractionDigits()).isZero();
+        assertThat(CurrencyUnit.of("JPY").getMinorUnitStep()).isEqualTo(100);
+        assertThat(CurrencyUnit.of("KRW").getMinorUnitStep()).isEqualTo(100);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"BHD", "KWD", "OMR", "TND"})
+    void currenciesWithThreeFractionDigitsAreRejected(String code) {
+        assertThatThrownBy(() -> CurrencyUnit.of(code))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid currency code: " + code);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"XAU", "XDR", "XXX"})
+    void currenciesWithoutAScaleAreRejected(String code) {
+        assertThatThrownBy(() -> CurrencyUnit.of(code))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"XYZ", "AAA", "ZZZ", "US", "USDD", "U5D", "US$", "US ", "ÜSD", "U[D", "U`D"})
+    void unknownOrMalformedCodesAreRejected(String code) {
+        assertThatThrownBy(() -> CurrencyUnit.of(code))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid currency code: " + code);
+    }
+
+    @Test
+    void missingCodeIsRejected() {
+        assertThatThrownBy(() -> CurrencyUnit.of(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency cannot be null or empty");
+        assertThatThrownBy(() -> CurrencyUnit.of(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency cannot be null or empty");
+    }
+
+    @Test
+    void lookupIgnoresCaseAndReturnsTheRegisteredInstance() {
+        CurrencyUnit eur = CurrencyUnit.of("EUR");
+
+        assertThat(CurrencyUnit.of("eur")).isSameAs(eur);
+        assertThat(CurrencyUnit.of("eUr")).isSameAs(eur);
+        assertThat(CurrencyUnit.of("eur").getCode()).isEqualTo("EUR");
+    }
+
+    @Test
+    void deserializationResolvesToTheRegisteredInstance() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(CurrencyUnit.of("GBP"));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isSameAs(CurrencyUnit.of("GBP"));
+        }
+    }
+}
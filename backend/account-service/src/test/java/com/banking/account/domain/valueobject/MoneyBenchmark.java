@@ -0,0 +1,123 @@
+package com.banking.account.domain.valueobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting-path Money operations against the BigDecimal implementation they replaced.
+ *
+ * A posting builds the request amount, checks the balance and adds or
+ * subtracts it; event building reads the amount back as a BigDecimal.
+ * Run with -Djmh.args="-prof gc" to see the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private BigDecimal requestAmount;
+    private Money balance;
+    private DecimalMoney decimalBalance;
+
+    @Setup
+    public void setUp() {
+        requestAmount = new BigDecimal("125.40");
+        balance = new Money(new BigDecimal("10450.25"), "USD");
+        decimalBalance = new DecimalMoney(new BigDecimal("10450.25"), "USD");
+    }
+
+    @Benchmark
+    public Money creditMinorUnits() {
+        return balance.add(new Money(requestAmount, "USD"));
+    }
+
+    @Benchmark
+    public DecimalMoney creditBigDecimal() {
+        return decimalBalance.add(new DecimalMoney(requestAmount, "USD"));
+    }
+
+    @Benchmark
+    public Money debitMinorUnits() {
+        Money amount = new Money(requestAmount, "USD");
+        return balance.isGreaterThanOrEqual(amount) ? balance.subtract(amount) : balance;
+    }
+
+    @Benchmark
+    public DecimalMoney debitBigDecimal() {
+        DecimalMoney amount = new DecimalMoney(requestAmount, "USD");
+        return decimalBalance.isGreaterThanOrEqual(amount) ? decimalBalance.subtract(amount) : decimalBalance;
+    }
+
+    @Benchmark
+    public BigDecimal eventAmountMinorUnits() {
+        return balance.add(new Money(requestAmount, "USD")).getAmount();
+    }
+
+    @Benchmark
+    public BigDecimal eventAmountBigDecimal() {
+        return decimalBalance.add(new DecimalMoney(requestAmount, "USD")).amount;
+    }
+
+    /**
+     * The Money implementation before minor units, kept here as the baseline:
+     * currency validation and upper-casing on every construction, setScale on every result.
+     */
+    public static final class DecimalMoney {
+
+        private final BigDecimal amount;
+        private final String currency;
+
+        DecimalMoney(BigDecimal amount, String currency) {
+            if (amount == null) {
+                throw new IllegalArgumentException("Amount cannot be null");
+            }
+            if (currency == null || currency.trim().isEmpty()) {
+                throw new IllegalArgumentException("Currency cannot be null or empty");
+            }
+            try {
+                Currency.getInstance(currency);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid currency code: " + currency);
+            }
+            this.amount = amount.setScale(2, RoundingMode.HALF_UP);
+            this.currency = currency.toUpperCase();
+        }
+
+        DecimalMoney add(DecimalMoney other) {
+            validateSameCurrency(other);
+            return new DecimalMoney(amount.add(other.amount), currency);
+        }
+
+        DecimalMoney subtract(DecimalMoney other) {
+            validateSameCurrency(other);
+            return new DecimalMoney(amount.subtract(other.amount), currency);
+        }
+
+        boolean isGreaterThanOrEqual(DecimalMoney other) {
+            validateSameCurrency(other);
+            return amount.compareTo(other.amount) >= 0;
+        }
+
+        private void validateSameCurrency(DecimalMoney other) {
+            if (!currency.equals(other.currency)) {
+                throw new IllegalArgumentException("Currency mismatch: " + currency + " vs " + other.currency);
+            }
+        }
+    }
+}
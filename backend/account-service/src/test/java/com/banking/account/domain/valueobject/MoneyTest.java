@@ -0,0 +1,111 @@
+package com.banking.account.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private static final CurrencyUnit USD = CurrencyUnit.of("USD");
+    private static final CurrencyUnit JPY = CurrencyUnit.of("JPY");
+
+    @Test
+    void amountsAreRoundedHalfUpToCents() {
+        assertThat(usd("10.005").getMinorUnits()).isEqualTo(1001);
+        assertThat(usd("10.004").getMinorUnits()).isEqualTo(1000);
+        assertThat(usd("-10.005").getMinorUnits()).isEqualTo(-1001);
+        assertThat(usd("10.005").getAmount()).isEqualTo(new BigDecimal("10.01"));
+    }
+
+    @Test
+    void amountsAreRoundedToTheCurrencyPrecision() {
+        Money yen = new Money(new BigDecimal("100.5"), JPY);
+
+        assertThat(yen.getAmount()).isEqualByComparingTo("101");
+        assertThat(yen.getMinorUnits()).isEqualTo(10_100);
+        assertThatThrownBy(() -> Money.ofMinorUnits(150, JPY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void currenciesFinerThanTheColumnsAreRejected() {
+        assertThatThrownBy(() -> CurrencyUnit.of("BHD"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CurrencyUnit.of("XYZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void currencyLookupIsCaseInsensitiveAndShared() {
+        assertThat(CurrencyUnit.of("usd")).isSameAs(USD);
+        assertThat(new Money(new BigDecimal("1"), "Usd").hasSameCurrency(usd("2"))).isTrue();
+    }
+
+    @Test
+    void largestColumnAmountIsAcceptedAndAnythingBeyondRejected() {
+        assertThat(usd("9999999999999.99").getMinorUnits()).isEqualTo(Money.MAX_MINOR_UNITS);
+        assertThat(usd("-9999999999999.99").getMinorUnits()).isEqualTo(-Money.MAX_MINOR_UNITS);
+
+        assertThatThrownBy(() -> usd("10000000000000.00"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Rounding up can push an amount out of range
+        assertThatThrownBy(() -> usd("9999999999999.995"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void amountsBeyondTheLongRangeAreRejectedInsteadOfWrapping() {
+        assertThatThrownBy(() -> usd("92233720368547758.08"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> usd("1E+30"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Money(new BigDecimal("1E+30"), JPY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void additionAndSubtractionPastTheColumnRangeAreRejected() {
+        Money max = Money.ofMinorUnits(Money.MAX_MINOR_UNITS, USD);
+        Money min = Money.ofMinorUnits(-Money.MAX_MINOR_UNITS, USD);
+        Money cent = Money.ofMinorUnits(1, USD);
+
+        assertThatThrownBy(() -> max.add(cent)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> min.subtract(cent)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(max.subtract(cent).add(cent)).isEqualTo(max);
+    }
+
+    @Test
+    void arithmeticIsExactInCents() {
+        Money sum = Money.zero("USD");
+        for (int i = 0; i < 10; i++) {
+            sum = sum.add(usd("0.10"));
+        }
+
+        assertThat(sum).isEqualTo(usd("1.00"));
+        assertThat(usd("10.5")).isEqualTo(usd("10.50"));
+        assertThat(usd("100.00").subtract(usd("0.01")).getAmount()).isEqualTo(new BigDecimal("99.99"));
+    }
+
+    @Test
+    void divisionRoundsHalfUpToTheCurrencyPrecision() {
+        assertThat(usd("10.00").divide(new BigDecimal("3")).getAmount()).isEqualTo(new BigDecimal("3.33"));
+        assertThat(usd("0.05").divide(new BigDecimal("2")).getAmount()).isEqualTo(new BigDecimal("0.03"));
+        assertThat(new Money(new BigDecimal("100"), JPY).divide(new BigDecimal("3")).getAmount())
+                .isEqualByComparingTo("33");
+    }
+
+    @Test
+    void mixedCurrenciesAreRejected() {
+        Money euros = new Money(new BigDecimal("1.00"), "EUR");
+
+        assertThatThrownBy(() -> usd("1.00").add(euros)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> usd("1.00").isGreaterThan(euros)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Money usd(String amount) {
+        return new Money(new BigDecimal(amount), USD);
+    }
+}
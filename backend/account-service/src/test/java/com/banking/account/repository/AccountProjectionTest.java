@@ -0,0 +1,87 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.dto.AccountResponse;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Constructor projection of a user's accounts against the entity mapping it replaced.
+ */
+class AccountProjectionTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusDays(3);
+        String[] types = {"SAVINGS", "CHECKING", "BUSINESS"};
+        String[] statuses = {"ACTIVE", "FROZEN", "ACTIVE"};
+        for (int i = 0; i < types.length; i++) {
+            jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status, balance, " +
+                    "available_balance, currency, available_currency, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, 'EUR', 'EUR', ?, ?)",
+                    UUID.randomUUID(), "PROJ" + i + userId.toString().substring(0, 8), userId, types[i], statuses[i],
+                    1000.5 + i, 900.25 + i, Timestamp.valueOf(base.plusHours(i)),
+                    Timestamp.valueOf(base.plusHours(i).plusMinutes(5)));
+        }
+    }
+
+    @Test
+    void projectedAccountsEqualTheEntityMapping() {
+        List<Account> accounts = accountRepository.findByUserId(userId);
+        entityManager.clear();
+
+        List<AccountResponse> responses = accountRepository.findResponsesByUserId(userId);
+
+        assertThat(responses)
+                .extracting(AccountResponse::getId, AccountResponse::getAccountNumber, AccountResponse::getUserId,
+                        AccountResponse::getAccountType, AccountResponse::getStatus, AccountResponse::getBalance,
+                        AccountResponse::getCurrency, AccountResponse::getAvailableBalance,
+                        AccountResponse::getCreatedAt, AccountResponse::getUpdatedAt)
+                .containsExactlyElementsOf(accounts.stream()
+                        .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
+                        .map(account -> tuple(account.getId(), account.getAccountNumber().getValue(),
+                                account.getUserId(), account.getAccountType(), account.getStatus(),
+                                account.getBalance().getAmount(), account.getBalance().getCurrency(),
+                                account.getAvailableBalance().getAmount(), account.getCreatedAt(),
+                                account.getUpdatedAt()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void projectionLeavesThePersistenceContextEmpty() {
+        entityManager.clear();
+
+        assertThat(accountRepository.findResponsesByUserId(userId)).hasSize(3);
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
@@ -0,0 +1,137 @@
+package com.banking.account.repository;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.valueobject.AccountNumber;
+import com.banking.account.listener.AccountCacheInvalidationListener;
+import com.banking.account.service.AccountCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Account reads served from the Hibernate second-level and natural-id caches.
+ * Runs without a test transaction: the entity region is only filled and read
+ * across committed transactions, and each repository call here is one.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountSecondLevelCacheTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private UUID accountId;
+    private AccountNumber accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = UUID.randomUUID();
+        accountId = UUID.randomUUID();
+        accountNumber = new AccountNumber(String.valueOf(ThreadLocalRandom.current().nextLong(100_000_000_000L, 1_000_000_000_000L)));
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status, balance, " +
+                "available_balance, currency, available_currency) VALUES (?, ?, ?, 'CHECKING', 'ACTIVE', 100, 100, 'USD', 'USD')",
+                accountId, accountNumber.getValue(), userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.getCache().evict(Account.class, accountId);
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", accountId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void secondReadByIdIsServedFromTheEntityRegion() {
+        accountRepository.findById(accountId).orElseThrow();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        Account account = accountRepository.findById(accountId).orElseThrow();
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("100");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void secondReadByNumberRunsNoQuery() {
+        accountRepository.findByNaturalId(accountNumber).orElseThrow();
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        Account account = accountRepository.findByNaturalId(accountNumber).orElseThrow();
+
+        assertThat(account.getId()).isEqualTo(accountId);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(naturalIdHits + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void evictionReloadsAWriteMadeOutsideThisInstance() {
+        accountRepository.findById(accountId).orElseThrow();
+        // Another replica posts; only its event tells this instance
+        jdbcTemplate.update("UPDATE accounts SET balance = 70, available_balance = 70, version = version + 1 WHERE id = ?",
+                accountId);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance().getAmount())
+                .isEqualByComparingTo("100");
+
+        entityManagerFactory.getCache().evict(Account.class, accountId);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance().getAmount())
+                .isEqualByComparingTo("70");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements + 1);
+    }
+
+    @Test
+    void readByNumberAfterAnEvictionKeepsTheNaturalIdAndReloadsTheRow() {
+        accountRepository.findByNaturalId(accountNumber).orElseThrow();
+        jdbcTemplate.update("UPDATE accounts SET balance = 70, available_balance = 70, version = version + 1 WHERE id = ?",
+                accountId);
+        entityManagerFactory.getCache().evict(Account.class, accountId);
+        long naturalIdHits = statistics.getNaturalIdCacheHitCount();
+
+        Account account = accountRepository.findByNaturalId(accountNumber).orElseThrow();
+
+        assertThat(account.getBalance().getAmount()).isEqualByComparingTo("70");
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(naturalIdHits + 1);
+    }
+
+    @Test
+    void transferEventEvictsTheTargetAccountEntry() {
+        accountRepository.findById(accountId).orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(Account.class, accountId)).isTrue();
+        AccountCacheInvalidationListener listener = new AccountCacheInvalidationListener(
+                new AccountCache(100, 30, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)),
+                entityManagerFactory, new ObjectMapper());
+
+        listener.onEvent("{\"accountId\":\"" + UUID.randomUUID() + "\",\"targetAccountId\":\"" + accountId + "\"}");
+
+        assertThat(entityManagerFactory.getCache().contains(Account.class, accountId)).isFalse();
+    }
+}
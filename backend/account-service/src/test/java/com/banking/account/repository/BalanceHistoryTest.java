@@ -0,0 +1,100 @@
+package com.banking.account.repository;
+
+import com.banking.account.dto.DailyBalanceResponse;
+import com.banking.account.service.BalanceHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Daily balance history over ranges that start before, between and after postings.
+ */
+class BalanceHistoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountDailyBalanceRepository dailyBalanceRepository;
+
+    private BalanceHistoryService balanceHistoryService;
+    private UUID accountId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        balanceHistoryService = new BalanceHistoryService(dailyBalanceRepository);
+        today = LocalDate.now();
+
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", accountId, accountId.toString().substring(0, 20), userId);
+    }
+
+    @Test
+    void rangeWithoutPostingsCarriesTheLastEarlierClosingBalance() {
+        post(today.minusDays(10), "100.00", "0.00", "100.00");
+
+        List<DailyBalanceResponse> history = balanceHistoryService.getBalanceHistory(accountId, 5);
+
+        assertThat(history).extracting(DailyBalanceResponse::getDate, DailyBalanceResponse::getOpeningBalance,
+                        DailyBalanceResponse::getClosingBalance, DailyBalanceResponse::getTransactionCount)
+                .containsExactly(
+                        tuple(today.minusDays(4), amount("100.00"), amount("100.00"), 0),
+                        tuple(today.minusDays(3), amount("100.00"), amount("100.00"), 0),
+                        tuple(today.minusDays(2), amount("100.00"), amount("100.00"), 0),
+                        tuple(today.minusDays(1), amount("100.00"), amount("100.00"), 0),
+                        tuple(today, amount("100.00"), amount("100.00"), 0));
+    }
+
+    @Test
+    void daysBeforeTheFirstPostingInRangeCarryTheEarlierClosingBalance() {
+        post(today.minusDays(10), "100.00", "0.00", "100.00");
+        post(today.minusDays(12), "50.00", "0.00", "50.00");
+        post(today.minusDays(2), "0.00", "30.00", "70.00");
+
+        List<DailyBalanceResponse> history = balanceHistoryService.getBalanceHistory(accountId, 5);
+
+        assertThat(history).extracting(DailyBalanceResponse::getDate, DailyBalanceResponse::getOpeningBalance,
+                        DailyBalanceResponse::getClosingBalance, DailyBalanceResponse::getTotalDebits)
+                .containsExactly(
+                        tuple(today.minusDays(4), amount("100.00"), amount("100.00"), BigDecimal.ZERO),
+                        tuple(today.minusDays(3), amount("100.00"), amount("100.00"), BigDecimal.ZERO),
+                        tuple(today.minusDays(2), amount("100.00"), amount("70.00"), amount("30.00")),
+                        tuple(today.minusDays(1), amount("70.00"), amount("70.00"), BigDecimal.ZERO),
+                        tuple(today, amount("70.00"), amount("70.00"), BigDecimal.ZERO));
+    }
+
+    @Test
+    void historyStartsAtTheAccountsFirstPosting() {
+        post(today.minusDays(1), "25.00", "0.00", "25.00");
+
+        List<DailyBalanceResponse> history = balanceHistoryService.getBalanceHistory(accountId, 5);
+
+        assertThat(history).extracting(DailyBalanceResponse::getDate, DailyBalanceResponse::getClosingBalance)
+                .containsExactly(
+                        tuple(today.minusDays(1), amount("25.00")),
+                        tuple(today, amount("25.00")));
+    }
+
+    private void post(LocalDate date, String credit, String debit, String balanceAfter) {
+        dailyBalanceRepository.recordPosting(accountId, date, "USD", amount(credit), amount(debit),
+                amount(balanceAfter));
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
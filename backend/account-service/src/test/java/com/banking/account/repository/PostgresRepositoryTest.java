@@ -0,0 +1,67 @@
+package com.banking.account.repository;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Base for repository tests against a real Postgres.
+ *
+ * One container is shared by every test class in the JVM, so the cached
+ * Spring context keeps pointing at a live database. The schema is the part
+ * of infrastructure/sql/init.sql before its sample data; each test runs in
+ * a transaction that is rolled back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+abstract class PostgresRepositoryTest {
+
+    private static final Path INIT_SCRIPT = Path.of("../../infrastructure/sql/init.sql");
+    private static final String SAMPLE_DATA_MARKER = "-- Sample data for testing";
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        startWithSchema();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private static synchronized void startWithSchema() {
+        if (POSTGRES.isRunning()) {
+            return;
+        }
+        POSTGRES.start();
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(schema());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the test schema", e);
+        }
+    }
+
+    private static String schema() {
+        try {
+            String init = Files.readString(INIT_SCRIPT);
+            return init.substring(0, init.indexOf(SAMPLE_DATA_MARKER));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
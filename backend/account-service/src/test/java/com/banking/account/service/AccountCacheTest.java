@@ -0,0 +1,112 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.AccountStatus;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.dto.AccountResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountCacheTest {
+
+    private final AccountCache cache = new AccountCache(100, 30,
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    void loadWithoutAnEvictionIsCached() {
+        long generation = cache.accountGeneration(accountId);
+        cache.put(account(accountId, userId, "100.00"), generation);
+
+        assertThat(cache.getById(accountId).getBalance()).isEqualByComparingTo("100.00");
+        assertThat(cache.getIdByNumber(number(accountId))).isEqualTo(accountId);
+    }
+
+    @Test
+    void loadThatReadBeforeAnEvictionIsNotCached() {
+        long generation = cache.accountGeneration(accountId);
+        AccountResponse staleRow = account(accountId, userId, "100.00");
+        // The balance changes and the event arrives while the load still holds the old row
+        cache.evict(accountId, userId);
+        cache.put(staleRow, generation);
+
+        assertThat(cache.getById(accountId)).isNull();
+    }
+
+    @Test
+    void loadStartedAfterAnEvictionIsCached() {
+        cache.evict(accountId, userId);
+        long generation = cache.accountGeneration(accountId);
+        cache.put(account(accountId, userId, "70.00"), generation);
+
+        assertThat(cache.getById(accountId).getBalance()).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    void userListThatReadBeforeAnEvictionIsNotCached() {
+        long generation = cache.userGeneration(userId);
+        List<AccountResponse> staleRows = List.of(account(accountId, userId, "100.00"));
+        cache.evict(accountId, userId);
+        cache.putUserAccounts(userId, staleRows, generation);
+
+        assertThat(cache.getByUser(userId)).isNull();
+    }
+
+    @Test
+    void userListIsDroppedWhenAnEvictionNamesOnlyTheAccount() {
+        // Transfer targets are evicted without their owner, before this instance has seen them
+        long generation = cache.userGeneration(userId);
+        List<AccountResponse> staleRows = List.of(account(accountId, userId, "100.00"));
+        cache.evict(accountId, null);
+        cache.putUserAccounts(userId, staleRows, generation);
+
+        assertThat(cache.getByUser(userId)).isNull();
+    }
+
+    @Test
+    void accountEvictionInvalidatesItsOwnersList() {
+        cache.putUserAccounts(userId, List.of(account(accountId, userId, "100.00")), cache.userGeneration(userId));
+        assertThat(cache.getByUser(userId)).hasSize(1);
+
+        cache.evict(accountId, null);
+
+        assertThat(cache.getByUser(userId)).isNull();
+    }
+
+    @Test
+    void evictionOfAnotherUserLeavesTheLoadCached() {
+        long generation = cache.userGeneration(userId);
+        cache.evict(UUID.randomUUID(), UUID.randomUUID());
+        cache.putUserAccounts(userId, List.of(account(accountId, userId, "100.00")), generation);
+
+        assertThat(cache.getByUser(userId)).hasSize(1);
+    }
+
+    private static AccountResponse account(UUID id, UUID owner, String balance) {
+        AccountResponse account = new AccountResponse();
+        account.setId(id);
+        account.setAccountNumber(number(id));
+        account.setUserId(owner);
+        account.setAccountType(AccountType.CHECKING);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(new BigDecimal(balance));
+        account.setAvailableBalance(new BigDecimal(balance));
+        account.setCurrency("USD");
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        account.setVersion(1);
+        return account;
+    }
+
+    private static String number(UUID id) {
+        return String.valueOf(Math.abs(id.getMostSignificantBits() % 10_000_000_000L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.AccountStatus;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.event.AccountCreatedEvent;
+import com.banking.account.event.TransferCommand;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EventPublisherServiceTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    private final AccountCreatedEvent event = new AccountCreatedEvent(UUID.randomUUID(), UUID.randomUUID(),
+            "1000000001", AccountType.CHECKING, AccountStatus.ACTIVE, BigDecimal.ZERO, "USD");
+
+    @Test
+    void eventIsWrittenToTheOutboxKeyedByAccount() {
+        EventPublisherService publisher = new EventPublisherService(outboxService,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        publisher.publishAccountEvent(event);
+
+        verify(outboxService).enqueue(eq(EventPublisherService.ACCOUNT_EVENTS_TOPIC),
+                eq(event.getAccountId().toString()), contains("\"eventType\":\"ACCOUNT_CREATED\""));
+    }
+
+    @Test
+    void eventThatCannotBeSerializedFailsTheCallingTransaction() {
+        // No JavaTimeModule: the event timestamp cannot be written
+        EventPublisherService publisher = new EventPublisherService(outboxService, new ObjectMapper());
+
+        assertThatThrownBy(() -> publisher.publishAccountEvent(event))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(JsonProcessingException.class);
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void transferCommandIsWrittenToTheOutboxKeyedByAccount() {
+        EventPublisherService publisher = new EventPublisherService(outboxService, new ObjectMapper());
+        TransferCommand command = new TransferCommand(UUID.randomUUID(), UUID.randomUUID(),
+                TransferCommand.Step.RESERVE_FUNDS);
+
+        publisher.publishTransferCommand(command);
+
+        verify(outboxService).enqueue(eq(EventPublisherService.TRANSFER_COMMANDS_TOPIC),
+                eq(command.getAccountId().toString()), anyString());
+    }
+}
@@ -0,0 +1,169 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.AccountStatus;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class SharedAccountCacheTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+    private final UUID accountId = UUID.randomUUID();
+
+    private SharedAccountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cache(REDIS.getHost(), REDIS.getMappedPort(6379));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+
+    @Test
+    void loaderThatReadBeforeACommitCannotOverwriteTheCommittedState() {
+        Optional<AccountResponse> loaded = cache.getOrLoad(accountId, () -> {
+            // A posting commits and writes through while this load still holds the old row
+            cache.putAfterCommit(account(2, "70.00"));
+            return Optional.of(account(1, "100.00"));
+        });
+
+        assertThat(loaded.get().getBalance()).isEqualByComparingTo("100.00");
+        assertThat(cached().getBalance()).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    void lateWriteThroughDoesNotReplaceANewerState() {
+        cache.putAfterCommit(account(3, "40.00"));
+        cache.putAfterCommit(account(2, "70.00"));
+
+        assertThat(cached().getVersion()).isEqualTo(3);
+        assertThat(cached().getBalance()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void newerWriteThroughReplacesTheEntry() {
+        cache.putAfterCommit(account(2, "70.00"));
+        cache.putAfterCommit(account(3, "40.00"));
+
+        assertThat(cached().getBalance()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void concurrentMissesAcrossReplicasLoadOnce() throws Exception {
+        SharedAccountCache otherReplica = cache(REDIS.getHost(), REDIS.getMappedPort(6379));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            Future<Optional<AccountResponse>> first = callers.submit(() -> cache.getOrLoad(accountId, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                pause(50);
+                return Optional.of(account(1, "100.00"));
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Optional<AccountResponse>>> others = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                SharedAccountCache replica = i % 2 == 0 ? otherReplica : cache;
+                others.add(callers.submit(() -> replica.getOrLoad(accountId, () -> {
+                    loads.incrementAndGet();
+                    return Optional.of(account(1, "100.00"));
+                })));
+            }
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+            for (Future<Optional<AccountResponse>> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS).get().getBalance()).isEqualByComparingTo("100.00");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void unreachableRedisFallsBackToTheLoader() {
+        SharedAccountCache unreachable = cache("localhost", 1);
+
+        Optional<AccountResponse> loaded = unreachable.getOrLoad(accountId, () -> Optional.of(account(1, "100.00")));
+
+        assertThat(loaded.get().getBalance()).isEqualByComparingTo("100.00");
+    }
+
+    private AccountResponse cached() {
+        return cache.getOrLoad(accountId, () -> {
+            throw new AssertionError("Expected a cached account");
+        }).get();
+    }
+
+    private SharedAccountCache cache(String host, int port) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(host, port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactories.add(connectionFactory);
+        return new SharedAccountCache(new StringRedisTemplate(connectionFactory), objectMapper,
+                new SimpleMeterRegistry(), true, 300, 2000, 50, 20);
+    }
+
+    private AccountResponse account(long version, String balance) {
+        AccountResponse account = new AccountResponse();
+        account.setId(accountId);
+        account.setAccountNumber("1000000001");
+        account.setUserId(UUID.randomUUID());
+        account.setAccountType(AccountType.CHECKING);
+        account.setStatus(AccountStatus.ACTIVE);
+        account.setBalance(new BigDecimal(balance));
+        account.setAvailableBalance(new BigDecimal(balance));
+        account.setCurrency("USD");
+        account.setCreatedAt(LocalDateTime.now());
+        account.setUpdatedAt(LocalDateTime.now());
+        account.setVersion(version);
+        return account;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.banking.account.service;
+
+import com.banking.account.domain.entity.Account;
+import com.banking.account.domain.entity.AccountType;
+import com.banking.account.domain.entity.Transfer;
+import com.banking.account.domain.valueobject.AccountNumber;
+import com.banking.account.domain.valueobject.Money;
+import com.banking.account.event.AccountBalanceChangedEvent;
+import com.banking.account.event.AccountEvent;
+import com.banking.account.event.TransferCommand;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.TransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferSagaServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private EventPublisherService eventPublisher;
+
+    @Mock
+    private BalanceHistoryService balanceHistoryService;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private SharedAccountCache sharedAccountCache;
+
+    private TransferSagaService sagaService;
+    private Account source;
+    private Account target;
+    private Transfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        sagaService = new TransferSagaService(accountRepository, transferRepository, eventPublisher,
+                balanceHistoryService, accountCache, sharedAccountCache, 120, 100);
+        source = account("1000000001", new BigDecimal("100.00"));
+        target = account("1000000002", BigDecimal.ZERO);
+        transfer = new Transfer(source.getId(), target.getId(), source.getUserId(),
+                new Money(new BigDecimal("30.00"), "USD"), "Rent");
+        ReflectionTestUtils.setField(transfer, "id", UUID.randomUUID());
+        when(transferRepository.findByIdForUpdate(transfer.getId())).thenReturn(Optional.of(transfer));
+    }
+
+    @Test
+    void reservingFundsAnnouncesTheSourceBalances() {
+        when(accountRepository.findByIdForUpdate(source.getId())).thenReturn(Optional.of(source));
+
+        sagaService.handle(new TransferCommand(transfer.getId(), source.getId(), TransferCommand.Step.RESERVE_FUNDS));
+
+        AccountBalanceChangedEvent event = publishedAccountEvent();
+        assertThat(event.getEventType()).isEqualTo("ACCOUNT_BALANCE_CHANGED");
+        assertThat(event.getAccountId()).isEqualTo(source.getId());
+        assertThat(event.getAccountNumber()).isEqualTo("1000000001");
+        assertThat(event.getBalance()).isEqualByComparingTo("100.00");
+        assertThat(event.getAvailableBalance()).isEqualByComparingTo("70.00");
+        verify(accountCache).evictAfterCommit(source.getId(), source.getUserId());
+    }
+
+    @Test
+    void creditingTheTargetAnnouncesItsBalances() {
+        when(accountRepository.findByIdForUpdate(source.getId())).thenReturn(Optional.of(source));
+        when(accountRepository.findByIdForUpdate(target.getId())).thenReturn(Optional.of(target));
+        sagaService.handle(new TransferCommand(transfer.getId(), source.getId(), TransferCommand.Step.RESERVE_FUNDS));
+
+        sagaService.handle(new TransferCommand(transfer.getId(), target.getId(), TransferCommand.Step.CREDIT_TARGET));
+
+        ArgumentCaptor<AccountEvent> events = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(eventPublisher, times(2)).publishAccountEvent(events.capture());
+        AccountBalanceChangedEvent event = (AccountBalanceChangedEvent) events.getAllValues().get(1);
+        assertThat(event.getAccountId()).isEqualTo(target.getId());
+        assertThat(event.getBalance()).isEqualByComparingTo("30.00");
+        assertThat(event.getAvailableBalance()).isEqualByComparingTo("30.00");
+    }
+
+    private AccountBalanceChangedEvent publishedAccountEvent() {
+        ArgumentCaptor<AccountEvent> event = ArgumentCaptor.forClass(AccountEvent.class);
+        verify(eventPublisher).publishAccountEvent(event.capture());
+        return (AccountBalanceChangedEvent) event.getValue();
+    }
+
+    private static Account account(String number, BigDecimal balance) {
+        Account account = new Account(new AccountNumber(number), UUID.randomUUID(), AccountType.CHECKING);
+        ReflectionTestUtils.setField(account, "id", UUID.randomUUID());
+        account.activate();
+        if (balance.signum() > 0) {
+            account.credit(new Money(balance, "USD"));
+        }
+        return account;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.transaction.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops the JVM once the application context has been refreshed, enabled with
+ * spring.context.exit=onRefresh (the property Spring Framework 6.1 uses for the
+ * same purpose).
+ *
+ * Used for the class data sharing training run at image build time: every
+ * singleton has been created, but the web server and Kafka listener containers,
+ * which start in later lifecycle phases, have not. Halting lets
+ * -XX:ArchiveClassesAtExit dump the archive without waiting for a shutdown.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "spring.context.exit", havingValue = "onRefresh")
+public class ExitOnRefreshLifecycle implements SmartLifecycle {
+
+    @Override
+    public void start() {
+        log.info("Application context refreshed, exiting (spring.context.exit=onRefresh)");
+        Runtime.getRuntime().halt(0);
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+        return false;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -2,9 +2,24 @@ package com.banking.transaction.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 
 /**
  * Configuration class for Kafka and JSON processing.
@@ -13,13 +28,104 @@ import org.springframework.kafka.annotation.EnableKafka;
 @EnableKafka
 public class KafkaConfig {
 
+    public static final String ACCOUNT_TRANSACTION_EVENTS_DLT = "banking.transaction.events.DLT";
+
     /**
      * ObjectMapper bean for JSON serialization/deserialization.
+     * Blackbird replaces reflective property access with generated accessors.
      */
     @Bean
     public ObjectMapper objectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new BlackbirdModule());
         return mapper;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Listener container factory delivering whole poll batches, so that
+     * records can be written with batched inserts in one database transaction.
+     * A record the listener reports as failed is retried, then published to
+     * the dead letter topic so the rest of the partition keeps moving.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory,
+            KafkaTemplate<String, String> kafkaTemplate,
+            @Value("${account-events.concurrency:3}") int concurrency,
+            @Value("${account-events.retry-interval-ms:1000}") long retryInterval,
+            @Value("${account-events.retry-attempts:2}") long retryAttempts) {
+        // Negative partition: the DLT may have fewer partitions than the source topic
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(ACCOUNT_TRANSACTION_EVENTS_DLT, -1));
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, new FixedBackOff(retryInterval, retryAttempts)));
+        return factory;
+    }
+
+    /**
+     * Account events that could not be recorded, kept for inspection and replay
+     */
+    @Bean
+    public NewTopic accountTransactionEventsDeadLetterTopic() {
+        return TopicBuilder.name(ACCOUNT_TRANSACTION_EVENTS_DLT)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Listener container factory for the account directory replay. The idle
+     * event tells the directory that the replay has caught up. Offsets are
+     * never committed, since every start replays the topic from the beginning,
+     * so the consumer group keeps no state on the broker.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> accountDirectoryContainerFactory(
+            ConsumerFactory<String, String> consumerFactory,
+            @Value("${account-directory.idle-event-interval-ms:1000}") long idleEventInterval) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.getContainerProperties().setIdleEventInterval(idleEventInterval);
+        // Records are never acknowledged, so nothing is committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for topics every instance consumes in full,
+     * such as cache invalidations. It never commits offsets: the instance
+     * starts from the latest offset each time, and its consumer group keeps no
+     * state on the broker once the instance stops.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> broadcastContainerFactory(
+            ConsumerFactory<String, String> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        // Records are never acknowledged, so nothing is committed
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        return factory;
+    }
+
+    /**
+     * Consumer group of this instance for a listener every instance runs on
+     * the whole topic. Host name and server port tell running instances apart
+     * and stay the same when an instance restarts.
+     */
+    public static String instanceGroupId(String listener, int serverPort) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return listener + "-" + host + "-" + serverPort;
+    }
+}
@@ -0,0 +1,169 @@
+package com.banking.transaction.config;
+
+import com.banking.transaction.domain.valueobject.TransactionReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leases the node id embedded in generated transaction references.
+ *
+ * transaction_reference is not unique in the partitioned transactions table,
+ * so two running instances must never share a node id. On start each instance
+ * claims a node id in transaction_reference_nodes: the configured
+ * transaction-reference.node-id if set, otherwise the lowest free one. A
+ * configured node id that another live instance holds fails the start. The
+ * lease is renewed while the instance runs and released on shutdown; lease
+ * times come from the database clock.
+ *
+ * Runs in an early lifecycle phase, before the Kafka listener containers and
+ * the web server start creating transactions.
+ */
+@Component
+@Slf4j
+public class TransactionReferenceNodeLease implements SmartLifecycle {
+
+    private static final int MAX_NODE_ID = 1023;
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private static final String CLAIM_NODE =
+            "INSERT INTO transaction_reference_nodes (node_id, instance_id, lease_expires_at) " +
+            "VALUES (?, ?, now() + make_interval(secs => ?)) " +
+            "ON CONFLICT (node_id) DO UPDATE SET instance_id = EXCLUDED.instance_id, " +
+            "lease_expires_at = EXCLUDED.lease_expires_at " +
+            "WHERE transaction_reference_nodes.lease_expires_at < now() " +
+            "OR transaction_reference_nodes.instance_id = EXCLUDED.instance_id " +
+            "RETURNING node_id";
+
+    private static final String CLAIM_FREE_NODE =
+            "INSERT INTO transaction_reference_nodes (node_id, instance_id, lease_expires_at) " +
+            "SELECT n, ?, now() + make_interval(secs => ?) FROM generate_series(0, " + MAX_NODE_ID + ") AS n " +
+            "WHERE NOT EXISTS (SELECT 1 FROM transaction_reference_nodes t " +
+            "WHERE t.node_id = n AND t.lease_expires_at >= now()) " +
+            "ORDER BY n LIMIT 1 " +
+            "ON CONFLICT (node_id) DO UPDATE SET instance_id = EXCLUDED.instance_id, " +
+            "lease_expires_at = EXCLUDED.lease_expires_at " +
+            "WHERE transaction_reference_nodes.lease_expires_at < now() " +
+            "RETURNING node_id";
+
+    private static final String RENEW_LEASE =
+            "UPDATE transaction_reference_nodes SET lease_expires_at = now() + make_interval(secs => ?) " +
+            "WHERE node_id = ? AND instance_id = ?";
+
+    private static final String RELEASE_LEASE =
+            "DELETE FROM transaction_reference_nodes WHERE node_id = ? AND instance_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int configuredNodeId;
+    private final int leaseSeconds;
+    private final String instanceId;
+
+    private volatile int nodeId = -1;
+
+    public TransactionReferenceNodeLease(JdbcTemplate jdbcTemplate,
+                                         @Value("${transaction-reference.node-id:-1}") int configuredNodeId,
+                                         @Value("${transaction-reference.lease-seconds:60}") int leaseSeconds) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("transaction-reference.node-id must be between 0 and "
+                    + MAX_NODE_ID + ": " + configuredNodeId);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuredNodeId = configuredNodeId;
+        this.leaseSeconds = leaseSeconds;
+        this.instanceId = hostname() + "/" + UUID.randomUUID();
+    }
+
+    @Override
+    public void start() {
+        int claimed = configuredNodeId >= 0 ? claimConfigured() : claimFree();
+        TransactionReference.useNodeId(claimed);
+        nodeId = claimed;
+        log.info("Transaction references will be generated with node id {} (instance {})", claimed, instanceId);
+    }
+
+    @Override
+    public void stop() {
+        int current = nodeId;
+        nodeId = -1;
+        if (current >= 0) {
+            try {
+                jdbcTemplate.update(RELEASE_LEASE, current, instanceId);
+            } catch (Exception e) {
+                log.warn("Could not release transaction reference node id {}, it frees up when the lease expires", current, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return nodeId >= 0;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    /**
+     * Renews the lease well before it expires. If the lease was lost, for
+     * example after the database was unreachable for longer than the lease,
+     * the instance moves to a node id that is free now.
+     */
+    @Scheduled(fixedDelayString = "#{${transaction-reference.lease-seconds:60} * 1000 / 3}")
+    public void renewLease() {
+        int current = nodeId;
+        if (current < 0) {
+            return;
+        }
+        try {
+            if (jdbcTemplate.update(RENEW_LEASE, leaseSeconds, current, instanceId) == 0) {
+                log.error("Lost the lease on transaction reference node id {}, claiming a new one", current);
+                int claimed = claimFree();
+                TransactionReference.useNodeId(claimed);
+                nodeId = claimed;
+                log.info("Transaction references will be generated with node id {}", claimed);
+            }
+        } catch (Exception e) {
+            log.warn("Could not renew the lease on transaction reference node id {}", current, e);
+        }
+    }
+
+    private int claimConfigured() {
+        List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_NODE, Integer.class,
+                configuredNodeId, instanceId, leaseSeconds);
+        if (claimed.isEmpty()) {
+            throw new IllegalStateException("Transaction reference node id " + configuredNodeId
+                    + " is leased by another running instance; give every instance a distinct"
+                    + " TRANSACTION_NODE_ID or leave it unset to claim a free one");
+        }
+        return claimed.get(0);
+    }
+
+    private int claimFree() {
+        // Concurrent claims of the same id return no row for the loser, who retries
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_FREE_NODE, Integer.class,
+                    instanceId, leaseSeconds);
+            if (!claimed.isEmpty()) {
+                return claimed.get(0);
+            }
+        }
+        throw new IllegalStateException("No free transaction reference node id (0-" + MAX_NODE_ID + ")");
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -3,19 +3,40 @@ package com.banking.transaction.controller;
 import com.banking.transaction.domain.entity.TransactionStatus;
 import com.banking.transaction.domain.entity.TransactionType;
 import com.banking.transaction.dto.CreateTransactionRequest;
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.StatementFormat;
 import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.dto.TransactionSearchCriteria;
+import com.banking.transaction.dto.TransactionSummaryDto;
+import com.banking.transaction.service.DuplicateExternalReferenceException;
+import com.banking.transaction.service.TransactionExportService;
 import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import com.banking.transaction.service.TransactionVersionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for transaction operations.
@@ -28,16 +49,25 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionVersionCache transactionVersionCache;
 
     /**
      * Creates a new transaction.
      */
     @PostMapping
     public ResponseEntity<TransactionDto> createTransaction(@Valid @RequestBody CreateTransactionRequest request) {
-        log.info("Creating transaction request: {}", request);
-        TransactionDto transaction = transactionService.createTransaction(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+        log.debug("Creating transaction request: {}", request);
+        try {
+            TransactionDto transaction = transactionService.createTransaction(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+        } catch (DuplicateExternalReferenceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -45,7 +75,7 @@ public class TransactionController {
      */
     @GetMapping("/{transactionId}")
     public ResponseEntity<TransactionDto> getTransaction(@PathVariable UUID transactionId) {
-        log.info("Getting transaction: {}", transactionId);
+        log.debug("Getting transaction: {}", transactionId);
         TransactionDto transaction = transactionService.getTransaction(transactionId);
         return ResponseEntity.ok(transaction);
     }
@@ -55,7 +85,7 @@ public class TransactionController {
      */
     @GetMapping("/reference/{reference}")
     public ResponseEntity<TransactionDto> getTransactionByReference(@PathVariable String reference) {
-        log.info("Getting transaction by reference: {}", reference);
+        log.debug("Getting transaction by reference: {}", reference);
         TransactionDto transaction = transactionService.getTransactionByReference(reference);
         return ResponseEntity.ok(transaction);
     }
@@ -67,23 +97,67 @@ public class TransactionController {
     public ResponseEntity<Page<TransactionDto>> getAccountTransactions(
             @PathVariable UUID accountId,
             Pageable pageable) {
-        log.info("Getting transactions for account: {}", accountId);
+        log.debug("Getting transactions for account: {}", accountId);
         Page<TransactionDto> transactions = transactionService.getAccountTransactions(accountId, pageable);
         return ResponseEntity.ok(transactions);
     }
 
     /**
-     * Retrieves transactions by status.
+     * Retrieves transactions for an account using a keyset cursor (no total count).
+     */
+    @GetMapping("/account/{accountId}/cursor")
+    public ResponseEntity<CursorPage<TransactionDto>> getAccountTransactionsByCursor(
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting transactions for account: {} after cursor {}", accountId, cursor);
+        try {
+            CursorPage<TransactionDto> transactions = transactionService.getAccountTransactionsAfter(
+                    accountId, cursor, clampPageSize(size));
+            return ResponseEntity.ok(transactions);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams an account statement as NDJSON or CSV, gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/account/{accountId}/statement")
+    public ResponseEntity<StreamingResponseBody> exportAccountStatement(
+            @PathVariable UUID accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Exporting statement for account {} from {} to {} as {}", accountId, startDate, endDate, format);
+        try {
+            StatementFormat statementFormat = StatementFormat.valueOf(format.toUpperCase());
+            return statement("account-" + accountId, statementFormat, acceptEncoding,
+                    out -> transactionExportService.exportAccountStatement(accountId, startDate, endDate, statementFormat, out));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid statement format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves transactions by status, oldest first, one bounded page at a time.
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<TransactionDto>> getTransactionsByStatus(@PathVariable String status) {
-        log.info("Getting transactions by status: {}", status);
+    public ResponseEntity<CursorPage<TransactionDto>> getTransactionsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Getting transactions by status: {} after cursor {}", status, cursor);
         try {
             TransactionStatus transactionStatus = TransactionStatus.valueOf(status.toUpperCase());
-            List<TransactionDto> transactions = transactionService.getTransactionsByStatus(transactionStatus);
+            CursorPage<TransactionDto> transactions = transactionService.getTransactionsByStatus(
+                    transactionStatus, cursor, clampPageSize(size));
             return ResponseEntity.ok(transactions);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid transaction status: {}", status);
+            log.error("Invalid transaction status or cursor: {} / {}", status, cursor);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -93,7 +167,7 @@ public class TransactionController {
      */
     @PostMapping("/{transactionId}/process")
     public ResponseEntity<TransactionDto> processTransaction(@PathVariable UUID transactionId) {
-        log.info("Processing transaction: {}", transactionId);
+        log.debug("Processing transaction: {}", transactionId);
         try {
             TransactionDto transaction = transactionService.processTransaction(transactionId);
             return ResponseEntity.ok(transaction);
@@ -108,7 +182,7 @@ public class TransactionController {
      */
     @PostMapping("/{transactionId}/complete")
     public ResponseEntity<TransactionDto> completeTransaction(@PathVariable UUID transactionId) {
-        log.info("Completing transaction: {}", transactionId);
+        log.debug("Completing transaction: {}", transactionId);
         try {
             TransactionDto transaction = transactionService.completeTransaction(transactionId);
             return ResponseEntity.ok(transaction);
@@ -125,7 +199,7 @@ public class TransactionController {
     public ResponseEntity<TransactionDto> failTransaction(
             @PathVariable UUID transactionId,
             @RequestParam String reason) {
-        log.info("Failing transaction: {} with reason: {}", transactionId, reason);
+        log.debug("Failing transaction: {} with reason: {}", transactionId, reason);
         try {
             TransactionDto transaction = transactionService.failTransaction(transactionId, reason);
             return ResponseEntity.ok(transaction);
@@ -140,7 +214,7 @@ public class TransactionController {
      */
     @PostMapping("/{transactionId}/cancel")
     public ResponseEntity<TransactionDto> cancelTransaction(@PathVariable UUID transactionId) {
-        log.info("Cancelling transaction: {}", transactionId);
+        log.debug("Cancelling transaction: {}", transactionId);
         try {
             TransactionDto transaction = transactionService.cancelTransaction(transactionId);
             return ResponseEntity.ok(transaction);
@@ -155,7 +229,7 @@ public class TransactionController {
      */
     @PostMapping("/{transactionId}/reverse")
     public ResponseEntity<TransactionDto> reverseTransaction(@PathVariable UUID transactionId) {
-        log.info("Reversing transaction: {}", transactionId);
+        log.debug("Reversing transaction: {}", transactionId);
         try {
             TransactionDto transaction = transactionService.reverseTransaction(transactionId);
             return ResponseEntity.ok(transaction);
@@ -166,11 +240,11 @@ public class TransactionController {
     }
 
     /**
-     * Retrieves pending transactions older than specified hours.
+     * Retrieves pending transactions older than specified hours (oldest first, at most 1000).
      */
     @GetMapping("/pending/older-than/{hours}")
     public ResponseEntity<List<TransactionDto>> getPendingTransactionsOlderThan(@PathVariable int hours) {
-        log.info("Getting pending transactions older than {} hours", hours);
+        log.debug("Getting pending transactions older than {} hours", hours);
         List<TransactionDto> transactions = transactionService.getPendingTransactionsOlderThan(hours);
         return ResponseEntity.ok(transactions);
     }
@@ -181,10 +255,95 @@ public class TransactionController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<TransactionDto>> getUserTransactions(
             @PathVariable UUID userId,
-            Pageable pageable) {
-        log.info("Getting transaction history for user: {}", userId);
-        Page<TransactionDto> transactions = transactionService.getUserTransactions(userId, pageable);
-        return ResponseEntity.ok(transactions);
+            Pageable pageable,
+            WebRequest webRequest) {
+        log.debug("Getting transaction history for user: {}", userId);
+        return conditional(webRequest, userId, () -> transactionService.getUserTransactions(userId, pageable));
+    }
+
+    /**
+     * Retrieves transaction history for a user using a keyset cursor (no total count).
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorPage<TransactionDto>> getUserTransactionsByCursor(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        log.debug("Getting transaction history for user: {} after cursor {}", userId, cursor);
+        try {
+            return conditional(webRequest, userId,
+                    () -> transactionService.getUserTransactionsAfter(userId, cursor, clampPageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Streams a user statement as NDJSON or CSV, gzip-compressed when the client accepts it.
+     */
+    @GetMapping("/user/{userId}/statement")
+    public ResponseEntity<StreamingResponseBody> exportUserStatement(
+            @PathVariable UUID userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Exporting statement for user {} from {} to {} as {}", userId, startDate, endDate, format);
+        try {
+            StatementFormat statementFormat = StatementFormat.valueOf(format.toUpperCase());
+            return statement("user-" + userId, statementFormat, acceptEncoding,
+                    out -> transactionExportService.exportUserStatement(userId, startDate, endDate, statementFormat, out));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid statement format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Searches a user's transactions by description text, counterparty account, date and amount range.
+     */
+    @GetMapping("/user/{userId}/search")
+    public ResponseEntity<CursorPage<TransactionDto>> searchUserTransactions(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) UUID counterparty,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        log.debug("Searching transactions for user {} with text '{}'", userId, q);
+        TransactionSearchCriteria criteria = TransactionSearchCriteria.builder()
+                .userId(userId)
+                .text(q)
+                .counterpartyAccountId(counterparty)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .build();
+        try {
+            return conditional(webRequest, userId,
+                    () -> transactionService.searchUserTransactions(criteria, cursor, clampPageSize(size)));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves a user's transaction counts by status and this month's totals by type.
+     */
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<TransactionSummaryDto> getUserSummary(@PathVariable UUID userId, WebRequest webRequest) {
+        log.debug("Getting transaction summary for user: {}", userId);
+        // The summary also covers the current month, so the month is part of its version
+        return conditional(webRequest, userId, () -> transactionSummaryService.getUserSummary(userId),
+                YearMonth.now());
     }
 
     /**
@@ -194,12 +353,13 @@ public class TransactionController {
     public ResponseEntity<Page<TransactionDto>> getUserTransactionsByStatus(
             @PathVariable UUID userId,
             @PathVariable String status,
-            Pageable pageable) {
-        log.info("Getting transactions for user {} with status {}", userId, status);
+            Pageable pageable,
+            WebRequest webRequest) {
+        log.debug("Getting transactions for user {} with status {}", userId, status);
         try {
             TransactionStatus transactionStatus = TransactionStatus.valueOf(status.toUpperCase());
-            Page<TransactionDto> transactions = transactionService.getUserTransactionsByStatus(userId, transactionStatus, pageable);
-            return ResponseEntity.ok(transactions);
+            return conditional(webRequest, userId,
+                    () -> transactionService.getUserTransactionsByStatus(userId, transactionStatus, pageable));
         } catch (IllegalArgumentException e) {
             log.error("Invalid transaction status: {}", status);
             return ResponseEntity.badRequest().build();
@@ -213,15 +373,74 @@ public class TransactionController {
     public ResponseEntity<Page<TransactionDto>> getUserTransactionsByType(
             @PathVariable UUID userId,
             @PathVariable String type,
-            Pageable pageable) {
-        log.info("Getting transactions for user {} with type {}", userId, type);
+            Pageable pageable,
+            WebRequest webRequest) {
+        log.debug("Getting transactions for user {} with type {}", userId, type);
         try {
             TransactionType transactionType = TransactionType.valueOf(type.toUpperCase());
-            Page<TransactionDto> transactions = transactionService.getUserTransactionsByType(userId, transactionType, pageable);
-            return ResponseEntity.ok(transactions);
+            return conditional(webRequest, userId,
+                    () -> transactionService.getUserTransactionsByType(userId, transactionType, pageable));
         } catch (IllegalArgumentException e) {
             log.error("Invalid transaction type: {}", type);
             return ResponseEntity.badRequest().build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Serves a user read with a strong ETag built from the user's transaction
+     * version and the request URI and parameters.
+     *
+     * If-None-Match is first compared with the cached version; on a match the
+     * response is a 304 without querying or serializing. Otherwise the body and
+     * its version are read from one snapshot, so the ETag always describes the
+     * body it is sent with, and Spring still answers 304 if that ETag matches.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, UUID userId, Supplier<T> read,
+                                              Object... variant) {
+        String parameters = new TreeMap<>(webRequest.getParameterMap()).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+                .collect(Collectors.joining("&"));
+        String representation = Integer.toHexString(
+                Objects.hash(webRequest.getDescription(false), parameters, List.of(variant)));
+
+        String cachedEtag = etag(transactionVersionCache.getVersion(userId), representation);
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // checkNotModified also sets the ETag header, so it is only called on a match
+        if (ifNoneMatch != null && ifNoneMatch.contains(cachedEtag) && webRequest.checkNotModified(cachedEtag)) {
+            return null;
+        }
+        TransactionVersionCache.Snapshot<T> snapshot = transactionVersionCache.readSnapshot(userId, read);
+        return ResponseEntity.ok()
+                .eTag(etag(snapshot.getVersion(), representation))
+                .body(snapshot.getContent());
+    }
+
+    private static String etag(String version, String representation) {
+        return "\"" + version + "-" + representation + "\"";
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private ResponseEntity<StreamingResponseBody> statement(String name, StatementFormat format,
+                                                            String acceptEncoding, StreamingResponseBody body) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"statement-" + name + "." + format.getFileExtension() + "\"");
+        if (!gzip) {
+            return response.body(body);
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(out -> {
+                    // Closing finishes the gzip trailer and frees the native deflater even when writing fails
+                    try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+                        body.writeTo(compressed);
+                    }
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.transaction.domain.entity;
+
+import javax.persistence.*;
+
+/**
+ * Last Kafka offset whose effects have been committed to the database, per topic partition.
+ * Updated in the same database transaction as the rows created from the records,
+ * so records redelivered after a crash or rebalance are skipped.
+ */
+@Entity
+@Table(name = "consumed_offsets")
+public class ConsumedOffset {
+
+    @Id
+    @Column(name = "topic_partition", length = 255)
+    private String topicPartition;
+
+    @Column(name = "last_offset", nullable = false)
+    private long lastOffset;
+
+    protected ConsumedOffset() {
+        // JPA requires default constructor
+    }
+
+    public ConsumedOffset(String topicPartition, long lastOffset) {
+        this.topicPartition = topicPartition;
+        this.lastOffset = lastOffset;
+    }
+
+    public static String key(String topic, int partition) {
+        return topic + "-" + partition;
+    }
+
+    public boolean isProcessed(long offset) {
+        return offset <= lastOffset;
+    }
+
+    public void advanceTo(long offset) {
+        if (offset > lastOffset) {
+            this.lastOffset = offset;
+        }
+    }
+
+    public String getTopicPartition() {
+        return topicPartition;
+    }
+
+    public long getLastOffset() {
+        return lastOffset;
+    }
+}
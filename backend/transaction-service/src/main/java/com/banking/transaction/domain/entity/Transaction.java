@@ -25,8 +25,8 @@ import java.util.UUID;
 public class Transaction {
 
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = "com.banking.transaction.domain.id.UuidV7Generator")
     @Column(columnDefinition = "UUID")
     private UUID id;
 
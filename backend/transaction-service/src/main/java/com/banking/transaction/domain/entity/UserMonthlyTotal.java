@@ -0,0 +1,107 @@
+package com.banking.transaction.domain.entity;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Completed transaction count and amount per user, month, type and currency.
+ * A reversal is taken back out of the month in which the transaction completed.
+ */
+@Entity
+@Table(name = "user_monthly_totals")
+@IdClass(UserMonthlyTotal.Key.class)
+public class UserMonthlyTotal {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    /**
+     * First day of the month.
+     */
+    @Id
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType type;
+
+    @Id
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    protected UserMonthlyTotal() {
+        // JPA requires default constructor
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * Composite primary key (user_id, month, transaction_type, currency).
+     */
+    public static class Key implements Serializable {
+
+        private UUID userId;
+        private LocalDate month;
+        private TransactionType type;
+        private String currency;
+
+        public Key() {
+        }
+
+        public Key(UUID userId, LocalDate month, TransactionType type, String currency) {
+            this.userId = userId;
+            this.month = month;
+            this.type = type;
+            this.currency = currency;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(month, key.month)
+                    && type == key.type && Objects.equals(currency, key.currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, month, type, currency);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.banking.transaction.domain.entity;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Number of a user's transactions currently in a status.
+ * Maintained in the same database transaction as every status change.
+ */
+@Entity
+@Table(name = "user_status_counts")
+@IdClass(UserStatusCount.Key.class)
+public class UserStatusCount {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    protected UserStatusCount() {
+        // JPA requires default constructor
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Composite primary key (user_id, status).
+     */
+    public static class Key implements Serializable {
+
+        private UUID userId;
+        private TransactionStatus status;
+
+        public Key() {
+        }
+
+        public Key(UUID userId, TransactionStatus status) {
+            this.userId = userId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, status);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.banking.transaction.domain.valueobject;
 import javax.persistence.Embeddable;
 import javax.validation.constraints.NotNull;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Value object representing a transaction reference number.
@@ -12,6 +11,8 @@ import java.util.UUID;
 @Embeddable
 public class TransactionReference {
     
+    private static volatile TransactionReferenceGenerator generator;
+    
     @NotNull
     private String value;
     
@@ -27,7 +28,21 @@ public class TransactionReference {
     }
     
     public static TransactionReference generate() {
-        return new TransactionReference("TXN-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase());
+        TransactionReferenceGenerator current = generator;
+        if (current == null) {
+            throw new IllegalStateException("No node id has been leased for transaction references yet");
+        }
+        TransactionReference reference = new TransactionReference();
+        reference.value = current.nextReference();
+        return reference;
+    }
+    
+    /**
+     * Sets the node id used for generated references.
+     * Every running instance must use a distinct node id, see TransactionReferenceNodeLease.
+     */
+    public static void useNodeId(int nodeId) {
+        generator = new TransactionReferenceGenerator(nodeId);
     }
     
     public static TransactionReference of(String value) {
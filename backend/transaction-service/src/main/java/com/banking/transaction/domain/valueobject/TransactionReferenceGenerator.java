@@ -0,0 +1,77 @@
+package com.banking.transaction.domain.valueobject;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, time-ordered generator for transaction reference numbers.
+ *
+ * Each reference packs a Snowflake-style 63-bit id into 13 Crockford base32
+ * characters: 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of
+ * node id and a 12-bit per-node sequence. The encoding is fixed width and the
+ * alphabet is in ASCII order, so references sort by creation time.
+ */
+public final class TransactionReferenceGenerator {
+
+    public static final String PREFIX = "TXN-";
+
+    /** 2024-01-01T00:00:00Z; leaves roughly 69 years of timestamp space. */
+    static final long EPOCH_MILLIS = 1704067200000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+
+    /**
+     * Last issued (timestamp << SEQUENCE_BITS | sequence) pair. When the
+     * sequence is exhausted within a millisecond the next id borrows the
+     * following millisecond instead of spinning, which also keeps ids
+     * monotonic if the wall clock steps backwards.
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TransactionReferenceGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Returns the next raw 63-bit id.
+     */
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = lastState.get();
+            next = Math.max(prev + 1, now);
+        } while (!lastState.compareAndSet(prev, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    /**
+     * Returns the next reference string, e.g. {@code TXN-01HV3K8Z2Q0A4}.
+     */
+    public String nextReference() {
+        return encode(nextId());
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
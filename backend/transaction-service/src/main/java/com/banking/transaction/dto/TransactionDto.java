@@ -1,5 +1,8 @@
 package com.banking.transaction.dto;
 
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.domain.entity.TransactionType;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -42,4 +45,43 @@ public class TransactionDto {
     private LocalDateTime processedAt;
     
     private String failureReason;
-} 
\ No newline at end of file
+
+    /** Account numbers from the local account directory; null when the account is unknown there. */
+    private String sourceAccountNumber;
+    private String targetAccountNumber;
+
+    /**
+     * Constructor used by JPQL projections, which select enum columns as enums.
+     */
+    public TransactionDto(UUID id, String reference, TransactionType type, TransactionStatus status,
+                          BigDecimal amount, String currency, UUID sourceAccountId, UUID targetAccountId,
+                          String description, String externalReference, UUID userId, LocalDateTime createdAt,
+                          LocalDateTime updatedAt, LocalDateTime processedAt, String failureReason) {
+        this(id, reference, type.name(), status.name(), amount, currency, sourceAccountId, targetAccountId,
+                description, externalReference, userId, createdAt, updatedAt, processedAt, failureReason,
+                null, null);
+    }
+
+    /**
+     * Maps a Transaction entity to its DTO.
+     */
+    public static TransactionDto from(Transaction transaction) {
+        return TransactionDto.builder()
+                .id(transaction.getId())
+                .reference(transaction.getReference().getValue())
+                .type(transaction.getType().name())
+                .status(transaction.getStatus().name())
+                .amount(transaction.getAmount().getAmount())
+                .currency(transaction.getAmount().getCurrency())
+                .sourceAccountId(transaction.getSourceAccountId())
+                .targetAccountId(transaction.getTargetAccountId())
+                .description(transaction.getDescription())
+                .externalReference(transaction.getExternalReference())
+                .userId(transaction.getUserId())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .processedAt(transaction.getProcessedAt())
+                .failureReason(transaction.getFailureReason())
+                .build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.banking.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters for searching a user's transaction history.
+ * Every field except userId is optional.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchCriteria {
+
+    private UUID userId;
+
+    /**
+     * Case-insensitive substring of the description.
+     */
+    private String text;
+
+    /**
+     * Account on the other side of the transaction (source or target).
+     */
+    private UUID counterpartyAccountId;
+
+    private LocalDateTime fromDate;
+    private LocalDateTime toDate;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+}
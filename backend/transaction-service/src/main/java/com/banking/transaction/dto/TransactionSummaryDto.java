@@ -0,0 +1,39 @@
+package com.banking.transaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-user transaction summary served from precomputed counters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummaryDto {
+
+    private UUID userId;
+    private Map<String, Long> countsByStatus;
+    private String month;
+    private List<TypeTotal> monthlyTotals;
+
+    /**
+     * Completed transactions of one type and currency within the month.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypeTotal {
+        private String type;
+        private String currency;
+        private long count;
+        private BigDecimal totalAmount;
+    }
+}
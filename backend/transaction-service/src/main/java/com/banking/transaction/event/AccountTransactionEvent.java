@@ -0,0 +1,42 @@
+package com.banking.transaction.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Posting event published by the account service to banking.transaction.events.
+ * Covers MONEY_DEPOSITED, MONEY_WITHDRAWN, TRANSFER_COMPLETED and TRANSFER_FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AccountTransactionEvent {
+
+    public static final String MONEY_DEPOSITED = "MONEY_DEPOSITED";
+    public static final String MONEY_WITHDRAWN = "MONEY_WITHDRAWN";
+    public static final String TRANSFER_COMPLETED = "TRANSFER_COMPLETED";
+
+    private String eventId;
+    private String eventType;
+    private UUID accountId;
+    private UUID userId;
+    private UUID transferId;
+    private UUID targetAccountId;
+    private BigDecimal amount;
+    private String currency;
+    private BigDecimal balanceAfter;
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime timestamp;
+}
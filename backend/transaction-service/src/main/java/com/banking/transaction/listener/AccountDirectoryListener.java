@@ -0,0 +1,90 @@
+package com.banking.transaction.listener;
+
+import com.banking.transaction.service.AccountDirectory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Feeds the local account directory from banking.account.events.
+ *
+ * Every instance uses a consumer group of its own, commits nothing and
+ * replays the topic from the beginning on assignment, so the directory is
+ * complete after a restart.
+ * The directory is marked ready the first time the container goes idle,
+ * i.e. once the replay has caught up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountDirectoryListener extends AbstractConsumerSeekAware {
+
+    public static final String ACCOUNT_EVENTS_TOPIC = "banking.account.events";
+    public static final String LISTENER_ID = "account-directory";
+
+    private final AccountDirectory accountDirectory;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(id = LISTENER_ID, topics = ACCOUNT_EVENTS_TOPIC,
+                   groupId = "#{T(com.banking.transaction.config.KafkaConfig).instanceGroupId('transaction-account-directory', ${server.port:8081})}",
+                   containerFactory = "accountDirectoryContainerFactory",
+                   properties = "enable.auto.commit=false")
+    public void onEvent(String message) {
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable account event");
+            return;
+        }
+
+        UUID accountId = uuid(event.path("accountId"));
+        UUID userId = uuid(event.path("userId"));
+        if (accountId == null || userId == null) {
+            return;
+        }
+
+        AccountDirectory.Entry current = accountDirectory.find(accountId).orElse(null);
+        accountDirectory.put(accountId, userId,
+                text(event.path("accountNumber"), current != null ? current.getAccountNumber() : null),
+                text(event.path("status"), current != null ? current.getStatus() : "ACTIVE"),
+                text(event.path("currency"), current != null ? current.getCurrency() : null));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        accountDirectory.markReady();
+    }
+
+    private static UUID uuid(JsonNode value) {
+        if (!value.isTextual()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.asText());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String text(JsonNode value, String fallback) {
+        return value.isTextual() ? value.asText() : fallback;
+    }
+}
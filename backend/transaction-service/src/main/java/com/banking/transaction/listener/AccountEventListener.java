@@ -0,0 +1,52 @@
+package com.banking.transaction.listener;
+
+import com.banking.transaction.service.TransactionEventIngestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumes posting events from the account service and records them as transactions.
+ *
+ * When a batch fails, its records are ingested again one by one to find the
+ * failing record. Records before it are committed, and the error handler
+ * retries the failing record and dead-letters it if it keeps failing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountEventListener {
+
+    public static final String ACCOUNT_TRANSACTION_EVENTS_TOPIC = "banking.transaction.events";
+
+    private final TransactionEventIngestionService ingestionService;
+
+    @KafkaListener(topics = ACCOUNT_TRANSACTION_EVENTS_TOPIC, containerFactory = "batchKafkaListenerContainerFactory")
+    public void onEvents(List<ConsumerRecord<String, String>> records) {
+        int created;
+        try {
+            created = ingestionService.ingest(records);
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} account events failed, ingesting record by record: {}", records.size(), e.getMessage());
+            created = ingestOneByOne(records);
+        }
+        log.debug("Processed batch of {} account events, created {} transactions", records.size(), created);
+    }
+
+    private int ingestOneByOne(List<ConsumerRecord<String, String>> records) {
+        int created = 0;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                created += ingestionService.ingest(List.of(records.get(i)));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to ingest account event", e, i);
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.transaction.listener;
+
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.TransactionVersionCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Drops cached ETag versions when any instance changes a user's transactions.
+ * Each instance consumes in a consumer group of its own from the latest
+ * offset and commits nothing, so restarts leave no groups behind.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionVersionInvalidationListener {
+
+    private final TransactionVersionCache transactionVersionCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = EventPublisherService.TRANSACTION_EVENTS_TOPIC,
+                   groupId = "#{T(com.banking.transaction.config.KafkaConfig).instanceGroupId('transaction-etag', ${server.port:8081})}",
+                   containerFactory = "broadcastContainerFactory",
+                   properties = {"auto.offset.reset=latest", "enable.auto.commit=false"})
+    public void onEvent(String message) {
+        try {
+            JsonNode userId = objectMapper.readTree(message).path("userId");
+            if (userId.isTextual()) {
+                transactionVersionCache.invalidate(UUID.fromString(userId.asText()));
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.debug("Ignoring unreadable transaction event for ETag invalidation");
+        }
+    }
+}
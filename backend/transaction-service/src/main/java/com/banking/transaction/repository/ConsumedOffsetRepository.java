@@ -0,0 +1,12 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.ConsumedOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for consumed Kafka offsets.
+ */
+@Repository
+public interface ConsumedOffsetRepository extends JpaRepository<ConsumedOffset, String> {
+}
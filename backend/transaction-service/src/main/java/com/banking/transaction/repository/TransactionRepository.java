@@ -4,17 +4,24 @@ import com.banking.transaction.domain.entity.Transaction;
 import com.banking.transaction.domain.entity.TransactionStatus;
 import com.banking.transaction.domain.entity.TransactionType;
 import com.banking.transaction.domain.valueobject.TransactionReference;
+import com.banking.transaction.dto.TransactionDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Transaction entities.
@@ -23,6 +30,27 @@ import java.util.UUID;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
+    /**
+     * Branches of the account history union, each served by its own (account, created_at, id) index.
+     */
+    String SOURCE_BRANCH = "SELECT t.* FROM transactions t WHERE t.from_account_id = :accountId";
+    String TARGET_BRANCH = "SELECT t.* FROM transactions t WHERE t.to_account_id = :accountId " +
+                           "AND t.from_account_id IS DISTINCT FROM :accountId";
+
+    /**
+     * Newest-first order and limit applied inside each branch of a paged union. Without it
+     * Postgres does not merge the branches in index order but reads and sorts the whole account.
+     */
+    String BRANCH_PAGE = " ORDER BY t.created_at DESC, t.id DESC LIMIT :limit";
+
+    /**
+     * Constructor projection used by list reads, so rows are never hydrated into managed entities.
+     */
+    String DTO_SELECT = "SELECT new com.banking.transaction.dto.TransactionDto(t.id, t.reference.value, t.type, " +
+                        "t.status, t.amount.amount, t.amount.currency, t.sourceAccountId, t.targetAccountId, " +
+                        "t.description, t.externalReference, t.userId, t.createdAt, t.updatedAt, t.processedAt, " +
+                        "t.failureReason) FROM Transaction t ";
+
     /**
      * Find transaction by reference number.
      */
@@ -40,14 +68,48 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
 
     /**
      * Find transactions by either source or target account ID.
+     * Written as a UNION ALL of the two per-column index scans so Postgres can
+     * merge them in created_at order instead of a bitmap OR followed by a sort.
+     * The target branch skips rows already returned by the source branch.
+     * The pageable must not carry a sort, the order is fixed by the query;
+     * limit is the pageable's offset plus its page size.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(value = "SELECT h.* FROM ((" + SOURCE_BRANCH + BRANCH_PAGE + ") UNION ALL " +
+                   "(" + TARGET_BRANCH + BRANCH_PAGE + ")) h " +
+                   "ORDER BY h.created_at DESC, h.id DESC",
+           countQuery = "SELECT (SELECT COUNT(*) FROM transactions t WHERE t.from_account_id = :accountId) + " +
+                        "(SELECT COUNT(*) FROM transactions t WHERE t.to_account_id = :accountId " +
+                        "AND t.from_account_id IS DISTINCT FROM :accountId)",
+           nativeQuery = true)
+    Page<Transaction> findByAccountId(@Param("accountId") UUID accountId, @Param("limit") long limit,
+                                      Pageable pageable);
+
+    /**
+     * Loads a transaction and locks its row until the surrounding transaction ends,
+     * so concurrent status changes see each other's result.
      */
-    @Query("SELECT t FROM Transaction t WHERE t.sourceAccountId = :accountId OR t.targetAccountId = :accountId ORDER BY t.createdAt DESC")
-    Page<Transaction> findByAccountId(@Param("accountId") UUID accountId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :transactionId")
+    Optional<Transaction> findByIdForUpdate(@Param("transactionId") UUID transactionId);
 
     /**
-     * Find transactions by status.
+     * First page of transactions in a status, oldest first.
+     * Served by the per-status partial index on (created_at, id).
      */
-    List<Transaction> findByStatusOrderByCreatedAtAsc(TransactionStatus status);
+    @Query(DTO_SELECT + "WHERE t.status = :status ORDER BY t.createdAt, t.id")
+    List<TransactionDto> findByStatusPage(@Param("status") TransactionStatus status, Pageable pageable);
+
+    /**
+     * Next page of transactions in a status after the given (createdAt, id) position.
+     */
+    @Query(DTO_SELECT + "WHERE t.status = :status " +
+           "AND t.createdAt >= :createdAt AND (t.createdAt > :createdAt OR t.id > :id) " +
+           "ORDER BY t.createdAt, t.id")
+    List<TransactionDto> findByStatusPageAfter(@Param("status") TransactionStatus status,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id,
+                                            Pageable pageable);
 
     /**
      * Find transactions by type and status.
@@ -57,34 +119,93 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     /**
      * Find pending transactions older than specified time.
      */
-    @Query("SELECT t FROM Transaction t WHERE t.status = 'PENDING' AND t.createdAt < :threshold")
-    List<Transaction> findPendingTransactionsOlderThan(@Param("threshold") LocalDateTime threshold);
+    @Query("SELECT t FROM Transaction t WHERE t.status = 'PENDING' AND t.createdAt < :threshold ORDER BY t.createdAt, t.id")
+    List<Transaction> findPendingTransactionsOlderThan(@Param("threshold") LocalDateTime threshold, Pageable pageable);
 
     /**
      * Find transactions by external reference.
      */
     Optional<Transaction> findByExternalReference(String externalReference);
 
+    /**
+     * Claim an external reference. Fails with a unique violation if it was claimed before;
+     * transactions is partitioned, so it cannot enforce the uniqueness itself.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_external_references (external_reference) VALUES (:externalReference)",
+           nativeQuery = true)
+    int claimExternalReference(@Param("externalReference") String externalReference);
+
+    /**
+     * Claim an external reference unless it was claimed before. Returns 0 if it was.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_external_references (external_reference) VALUES (:externalReference) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int claimExternalReferenceIfAbsent(@Param("externalReference") String externalReference);
+
+    /**
+     * True if the external reference has been claimed, even by a transaction
+     * that is no longer readable because its partition was detached.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM transaction_external_references " +
+                   "WHERE external_reference = :externalReference)",
+           nativeQuery = true)
+    boolean isExternalReferenceClaimed(@Param("externalReference") String externalReference);
+
+    /**
+     * Stream all external references, used to warm up the dedupe filter.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT t.externalReference FROM Transaction t WHERE t.externalReference IS NOT NULL")
+    Stream<String> streamAllExternalReferences();
+
     /**
      * Find transactions between dates for an account.
      */
-    @Query("SELECT t FROM Transaction t WHERE (t.sourceAccountId = :accountId OR t.targetAccountId = :accountId) " +
-           "AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(value = "SELECT h.* FROM (" +
+                   SOURCE_BRANCH + " AND t.created_at BETWEEN :startDate AND :endDate UNION ALL " +
+                   TARGET_BRANCH + " AND t.created_at BETWEEN :startDate AND :endDate) h " +
+                   "ORDER BY h.created_at DESC, h.id DESC",
+           nativeQuery = true)
     List<Transaction> findByAccountIdAndDateRange(@Param("accountId") UUID accountId, 
                                                   @Param("startDate") LocalDateTime startDate, 
                                                   @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Stream an account statement oldest first through a forward-only cursor.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(value = "SELECT h.* FROM (" +
+                   SOURCE_BRANCH + " AND t.created_at BETWEEN :startDate AND :endDate UNION ALL " +
+                   TARGET_BRANCH + " AND t.created_at BETWEEN :startDate AND :endDate) h " +
+                   "ORDER BY h.created_at, h.id",
+           nativeQuery = true)
+    Stream<Transaction> streamAccountStatement(@Param("accountId") UUID accountId,
+                                               @Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+
     /**
      * Count transactions by status for an account.
      */
-    @Query("SELECT COUNT(t) FROM Transaction t WHERE (t.sourceAccountId = :accountId OR t.targetAccountId = :accountId) AND t.status = :status")
+    @Query(value = "SELECT (SELECT COUNT(*) FROM transactions t WHERE t.from_account_id = :accountId " +
+                   "AND t.status = :#{#status.name()}) + " +
+                   "(SELECT COUNT(*) FROM transactions t WHERE t.to_account_id = :accountId " +
+                   "AND t.from_account_id IS DISTINCT FROM :accountId AND t.status = :#{#status.name()})",
+           nativeQuery = true)
     long countByAccountIdAndStatus(@Param("accountId") UUID accountId, @Param("status") TransactionStatus status);
 
     /**
      * Find failed transactions with reasons.
      */
     @Query("SELECT t FROM Transaction t WHERE t.status = 'FAILED' AND t.failureReason IS NOT NULL ORDER BY t.updatedAt DESC")
-    List<Transaction> findFailedTransactionsWithReasons();
+    List<Transaction> findFailedTransactionsWithReasons(Pageable pageable);
 
     /**
      * Find transactions by user (through account lookup).
@@ -97,17 +218,27 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     /**
      * Find transactions by user ID.
      */
-    Page<Transaction> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+    @Query(value = DTO_SELECT + "WHERE t.userId = :userId ORDER BY t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId")
+    Page<TransactionDto> findDtosByUserId(@Param("userId") UUID userId, Pageable pageable);
 
     /**
      * Find transactions by user ID and status.
      */
-    Page<Transaction> findByUserIdAndStatusOrderByCreatedAtDesc(UUID userId, TransactionStatus status, Pageable pageable);
+    @Query(value = DTO_SELECT + "WHERE t.userId = :userId AND t.status = :status ORDER BY t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId AND t.status = :status")
+    Page<TransactionDto> findDtosByUserIdAndStatus(@Param("userId") UUID userId,
+                                                   @Param("status") TransactionStatus status,
+                                                   Pageable pageable);
 
     /**
      * Find transactions by user ID and type.
      */
-    Page<Transaction> findByUserIdAndTypeOrderByCreatedAtDesc(UUID userId, TransactionType type, Pageable pageable);
+    @Query(value = DTO_SELECT + "WHERE t.userId = :userId AND t.type = :type ORDER BY t.createdAt DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.userId = :userId AND t.type = :type")
+    Page<TransactionDto> findDtosByUserIdAndType(@Param("userId") UUID userId,
+                                                 @Param("type") TransactionType type,
+                                                 Pageable pageable);
 
     /**
      * Find transactions by user ID within date range.
@@ -118,8 +249,64 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
                                                @Param("startDate") LocalDateTime startDate, 
                                                @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Stream a user statement oldest first through a forward-only cursor.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
+           "AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt, t.id")
+    Stream<Transaction> streamUserStatement(@Param("userId") UUID userId,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate);
+
     /**
      * Count transactions by user ID and status.
      */
     long countByUserIdAndStatus(UUID userId, TransactionStatus status);
-} 
\ No newline at end of file
+
+    /**
+     * First page of a user's history in keyset order.
+     */
+    @Query(DTO_SELECT + "WHERE t.userId = :userId ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDto> findUserHistory(@Param("userId") UUID userId, Pageable pageable);
+
+    /**
+     * Next page of a user's history after the given (createdAt, id) position.
+     * The redundant createdAt <= bound keeps the scan an index range on (user_id, created_at, id).
+     */
+    @Query(DTO_SELECT + "WHERE t.userId = :userId " +
+           "AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionDto> findUserHistoryAfter(@Param("userId") UUID userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") UUID id,
+                                           Pageable pageable);
+
+    /**
+     * First page of an account's history in keyset order.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(value = "SELECT h.* FROM ((" + SOURCE_BRANCH + BRANCH_PAGE + ") UNION ALL " +
+                   "(" + TARGET_BRANCH + BRANCH_PAGE + ")) h " +
+                   "ORDER BY h.created_at DESC, h.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findAccountHistory(@Param("accountId") UUID accountId, @Param("limit") int limit);
+
+    /**
+     * Next page of an account's history after the given (createdAt, id) position.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query(value = "SELECT h.* FROM ((" +
+                   SOURCE_BRANCH + " AND (t.created_at, t.id) < (:createdAt, :id)" + BRANCH_PAGE + ") UNION ALL (" +
+                   TARGET_BRANCH + " AND (t.created_at, t.id) < (:createdAt, :id)" + BRANCH_PAGE + ")) h " +
+                   "ORDER BY h.created_at DESC, h.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Transaction> findAccountHistoryAfter(@Param("accountId") UUID accountId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") UUID id,
+                                              @Param("limit") int limit);
+}
@@ -0,0 +1,104 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.dto.TransactionCursor;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.dto.TransactionSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dynamic search over a user's transactions.
+ *
+ * Only the filters that are present end up in the SQL, so Postgres can plan
+ * each combination against the (user_id, lower(description)) trigram index
+ * and the (user_id, created_at, id) index. Results are projected straight
+ * into TransactionDto and paged by keyset, newest first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Returns up to limit matching transactions after the cursor position.
+     */
+    public List<TransactionDto> search(TransactionSearchCriteria criteria, TransactionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDto> query = cb.createQuery(TransactionDto.class);
+        Root<Transaction> t = query.from(Transaction.class);
+
+        Path<LocalDateTime> createdAt = t.get("createdAt");
+        Path<UUID> id = t.get("id");
+        Path<String> description = t.get("description");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(t.get("userId"), criteria.getUserId()));
+        if (criteria.getText() != null && !criteria.getText().isBlank()) {
+            String pattern = "%" + escapeLike(criteria.getText().trim().toLowerCase()) + "%";
+            predicates.add(cb.like(cb.lower(description), pattern, '\\'));
+        }
+        if (criteria.getCounterpartyAccountId() != null) {
+            predicates.add(cb.or(
+                    cb.equal(t.get("sourceAccountId"), criteria.getCounterpartyAccountId()),
+                    cb.equal(t.get("targetAccountId"), criteria.getCounterpartyAccountId())));
+        }
+        if (criteria.getFromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.getFromDate()));
+        }
+        if (criteria.getToDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, criteria.getToDate()));
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(t.get("amount").get("amount"), criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(t.get("amount").get("amount"), criteria.getMaxAmount()));
+        }
+        if (after != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, after.getCreatedAt()));
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, after.getCreatedAt()),
+                    cb.lessThan(id, after.getId())));
+        }
+
+        query.select(cb.construct(TransactionDto.class,
+                        id,
+                        t.get("reference").get("value"),
+                        t.get("type"),
+                        t.get("status"),
+                        t.get("amount").get("amount"),
+                        t.get("amount").get("currency"),
+                        t.get("sourceAccountId"),
+                        t.get("targetAccountId"),
+                        description,
+                        t.get("externalReference"),
+                        t.get("userId"),
+                        createdAt,
+                        t.get("updatedAt"),
+                        t.get("processedAt"),
+                        t.get("failureReason")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.UserMonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for per-user monthly totals.
+ */
+@Repository
+public interface UserMonthlyTotalRepository extends JpaRepository<UserMonthlyTotal, UserMonthlyTotal.Key> {
+
+    /**
+     * Adds to the user's total for a month, type and currency, creating the row if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_totals (user_id, month, transaction_type, currency, " +
+                   "transaction_count, total_amount) " +
+                   "VALUES (:userId, :month, :type, :currency, :countDelta, :amountDelta) " +
+                   "ON CONFLICT (user_id, month, transaction_type, currency) DO UPDATE SET " +
+                   "transaction_count = user_monthly_totals.transaction_count + EXCLUDED.transaction_count, " +
+                   "total_amount = user_monthly_totals.total_amount + EXCLUDED.total_amount",
+           nativeQuery = true)
+    int add(@Param("userId") UUID userId,
+            @Param("month") LocalDate month,
+            @Param("type") String type,
+            @Param("currency") String currency,
+            @Param("countDelta") long countDelta,
+            @Param("amountDelta") BigDecimal amountDelta);
+
+    /**
+     * Find a user's totals for one month.
+     */
+    List<UserMonthlyTotal> findByUserIdAndMonth(UUID userId, LocalDate month);
+}
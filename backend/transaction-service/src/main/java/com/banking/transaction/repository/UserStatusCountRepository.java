@@ -0,0 +1,53 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.UserStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for per-user status counters.
+ */
+@Repository
+public interface UserStatusCountRepository extends JpaRepository<UserStatusCount, UserStatusCount.Key> {
+
+    /**
+     * Adds delta to the user's counter for a status, creating the counter if needed.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_status_counts (user_id, status, transaction_count) " +
+                   "VALUES (:userId, :status, :delta) " +
+                   "ON CONFLICT (user_id, status) DO UPDATE SET " +
+                   "transaction_count = user_status_counts.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    int increment(@Param("userId") UUID userId, @Param("status") String status, @Param("delta") long delta);
+
+    /**
+     * Increments the user's transaction version, creating it if needed. The row lock
+     * it takes also orders concurrent counter updates of the same user.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_transaction_versions (user_id, version) " +
+                   "VALUES (:userId, 1) " +
+                   "ON CONFLICT (user_id) DO UPDATE SET " +
+                   "version = user_transaction_versions.version + 1",
+           nativeQuery = true)
+    int incrementVersion(@Param("userId") UUID userId);
+
+    /**
+     * Returns the user's transaction version, 0 before the first transaction.
+     */
+    @Query(value = "SELECT COALESCE(MAX(version), 0) FROM user_transaction_versions WHERE user_id = :userId",
+           nativeQuery = true)
+    long findVersion(@Param("userId") UUID userId);
+
+    /**
+     * Find all status counters of a user.
+     */
+    List<UserStatusCount> findByUserId(UUID userId);
+}
@@ -0,0 +1,128 @@
+package com.banking.transaction.service;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local, event-fed copy of the account directory.
+ *
+ * Holds the few account attributes this service needs (owner, number,
+ * status, currency) so ownership checks and response enrichment cost no
+ * call to the account service. It is rebuilt from banking.account.events on
+ * startup and kept current by the same listener afterwards; see
+ * AccountDirectoryListener. Accounts the events have not delivered yet,
+ * e.g. created moments ago or while the replay is still running, are read
+ * from the accounts table once and added.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountDirectory implements HealthIndicator {
+
+    private static final String FIND_ACCOUNT =
+            "SELECT user_id, account_number, status, currency FROM accounts WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, Entry> accounts = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    /**
+     * Adds or replaces an account.
+     */
+    public void put(UUID accountId, UUID userId, String accountNumber, String status, String currency) {
+        accounts.put(accountId, new Entry(accountId, userId, accountNumber, intern(status), intern(currency)));
+    }
+
+    /**
+     * Returns the account from the directory, without falling back to the database.
+     */
+    public Optional<Entry> find(UUID accountId) {
+        return Optional.ofNullable(accounts.get(accountId));
+    }
+
+    /**
+     * Returns the account, reading it from the accounts table when the directory does not know it yet.
+     */
+    public Optional<Entry> lookup(UUID accountId) {
+        Entry entry = accounts.get(accountId);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        List<Entry> found = jdbcTemplate.query(FIND_ACCOUNT, (rs, row) -> new Entry(accountId,
+                rs.getObject("user_id", UUID.class), rs.getString("account_number"),
+                intern(rs.getString("status")), intern(rs.getString("currency"))), accountId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        // An event delivered meanwhile is at least as recent as this read
+        return Optional.of(accounts.computeIfAbsent(accountId, id -> found.get(0)));
+    }
+
+    /**
+     * True only when the account exists and belongs to the user.
+     */
+    public boolean belongsTo(UUID accountId, UUID userId) {
+        return lookup(accountId).map(entry -> entry.getUserId().equals(userId)).orElse(false);
+    }
+
+    /**
+     * True once the startup replay has caught up with the topic.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        if (!ready) {
+            ready = true;
+            log.info("Account directory loaded with {} accounts", accounts.size());
+        }
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Reports the replay progress; the service works before the replay has caught up,
+     * with more lookups going to the database, so the status is always up.
+     */
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("replayed", isReady())
+                .withDetail("accounts", size())
+                .build();
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    /**
+     * Directory entry for one account.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Entry {
+
+        private final UUID accountId;
+        private final UUID userId;
+        private final String accountNumber;
+        private final String status;
+        private final String currency;
+    }
+}
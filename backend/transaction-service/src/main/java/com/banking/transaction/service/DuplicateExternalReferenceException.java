@@ -0,0 +1,13 @@
+package com.banking.transaction.service;
+
+/**
+ * Thrown when an external reference is already claimed by a transaction the
+ * request may not replay: another user's, another source account's, or one
+ * in a partition that has been detached. Answered with 409 Conflict.
+ */
+public class DuplicateExternalReferenceException extends RuntimeException {
+
+    public DuplicateExternalReferenceException(String externalReference) {
+        super("External reference " + externalReference + " is already in use");
+    }
+}
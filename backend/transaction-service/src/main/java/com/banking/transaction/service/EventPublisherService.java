@@ -4,11 +4,14 @@ import com.banking.transaction.domain.entity.Transaction;
 import com.banking.transaction.event.TransactionEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Service for publishing transaction-related events to Kafka.
  * Implements event-driven architecture patterns.
@@ -21,7 +24,14 @@ public class EventPublisherService {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
 
-    private static final String TRANSACTION_EVENTS_TOPIC = "transaction-events";
+    private ObjectWriter eventWriter;
+
+    public static final String TRANSACTION_EVENTS_TOPIC = "transaction-events";
+
+    @PostConstruct
+    void init() {
+        eventWriter = objectMapper.writerFor(TransactionEvent.class);
+    }
 
     /**
      * Publishes transaction created event.
@@ -83,11 +93,11 @@ public class EventPublisherService {
                     .timestamp(transaction.getUpdatedAt())
                     .build();
 
-            String eventJson = objectMapper.writeValueAsString(event);
+            String eventJson = eventWriter.writeValueAsString(event);
             
             kafkaTemplate.send(TRANSACTION_EVENTS_TOPIC, transaction.getId().toString(), eventJson);
             
-            log.info("Published event: {} for transaction: {}", eventType, transaction.getReference());
+            log.debug("Published event: {} for transaction: {}", eventType, transaction.getReference());
             
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize transaction event for transaction: {}", transaction.getId(), e);
@@ -0,0 +1,136 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory front for external reference deduplication.
+ *
+ * A bloom filter answers "definitely never seen" for the common case so that
+ * creating a transaction with a fresh external reference costs no lookup
+ * query. A bounded LRU maps recently seen references to their transaction id
+ * so retried calls resolve with a primary-key read. The primary key of
+ * transaction_external_references stays the source of truth: references
+ * created by other instances are caught there.
+ */
+@Component
+@Slf4j
+public class ExternalReferenceIndex {
+
+    private final TransactionRepository transactionRepository;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final Map<String, UUID> recent;
+
+    public ExternalReferenceIndex(TransactionRepository transactionRepository,
+                                  @Value("${transaction-dedupe.expected-references:1000000}") long expectedReferences,
+                                  @Value("${transaction-dedupe.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${transaction-dedupe.recent-capacity:10000}") int recentCapacity) {
+        this.transactionRepository = transactionRepository;
+
+        long optimalBits = (long) Math.ceil(-expectedReferences * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedReferences * Math.log(2)));
+
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<String, UUID>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > recentCapacity;
+            }
+        });
+    }
+
+    /**
+     * Loads existing external references into the bloom filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        AtomicLong count = new AtomicLong();
+        try (Stream<String> references = transactionRepository.streamAllExternalReferences()) {
+            // Not peek().count(): count() may skip the pipeline when the size is known
+            references.forEach(reference -> {
+                addToFilter(reference);
+                count.incrementAndGet();
+            });
+        }
+        log.info("Loaded {} external references into dedupe filter ({} bits, {} hashes)", count.get(), bitCount, hashCount);
+    }
+
+    /**
+     * Returns false only if the reference has definitely never been recorded.
+     */
+    public boolean mightContain(String externalReference) {
+        long hash = hash(externalReference);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the transaction id for a recently recorded reference, or null.
+     */
+    public UUID getRecent(String externalReference) {
+        return recent.get(externalReference);
+    }
+
+    public void record(String externalReference, UUID transactionId) {
+        addToFilter(externalReference);
+        recent.put(externalReference, transactionId);
+    }
+
+    private void addToFilter(String externalReference) {
+        long hash = hash(externalReference);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with a murmur3 mix.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
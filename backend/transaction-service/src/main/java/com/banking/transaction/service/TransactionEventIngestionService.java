@@ -0,0 +1,153 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.domain.entity.ConsumedOffset;
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionType;
+import com.banking.transaction.domain.valueobject.Money;
+import com.banking.transaction.event.AccountTransactionEvent;
+import com.banking.transaction.repository.ConsumedOffsetRepository;
+import com.banking.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates transaction records from account service posting events.
+ *
+ * A whole Kafka batch is written in one database transaction using JDBC
+ * batched inserts. The last consumed offset per partition is stored in the
+ * same transaction, so redelivered records are recognised and skipped.
+ * Postings are also claimed by event id (transfers by transfer id), because
+ * the account service outbox may send an event again at a new offset.
+ * Unreadable events fail the batch, so the listener can isolate and
+ * dead-letter them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionEventIngestionService {
+
+    private final TransactionRepository transactionRepository;
+    private final ConsumedOffsetRepository consumedOffsetRepository;
+    private final ExternalReferenceIndex externalReferenceIndex;
+    private final EventPublisherService eventPublisherService;
+    private final TransactionSummaryService transactionSummaryService;
+    private final ObjectMapper objectMapper;
+
+    private ObjectReader eventReader;
+
+    @PostConstruct
+    void init() {
+        eventReader = objectMapper.readerFor(AccountTransactionEvent.class);
+    }
+
+    /**
+     * Ingests a batch of records from banking.transaction.events.
+     */
+    @Transactional
+    public int ingest(List<ConsumerRecord<String, String>> records) {
+        Set<String> keys = records.stream()
+                .map(record -> ConsumedOffset.key(record.topic(), record.partition()))
+                .collect(Collectors.toSet());
+        Map<String, ConsumedOffset> offsets = new HashMap<>();
+        consumedOffsetRepository.findAllById(keys)
+                .forEach(offset -> offsets.put(offset.getTopicPartition(), offset));
+
+        List<Transaction> transactions = new ArrayList<>(records.size());
+        Set<String> batchReferences = new HashSet<>();
+        for (ConsumerRecord<String, String> record : records) {
+            String key = ConsumedOffset.key(record.topic(), record.partition());
+            ConsumedOffset offset = offsets.computeIfAbsent(key, k -> new ConsumedOffset(k, -1));
+            if (offset.isProcessed(record.offset())) {
+                continue;
+            }
+            offset.advanceTo(record.offset());
+
+            Transaction transaction = toTransaction(record);
+            if (transaction != null && (transaction.getExternalReference() == null
+                    || batchReferences.add(transaction.getExternalReference()))) {
+                transactions.add(transaction);
+            }
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        consumedOffsetRepository.saveAll(offsets.values());
+
+        for (Transaction transaction : saved) {
+            transactionSummaryService.recordCreated(transaction);
+        }
+
+        for (Transaction transaction : saved) {
+            if (transaction.getExternalReference() != null) {
+                externalReferenceIndex.record(transaction.getExternalReference(), transaction.getId());
+            }
+            eventPublisherService.publishTransactionCompleted(transaction);
+        }
+
+        log.debug("Ingested {} transactions from {} records", saved.size(), records.size());
+        return saved.size();
+    }
+
+    private Transaction toTransaction(ConsumerRecord<String, String> record) {
+        AccountTransactionEvent event;
+        try {
+            event = eventReader.readValue(record.value());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable account event at " + record.topic() + "-"
+                    + record.partition() + "@" + record.offset(), e);
+        }
+
+        Transaction transaction;
+        String reference;
+        switch (event.getEventType() != null ? event.getEventType() : "") {
+            case AccountTransactionEvent.MONEY_DEPOSITED:
+                transaction = new Transaction(TransactionType.DEPOSIT, money(event), event.getAccountId(),
+                        event.getDescription(), event.getUserId());
+                reference = event.getEventId();
+                break;
+            case AccountTransactionEvent.MONEY_WITHDRAWN:
+                transaction = new Transaction(TransactionType.WITHDRAWAL, money(event), event.getAccountId(),
+                        event.getDescription(), event.getUserId());
+                reference = event.getEventId();
+                break;
+            case AccountTransactionEvent.TRANSFER_COMPLETED:
+                transaction = new Transaction(TransactionType.TRANSFER, money(event), event.getAccountId(),
+                        event.getTargetAccountId(), event.getDescription(), event.getUserId());
+                reference = event.getTransferId().toString();
+                break;
+            default:
+                return null;
+        }
+
+        if (reference != null) {
+            if (transactionRepository.claimExternalReferenceIfAbsent(reference) == 0) {
+                log.debug("Posting {} already recorded", reference);
+                return null;
+            }
+            transaction.setExternalReference(reference);
+        }
+
+        // The money has already moved on the account side
+        transaction.process();
+        transaction.complete();
+        return transaction;
+    }
+
+    private Money money(AccountTransactionEvent event) {
+        return Money.of(event.getAmount(), event.getCurrency());
+    }
+}
@@ -0,0 +1,158 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.dto.StatementFormat;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes transaction statements straight to an output stream.
+ *
+ * Rows are read through a forward-only JDBC cursor and each entity is
+ * detached as soon as it has been written, so heap usage stays flat
+ * regardless of the size of the statement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,reference,type,status,amount,currency,sourceAccountId," +
+            "targetAccountId,description,externalReference,userId,createdAt,processedAt,failureReason";
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams all transactions of an account within the date range.
+     */
+    @Transactional(readOnly = true)
+    public long exportAccountStatement(UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                       StatementFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> transactions =
+                     transactionRepository.streamAccountStatement(accountId, startDate, endDate)) {
+            long count = write(transactions, format, out);
+            log.info("Exported {} transactions for account {} as {}", count, accountId, format);
+            return count;
+        }
+    }
+
+    /**
+     * Streams all transactions of a user within the date range.
+     */
+    @Transactional(readOnly = true)
+    public long exportUserStatement(UUID userId, LocalDateTime startDate, LocalDateTime endDate,
+                                    StatementFormat format, OutputStream out) throws IOException {
+        try (Stream<Transaction> transactions =
+                     transactionRepository.streamUserStatement(userId, startDate, endDate)) {
+            long count = write(transactions, format, out);
+            log.info("Exported {} transactions for user {} as {}", count, userId, format);
+            return count;
+        }
+    }
+
+    private long write(Stream<Transaction> transactions, StatementFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count;
+        switch (format) {
+            case NDJSON:
+                count = writeNdjson(transactions.iterator(), writer);
+                break;
+            case CSV:
+                count = writeCsv(transactions.iterator(), writer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported statement format: " + format);
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Transaction> transactions, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        // Bound to the row type; flushing is left to the buffered writer instead of every row
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            rowWriter.writeValue(generator, TransactionDto.from(transaction));
+            generator.writeRaw('\n');
+            entityManager.detach(transaction);
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Transaction> transactions, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            writeCsvRow(TransactionDto.from(transaction), writer);
+            entityManager.detach(transaction);
+            count++;
+        }
+        return count;
+    }
+
+    private void writeCsvRow(TransactionDto dto, Writer writer) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writeCsvField(writer, dto.getReference());
+        writeCsvField(writer, dto.getType());
+        writeCsvField(writer, dto.getStatus());
+        writeCsvField(writer, dto.getAmount() != null ? dto.getAmount().toPlainString() : null);
+        writeCsvField(writer, dto.getCurrency());
+        writeCsvField(writer, dto.getSourceAccountId());
+        writeCsvField(writer, dto.getTargetAccountId());
+        writeCsvField(writer, dto.getDescription());
+        writeCsvField(writer, dto.getExternalReference());
+        writeCsvField(writer, dto.getUserId());
+        writeCsvField(writer, dto.getCreatedAt());
+        writeCsvField(writer, dto.getProcessedAt());
+        writeCsvField(writer, dto.getFailureReason());
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
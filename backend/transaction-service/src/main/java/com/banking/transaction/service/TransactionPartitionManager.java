@@ -0,0 +1,226 @@
+package com.banking.transaction.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the transactions table.
+ *
+ * Partitions are created months-ahead in advance so inserts never land in the
+ * default partition. Rows that did land there (back-dated or far-future
+ * timestamps) are moved into a partition of their own on the next run, and
+ * the transactions.partitions.default.rows gauge reports how many were found
+ * so that it can be alerted on.
+ *
+ * Partitions older than retention-months are detached from transactions,
+ * which removes them from every query, and optionally moved to an archive
+ * tablespace. Detaching runs CONCURRENTLY outside a transaction where Postgres
+ * allows it, which is only when the table has no default partition; otherwise
+ * a plain detach gives up after detach-lock-timeout-ms instead of queueing
+ * every query on transactions behind its exclusive lock, and is retried on the
+ * next run. Running the job on several instances at once is harmless.
+ */
+@Component
+@Slf4j
+public class TransactionPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_y(\\d{4})m(\\d{2})");
+
+    /** Serializes moves out of the default partition across instances ("txparts" in ASCII) */
+    private static final long MOVE_LOCK_KEY = 0x7478706172747300L;
+
+    private static final String FIND_PARTITIONS =
+            "SELECT c.relname AS name, i.inhdetachpending AS detach_pending FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'transactions'::regclass";
+
+    private static final String FIND_DEFAULT_PARTITION =
+            "SELECT c.relname FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partdefid " +
+            "WHERE p.partrelid = 'transactions'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveTablespace;
+    private final long detachLockTimeoutMs;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${transaction-partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${transaction-partitions.retention-months:0}") int retentionMonths,
+                                       @Value("${transaction-partitions.archive-tablespace:}") String archiveTablespace,
+                                       @Value("${transaction-partitions.detach-lock-timeout-ms:5000}") long detachLockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveTablespace = archiveTablespace;
+        this.detachLockTimeoutMs = detachLockTimeoutMs;
+        Gauge.builder("transactions.partitions.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Rows found in the default transactions partition by the last maintenance run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${transaction-partitions.cron:0 15 1 * * *}")
+    public void maintainPartitions() {
+        try {
+            createFuturePartitions();
+            if (retentionMonths > 0) {
+                archiveOldPartitions();
+            }
+        } catch (Exception e) {
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+
+    private void createFuturePartitions() {
+        String defaultPartition = defaultPartition();
+        SortedSet<YearMonth> stranded = defaultPartition != null ? monthsIn(defaultPartition) : new TreeSet<>();
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!stranded.contains(month)) {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                        partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+            }
+        }
+        for (YearMonth month : stranded) {
+            moveOutOfDefaultPartition(defaultPartition, month);
+        }
+        log.debug("Ensured transaction partitions through {}", current.plusMonths(monthsAhead));
+    }
+
+    /**
+     * Counts the rows in the default partition and returns the months they belong to
+     */
+    private SortedSet<YearMonth> monthsIn(String defaultPartition) {
+        List<Map<String, Object>> months = jdbcTemplate.queryForList(
+                "SELECT date_trunc('month', created_at)::date AS month, count(*) AS row_count FROM "
+                        + defaultPartition + " GROUP BY 1");
+        SortedSet<YearMonth> result = new TreeSet<>();
+        long rows = 0;
+        for (Map<String, Object> month : months) {
+            result.add(YearMonth.from(((Date) month.get("month")).toLocalDate()));
+            rows += ((Number) month.get("row_count")).longValue();
+        }
+        defaultPartitionRows.set(rows);
+        if (rows > 0) {
+            log.warn("{} transactions are in the default partition {}, moving them into partitions for {}",
+                    rows, defaultPartition, result);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the partition of a month whose rows are in the default partition, in one transaction:
+     * the rows are moved into a new table which is then attached. A CHECK constraint matching the
+     * partition bounds lets the attach skip validating the moved rows. Inserts into the default
+     * partition wait until the move commits.
+     */
+    private void moveOutOfDefaultPartition(String defaultPartition, YearMonth month) {
+        String partition = partitionName(month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        Integer moved = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", MOVE_LOCK_KEY);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                return 0;
+            }
+            jdbcTemplate.execute("LOCK TABLE " + defaultPartition + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.execute(String.format("ALTER TABLE %s ADD CONSTRAINT %s_bounds "
+                    + "CHECK (created_at >= '%s' AND created_at < '%s')", partition, partition, from, to));
+            int rows = jdbcTemplate.update(String.format("WITH moved AS (DELETE FROM %s "
+                    + "WHERE created_at >= '%s' AND created_at < '%s' RETURNING *) INSERT INTO %s SELECT * FROM moved",
+                    defaultPartition, from, to, partition));
+            jdbcTemplate.execute(String.format("ALTER TABLE transactions ATTACH PARTITION %s "
+                    + "FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+            jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + partition + "_bounds");
+            return rows;
+        });
+        log.info("Moved {} transactions from the default partition into new partition {}", moved, partition);
+    }
+
+    private void archiveOldPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        boolean concurrently = defaultPartition() == null;
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(FIND_PARTITIONS);
+
+        for (Map<String, Object> row : partitions) {
+            String partition = (String) row.get("name");
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            try {
+                detach(partition, Boolean.TRUE.equals(row.get("detach_pending")), concurrently);
+                if (!archiveTablespace.isBlank()) {
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " SET TABLESPACE " + archiveTablespace);
+                }
+                log.info("Archived transaction partition {}", partition);
+            } catch (Exception e) {
+                log.warn("Could not detach transaction partition {}, retrying on the next run: {}",
+                        partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Detaches a partition. JdbcTemplate runs outside a transaction here, as CONCURRENTLY requires;
+     * a concurrent detach that was interrupted is completed with FINALIZE.
+     */
+    private void detach(String partition, boolean pending, boolean concurrently) {
+        if (pending) {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " FINALIZE");
+        } else if (concurrently) {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " CONCURRENTLY");
+        } else {
+            // Postgres rejects CONCURRENTLY while a default partition exists
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + detachLockTimeoutMs);
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition);
+            });
+        }
+    }
+
+    private String defaultPartition() {
+        List<String> names = jdbcTemplate.queryForList(FIND_DEFAULT_PARTITION, String.class);
+        return names.isEmpty() ? null : names.get(0);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,21 +1,27 @@
 package com.banking.transaction.service;
 
-import com.banking.transaction.client.AccountServiceClient;
 import com.banking.transaction.domain.entity.Transaction;
 import com.banking.transaction.domain.entity.TransactionStatus;
 import com.banking.transaction.domain.entity.TransactionType;
 import com.banking.transaction.domain.valueobject.Money;
 import com.banking.transaction.domain.valueobject.TransactionReference;
-import com.banking.transaction.dto.AccountDto;
 import com.banking.transaction.dto.CreateTransactionRequest;
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.TransactionCursor;
 import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.dto.TransactionSearchCriteria;
 import com.banking.transaction.repository.TransactionRepository;
+import com.banking.transaction.repository.TransactionSearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,17 +38,74 @@ import java.util.stream.Collectors;
 @Transactional
 public class TransactionService {
 
+    private static final int MAX_PENDING_RESULTS = 1000;
+
     private final TransactionRepository transactionRepository;
     private final EventPublisherService eventPublisherService;
-    private final AccountServiceClient accountServiceClient;
+    private final AccountDirectory accountDirectory;
+    private final ExternalReferenceIndex externalReferenceIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionSearchRepository transactionSearchRepository;
 
     /**
-     * Creates a new transaction.
+     * Creates a new transaction, or returns the existing one when the
+     * external reference has already been used (idempotent retries).
+     * A retry is only answered with the existing transaction when it comes
+     * from the same user and source account; any other reuse of the
+     * reference is a DuplicateExternalReferenceException.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionDto createTransaction(CreateTransactionRequest request) {
-        log.info("Creating transaction: type={}, amount={}, sourceAccount={}", 
+        log.debug("Creating transaction: type={}, amount={}, sourceAccount={}", 
                 request.getType(), request.getAmount(), request.getSourceAccountId());
 
+        if (!accountDirectory.belongsTo(request.getSourceAccountId(), request.getUserId())) {
+            throw new IllegalArgumentException("Account " + request.getSourceAccountId()
+                    + " does not belong to user " + request.getUserId());
+        }
+
+        String externalReference = request.getExternalReference();
+        if (externalReference != null && externalReferenceIndex.mightContain(externalReference)) {
+            Transaction existing = findByExternalReference(externalReference);
+            if (existing != null) {
+                return replay(existing, request);
+            }
+        }
+
+        try {
+            return transactionTemplate.execute(status -> insertTransaction(request));
+        } catch (DataIntegrityViolationException e) {
+            if (externalReference == null) {
+                throw e;
+            }
+            // Another request or instance inserted the same external reference first
+            Transaction existing = findByExternalReference(externalReference);
+            if (existing != null) {
+                return replay(existing, request);
+            }
+            // Claims outlive transactions in detached partitions; the reference stays used
+            if (transactionRepository.isExternalReferenceClaimed(externalReference)) {
+                log.warn("External reference {} belongs to an archived transaction", externalReference);
+                throw new DuplicateExternalReferenceException(externalReference);
+            }
+            throw e;
+        }
+    }
+
+    private TransactionDto replay(Transaction existing, CreateTransactionRequest request) {
+        if (!existing.getUserId().equals(request.getUserId())
+                || !existing.getSourceAccountId().equals(request.getSourceAccountId())) {
+            log.warn("External reference {} reused by user {} for account {}", 
+                    request.getExternalReference(), request.getUserId(), request.getSourceAccountId());
+            throw new DuplicateExternalReferenceException(request.getExternalReference());
+        }
+        log.info("Returning existing transaction {} for external reference {}", 
+                existing.getReference(), request.getExternalReference());
+        return mapToDto(existing);
+    }
+
+    private TransactionDto insertTransaction(CreateTransactionRequest request) {
         try {
             TransactionType type = TransactionType.valueOf(request.getType().toUpperCase());
             Money amount = Money.of(request.getAmount(), request.getCurrency());
@@ -57,11 +120,17 @@ public class TransactionService {
             );
 
             if (request.getExternalReference() != null) {
+                transactionRepository.claimExternalReference(request.getExternalReference());
                 transaction.setExternalReference(request.getExternalReference());
             }
 
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            Transaction savedTransaction = transactionRepository.saveAndFlush(transaction);
+            transactionSummaryService.recordCreated(savedTransaction);
             
+            if (savedTransaction.getExternalReference() != null) {
+                externalReferenceIndex.record(savedTransaction.getExternalReference(), savedTransaction.getId());
+            }
+
             // Publish transaction created event
             eventPublisherService.publishTransactionCreated(savedTransaction);
             
@@ -74,16 +143,33 @@ public class TransactionService {
         }
     }
 
+    private Transaction findByExternalReference(String externalReference) {
+        UUID transactionId = externalReferenceIndex.getRecent(externalReference);
+        if (transactionId != null) {
+            Transaction transaction = transactionRepository.findById(transactionId).orElse(null);
+            if (transaction != null) {
+                return transaction;
+            }
+        }
+        Transaction transaction = transactionRepository.findByExternalReference(externalReference).orElse(null);
+        if (transaction != null) {
+            externalReferenceIndex.record(externalReference, transaction.getId());
+        }
+        return transaction;
+    }
+
     /**
      * Processes a pending transaction.
      */
     public TransactionDto processTransaction(UUID transactionId) {
-        log.info("Processing transaction: {}", transactionId);
+        log.debug("Processing transaction: {}", transactionId);
 
-        Transaction transaction = findTransactionById(transactionId);
+        Transaction transaction = findTransactionForUpdate(transactionId);
+        TransactionStatus previousStatus = transaction.getStatus();
         transaction.process();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionSummaryService.recordStatusChange(savedTransaction, previousStatus);
         
         // Publish transaction processing event
         eventPublisherService.publishTransactionProcessing(savedTransaction);
@@ -96,12 +182,14 @@ public class TransactionService {
      * Completes a processing transaction.
      */
     public TransactionDto completeTransaction(UUID transactionId) {
-        log.info("Completing transaction: {}", transactionId);
+        log.debug("Completing transaction: {}", transactionId);
 
-        Transaction transaction = findTransactionById(transactionId);
+        Transaction transaction = findTransactionForUpdate(transactionId);
+        TransactionStatus previousStatus = transaction.getStatus();
         transaction.complete();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionSummaryService.recordStatusChange(savedTransaction, previousStatus);
         
         // Publish transaction completed event
         eventPublisherService.publishTransactionCompleted(savedTransaction);
@@ -114,12 +202,14 @@ public class TransactionService {
      * Fails a transaction with a reason.
      */
     public TransactionDto failTransaction(UUID transactionId, String reason) {
-        log.info("Failing transaction: {} with reason: {}", transactionId, reason);
+        log.debug("Failing transaction: {} with reason: {}", transactionId, reason);
 
-        Transaction transaction = findTransactionById(transactionId);
+        Transaction transaction = findTransactionForUpdate(transactionId);
+        TransactionStatus previousStatus = transaction.getStatus();
         transaction.fail(reason);
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionSummaryService.recordStatusChange(savedTransaction, previousStatus);
         
         // Publish transaction failed event
         eventPublisherService.publishTransactionFailed(savedTransaction);
@@ -132,12 +222,14 @@ public class TransactionService {
      * Cancels a pending transaction.
      */
     public TransactionDto cancelTransaction(UUID transactionId) {
-        log.info("Cancelling transaction: {}", transactionId);
+        log.debug("Cancelling transaction: {}", transactionId);
 
-        Transaction transaction = findTransactionById(transactionId);
+        Transaction transaction = findTransactionForUpdate(transactionId);
+        TransactionStatus previousStatus = transaction.getStatus();
         transaction.cancel();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionSummaryService.recordStatusChange(savedTransaction, previousStatus);
         
         // Publish transaction cancelled event
         eventPublisherService.publishTransactionCancelled(savedTransaction);
@@ -150,12 +242,14 @@ public class TransactionService {
      * Reverses a completed transaction.
      */
     public TransactionDto reverseTransaction(UUID transactionId) {
-        log.info("Reversing transaction: {}", transactionId);
+        log.debug("Reversing transaction: {}", transactionId);
 
-        Transaction transaction = findTransactionById(transactionId);
+        Transaction transaction = findTransactionForUpdate(transactionId);
+        TransactionStatus previousStatus = transaction.getStatus();
         transaction.reverse();
         
         Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionSummaryService.recordStatusChange(savedTransaction, previousStatus);
         
         // Publish transaction reversed event
         eventPublisherService.publishTransactionReversed(savedTransaction);
@@ -189,7 +283,10 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public Page<TransactionDto> getAccountTransactions(UUID accountId, Pageable pageable) {
-        Page<Transaction> transactions = transactionRepository.findByAccountId(accountId, pageable);
+        // Native union query: ordering is fixed, so any requested sort is dropped
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Transaction> transactions = transactionRepository.findByAccountId(
+                accountId, unsorted.getOffset() + unsorted.getPageSize(), unsorted);
         return transactions.map(this::mapToDto);
     }
 
@@ -197,11 +294,17 @@ public class TransactionService {
      * Retrieves transactions by status.
      */
     @Transactional(readOnly = true)
-    public List<TransactionDto> getTransactionsByStatus(TransactionStatus status) {
-        List<Transaction> transactions = transactionRepository.findByStatusOrderByCreatedAtAsc(status);
-        return transactions.stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<TransactionDto> getTransactionsByStatus(TransactionStatus status, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TransactionDto> transactions;
+        if (cursor == null) {
+            transactions = transactionRepository.findByStatusPage(status, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findByStatusPageAfter(
+                    status, position.getCreatedAt(), position.getId(), limit);
+        }
+        return toCursorPage(transactions, size);
     }
 
     /**
@@ -210,7 +313,8 @@ public class TransactionService {
     @Transactional(readOnly = true)
     public List<TransactionDto> getPendingTransactionsOlderThan(int hours) {
         LocalDateTime threshold = LocalDateTime.now().minusHours(hours);
-        List<Transaction> transactions = transactionRepository.findPendingTransactionsOlderThan(threshold);
+        List<Transaction> transactions = transactionRepository.findPendingTransactionsOlderThan(
+                threshold, PageRequest.of(0, MAX_PENDING_RESULTS));
         return transactions.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
@@ -221,12 +325,10 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public Page<TransactionDto> getUserTransactions(UUID userId, Pageable pageable) {
-        log.info("Getting transactions for user: {}", userId);
+        log.debug("Getting transactions for user: {}", userId);
         
         // Use direct user ID lookup now that we have userId field
-        Page<Transaction> transactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        
-        return transactions.map(this::mapToDto);
+        return transactionRepository.findDtosByUserId(userId, pageable).map(this::enrich);
     }
 
     /**
@@ -234,11 +336,9 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public Page<TransactionDto> getUserTransactionsByStatus(UUID userId, TransactionStatus status, Pageable pageable) {
-        log.info("Getting transactions for user {} with status {}", userId, status);
-        
-        Page<Transaction> transactions = transactionRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status, pageable);
+        log.debug("Getting transactions for user {} with status {}", userId, status);
         
-        return transactions.map(this::mapToDto);
+        return transactionRepository.findDtosByUserIdAndStatus(userId, status, pageable).map(this::enrich);
     }
 
     /**
@@ -246,11 +346,67 @@ public class TransactionService {
      */
     @Transactional(readOnly = true)
     public Page<TransactionDto> getUserTransactionsByType(UUID userId, TransactionType type, Pageable pageable) {
-        log.info("Getting transactions for user {} with type {}", userId, type);
-        
-        Page<Transaction> transactions = transactionRepository.findByUserIdAndTypeOrderByCreatedAtDesc(userId, type, pageable);
+        log.debug("Getting transactions for user {} with type {}", userId, type);
         
-        return transactions.map(this::mapToDto);
+        return transactionRepository.findDtosByUserIdAndType(userId, type, pageable).map(this::enrich);
+    }
+
+    /**
+     * Retrieves a user's transactions page by page using a keyset cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDto> getUserTransactionsAfter(UUID userId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TransactionDto> transactions;
+        if (cursor == null) {
+            transactions = transactionRepository.findUserHistory(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findUserHistoryAfter(
+                    userId, position.getCreatedAt(), position.getId(), limit);
+        }
+        return toCursorPage(transactions, size);
+    }
+
+    /**
+     * Retrieves an account's transactions page by page using a keyset cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDto> getAccountTransactionsAfter(UUID accountId, String cursor, int size) {
+        int limit = size + 1;
+        List<Transaction> transactions;
+        if (cursor == null) {
+            transactions = transactionRepository.findAccountHistory(accountId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findAccountHistoryAfter(
+                    accountId, position.getCreatedAt(), position.getId(), limit);
+        }
+        return toCursorPage(transactions.stream()
+                .map(TransactionDto::from)
+                .collect(Collectors.toList()), size);
+    }
+
+    /**
+     * Searches a user's transactions by description text, counterparty, date and amount.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionDto> searchUserTransactions(TransactionSearchCriteria criteria, String cursor, int size) {
+        TransactionCursor position = cursor != null ? TransactionCursor.decode(cursor) : null;
+        List<TransactionDto> transactions = transactionSearchRepository.search(criteria, position, size + 1);
+        return toCursorPage(transactions, size);
+    }
+
+    private CursorPage<TransactionDto> toCursorPage(List<TransactionDto> transactions, int size) {
+        boolean hasMore = transactions.size() > size;
+        List<TransactionDto> content = hasMore ? transactions.subList(0, size) : transactions;
+        content.forEach(this::enrich);
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionDto last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, nextCursor, hasMore);
     }
 
     private Transaction findTransactionById(UUID transactionId) {
@@ -258,23 +414,31 @@ public class TransactionService {
                 .orElseThrow(() -> new RuntimeException("Transaction not found: " + transactionId));
     }
 
+    /**
+     * Status changes lock the row first: the previous status they move the
+     * counters away from must be the one their update replaces.
+     */
+    private Transaction findTransactionForUpdate(UUID transactionId) {
+        return transactionRepository.findByIdForUpdate(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found: " + transactionId));
+    }
+
     private TransactionDto mapToDto(Transaction transaction) {
-        return TransactionDto.builder()
-                .id(transaction.getId())
-                .reference(transaction.getReference().getValue())
-                .type(transaction.getType().name())
-                .status(transaction.getStatus().name())
-                .amount(transaction.getAmount().getAmount())
-                .currency(transaction.getAmount().getCurrency())
-                .sourceAccountId(transaction.getSourceAccountId())
-                .targetAccountId(transaction.getTargetAccountId())
-                .description(transaction.getDescription())
-                .externalReference(transaction.getExternalReference())
-                .userId(transaction.getUserId())
-                .createdAt(transaction.getCreatedAt())
-                .updatedAt(transaction.getUpdatedAt())
-                .processedAt(transaction.getProcessedAt())
-                .failureReason(transaction.getFailureReason())
-                .build();
+        return enrich(TransactionDto.from(transaction));
+    }
+
+    /**
+     * Adds the account numbers from the local directory; no lookups, unknown accounts stay null.
+     */
+    private TransactionDto enrich(TransactionDto dto) {
+        dto.setSourceAccountNumber(accountNumber(dto.getSourceAccountId()));
+        dto.setTargetAccountNumber(accountNumber(dto.getTargetAccountId()));
+        return dto;
+    }
+
+    private String accountNumber(UUID accountId) {
+        return accountId != null
+                ? accountDirectory.find(accountId).map(AccountDirectory.Entry::getAccountNumber).orElse(null)
+                : null;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.domain.entity.UserMonthlyTotal;
+import com.banking.transaction.domain.entity.UserStatusCount;
+import com.banking.transaction.dto.TransactionSummaryDto;
+import com.banking.transaction.repository.UserMonthlyTotalRepository;
+import com.banking.transaction.repository.UserStatusCountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-user transaction counters and serves the user summary from them.
+ *
+ * Counters are updated in the same database transaction as the transaction
+ * insert or status change, so the summary is a handful of primary-key reads
+ * no matter how much history the user has. Each such update also increments
+ * the user's transaction version, which the read endpoints use for ETags.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionSummaryService {
+
+    private final UserStatusCountRepository statusCountRepository;
+    private final UserMonthlyTotalRepository monthlyTotalRepository;
+    private final TransactionVersionCache transactionVersionCache;
+
+    /**
+     * Counts a newly stored transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        bumpVersion(transaction.getUserId());
+        statusCountRepository.increment(transaction.getUserId(), transaction.getStatus().name(), 1);
+        if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+            addToMonthlyTotals(transaction, 1);
+        }
+    }
+
+    /**
+     * Moves a transaction from its previous status counter to its current one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Transaction transaction, TransactionStatus previousStatus) {
+        TransactionStatus status = transaction.getStatus();
+        if (status == previousStatus) {
+            return;
+        }
+        bumpVersion(transaction.getUserId());
+        statusCountRepository.increment(transaction.getUserId(), previousStatus.name(), -1);
+        statusCountRepository.increment(transaction.getUserId(), status.name(), 1);
+
+        if (status == TransactionStatus.COMPLETED) {
+            addToMonthlyTotals(transaction, 1);
+        } else if (previousStatus == TransactionStatus.COMPLETED) {
+            addToMonthlyTotals(transaction, -1);
+        }
+    }
+
+    /**
+     * Returns the user's status counts and the current month's completed totals by type.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSummaryDto getUserSummary(UUID userId) {
+        Map<TransactionStatus, Long> counts = new EnumMap<>(TransactionStatus.class);
+        for (TransactionStatus status : TransactionStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (UserStatusCount count : statusCountRepository.findByUserId(userId)) {
+            counts.put(count.getStatus(), count.getTransactionCount());
+        }
+        Map<String, Long> countsByStatus = new LinkedHashMap<>();
+        counts.forEach((status, count) -> countsByStatus.put(status.name(), count));
+
+        YearMonth month = YearMonth.now();
+        List<UserMonthlyTotal> totals = monthlyTotalRepository.findByUserIdAndMonth(userId, month.atDay(1));
+        List<TransactionSummaryDto.TypeTotal> monthlyTotals = totals.stream()
+                .map(total -> new TransactionSummaryDto.TypeTotal(
+                        total.getType().name(),
+                        total.getCurrency(),
+                        total.getTransactionCount(),
+                        total.getTotalAmount()))
+                .collect(Collectors.toList());
+
+        return TransactionSummaryDto.builder()
+                .userId(userId)
+                .countsByStatus(countsByStatus)
+                .month(month.toString())
+                .monthlyTotals(monthlyTotals)
+                .build();
+    }
+
+    /**
+     * Runs before the counter updates, so the version row lock serializes a
+     * user's counter updates and each commit gets a version of its own.
+     */
+    private void bumpVersion(UUID userId) {
+        statusCountRepository.incrementVersion(userId);
+        transactionVersionCache.invalidateAfterCommit(userId);
+    }
+
+    /**
+     * Completed amounts are booked in the month of completion; a reversal is
+     * taken back out of that same month.
+     */
+    private void addToMonthlyTotals(Transaction transaction, int sign) {
+        LocalDateTime completedAt = transaction.getProcessedAt() != null
+                ? transaction.getProcessedAt()
+                : LocalDateTime.now();
+        LocalDate month = YearMonth.from(completedAt).atDay(1);
+        monthlyTotalRepository.add(
+                transaction.getUserId(),
+                month,
+                transaction.getType().name(),
+                transaction.getAmount().getCurrency(),
+                sign,
+                sign > 0 ? transaction.getAmount().getAmount() : transaction.getAmount().getAmount().negate()
+        );
+    }
+}
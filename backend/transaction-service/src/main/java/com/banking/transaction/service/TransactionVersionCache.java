@@ -0,0 +1,110 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.repository.UserStatusCountRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-user transaction high-water mark used for ETags.
+ *
+ * The version is a per-user counter in user_transaction_versions that every
+ * insert and status change increments in the same database transaction as the change, so it
+ * only grows and two committed states never share a version. Versions are
+ * cached in memory, dropped after commit by local writes and by the
+ * transaction events of other instances, and expire quickly as a safety net.
+ *
+ * The cached version only decides whether a request can be answered with 304.
+ * A response body is read together with its version in one snapshot, see
+ * readSnapshot.
+ */
+@Component
+public class TransactionVersionCache {
+
+    private final UserStatusCountRepository statusCountRepository;
+    private final LoadingCache<UUID, String> versions;
+    private final TransactionTemplate snapshotTemplate;
+
+    public TransactionVersionCache(UserStatusCountRepository statusCountRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${transaction-etag.maximum-size:100000}") long maximumSize,
+                                   @Value("${transaction-etag.expire-after-write-seconds:5}") long expireAfterWriteSeconds) {
+        this.statusCountRepository = statusCountRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .build(this::load);
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Returns the current transaction version of a user.
+     */
+    public String getVersion(UUID userId) {
+        return versions.get(userId);
+    }
+
+    /**
+     * Runs a read of the user's transactions together with a read of the version
+     * in one read-only, repeatable-read transaction, so both come from the same
+     * snapshot of the same database. With replica routing that is the replica,
+     * whose snapshot can be older than the cached version; the version is
+     * therefore read from the database and not from the cache.
+     */
+    public <T> Snapshot<T> readSnapshot(UUID userId, Supplier<T> read) {
+        return snapshotTemplate.execute(status -> {
+            String version = load(userId);
+            return new Snapshot<>(version, read.get());
+        });
+    }
+
+    public void invalidate(UUID userId) {
+        versions.invalidate(userId);
+    }
+
+    /**
+     * Drops the cached version once the current transaction has committed.
+     */
+    public void invalidateAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private String load(UUID userId) {
+        return Long.toString(statusCountRepository.findVersion(userId));
+    }
+
+    /**
+     * Result of a read together with the version of the snapshot it was read from.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Snapshot<T> {
+
+        private final String version;
+        private final T content;
+    }
+}
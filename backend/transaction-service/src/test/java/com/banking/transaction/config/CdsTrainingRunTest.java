@@ -0,0 +1,96 @@
+package com.banking.transaction.config;
+
+import com.banking.transaction.TransactionServiceApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The class data sharing training run from the Dockerfile, in a JVM of its own
+ * because it halts: it must refresh the context without a database or broker,
+ * exit on its own and leave an archive behind.
+ */
+class CdsTrainingRunTest {
+
+    @Test
+    void trainingRunRefreshesTheContextExitsAndWritesTheArchive(@TempDir Path workDir) throws Exception {
+        // -XX:ArchiveClassesAtExit needs JDK 13 or newer
+        assumeTrue(Runtime.version().feature() >= 13);
+        Path archive = workDir.resolve("app.jsa");
+        Path output = workDir.resolve("training.log");
+
+        Process training = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=docker,prod,cds",
+                "-cp", applicationClassPath(workDir),
+                TransactionServiceApplication.class.getName())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+
+        boolean exited = training.waitFor(3, TimeUnit.MINUTES);
+        if (!exited) {
+            training.destroyForcibly();
+        }
+        String log = Files.readString(output);
+        String tail = log.substring(Math.max(0, log.length() - 4000));
+        assertThat(exited).as("training run exited; output ends with:%n%s", tail).isTrue();
+        assertThat(training.exitValue()).as("exit code; output ends with:%n%s", tail).isZero();
+        assertThat(log).contains("Application context refreshed, exiting");
+        assertThat(archive).isNotEmptyFile();
+    }
+
+    /**
+     * The application classes as a jar followed by the dependency jars, as in the
+     * image: CDS cannot archive classes loaded from a directory, and leaving out
+     * the test classes keeps logback-test.xml from replacing the prod logging
+     */
+    private static String applicationClassPath(Path workDir) throws IOException {
+        Path classes = Paths.get("target", "classes").toAbsolutePath();
+        Path testClasses = Paths.get("target", "test-classes").toAbsolutePath();
+        List<String> entries = new ArrayList<>();
+        entries.add(jar(classes, workDir.resolve("application.jar")).toString());
+        String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+        for (String entry : classPath.split(File.pathSeparator)) {
+            Path path = Paths.get(entry).toAbsolutePath();
+            if (!path.equals(classes) && !path.equals(testClasses)) {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static Path jar(Path directory, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> files = Files.walk(directory)) {
+            // Directory entries too: component scanning resolves packages through them
+            for (Path file : (Iterable<Path>) files.filter(file -> !file.equals(directory))::iterator) {
+                String name = directory.relativize(file).toString().replace(File.separatorChar, '/');
+                boolean isDirectory = Files.isDirectory(file);
+                out.putNextEntry(new JarEntry(isDirectory ? name + "/" : name));
+                if (!isDirectory) {
+                    Files.copy(file, (OutputStream) out);
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,102 @@
+package com.banking.transaction.config;
+
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.event.TransactionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of transaction events and DTOs: a general ObjectMapper call
+ * against a writer bound to the type, without and with Blackbird.
+ * Run with -Djmh.args="-prof gc" to see the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JacksonSerializationBenchmark {
+
+    @Param({"TransactionEvent", "TransactionDto"})
+    public String type;
+
+    private Object value;
+    private ObjectMapper reflectiveMapper;
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter blackbirdWriter;
+
+    @Setup
+    public void setUp() {
+        if ("TransactionEvent".equals(type)) {
+            value = TransactionEvent.builder()
+                    .eventType("TRANSACTION_COMPLETED")
+                    .transactionId(UUID.randomUUID().toString())
+                    .reference("TXN-20260601-000001")
+                    .type("TRANSFER")
+                    .status("COMPLETED")
+                    .amount(new BigDecimal("125.40"))
+                    .currency("USD")
+                    .sourceAccountId(UUID.randomUUID().toString())
+                    .targetAccountId(UUID.randomUUID().toString())
+                    .description("Rent")
+                    .userId(UUID.randomUUID().toString())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+        } else {
+            value = TransactionDto.builder()
+                    .id(UUID.randomUUID())
+                    .reference("TXN-20260601-000001")
+                    .type("TRANSFER")
+                    .status("COMPLETED")
+                    .amount(new BigDecimal("125.40"))
+                    .currency("USD")
+                    .sourceAccountId(UUID.randomUUID())
+                    .targetAccountId(UUID.randomUUID())
+                    .description("Rent")
+                    .userId(UUID.randomUUID())
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .processedAt(LocalDateTime.now())
+                    .sourceAccountNumber("1000000001")
+                    .targetAccountNumber("1000000002")
+                    .build();
+        }
+        reflectiveMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        reflectiveWriter = reflectiveMapper.writerFor(value.getClass());
+        blackbirdWriter = new KafkaConfig().objectMapper().writerFor(value.getClass());
+    }
+
+    @Benchmark
+    public String objectMapper() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsString(value);
+    }
+
+    @Benchmark
+    public String typedWriter() throws JsonProcessingException {
+        return reflectiveWriter.writeValueAsString(value);
+    }
+
+    @Benchmark
+    public String typedWriterBlackbird() throws JsonProcessingException {
+        return blackbirdWriter.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,87 @@
+package com.banking.transaction.config;
+
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.event.AccountTransactionEvent;
+import com.banking.transaction.event.TransactionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The application ObjectMapper with Blackbird against plain reflective Jackson.
+ */
+class KafkaConfigTest {
+
+    private final ObjectMapper objectMapper = new KafkaConfig().objectMapper();
+    private final ObjectMapper reflective = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void blackbirdIsRegistered() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+    }
+
+    @Test
+    void transactionEventIsWrittenAsWithoutBlackbird() throws Exception {
+        TransactionEvent event = TransactionEvent.builder()
+                .eventType("TRANSACTION_COMPLETED")
+                .transactionId(UUID.randomUUID().toString())
+                .reference("TXN-1")
+                .type("TRANSFER")
+                .status("COMPLETED")
+                .amount(new BigDecimal("125.40"))
+                .currency("USD")
+                .sourceAccountId(UUID.randomUUID().toString())
+                .targetAccountId(UUID.randomUUID().toString())
+                .description("Rent \"June\"")
+                .userId(UUID.randomUUID().toString())
+                .timestamp(LocalDateTime.of(2026, 6, 1, 9, 30, 15))
+                .build();
+
+        String json = objectMapper.writerFor(TransactionEvent.class).writeValueAsString(event);
+
+        assertThat(json).isEqualTo(reflective.writeValueAsString(event));
+        assertThat(objectMapper.readerFor(TransactionEvent.class).<TransactionEvent>readValue(json)).isEqualTo(event);
+    }
+
+    @Test
+    void transactionDtoIsWrittenAsWithoutBlackbird() throws Exception {
+        TransactionDto dto = TransactionDto.builder()
+                .id(UUID.randomUUID())
+                .reference("TXN-2")
+                .type("PAYMENT")
+                .status("FAILED")
+                .amount(new BigDecimal("0.01"))
+                .currency("EUR")
+                .sourceAccountId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .createdAt(LocalDateTime.of(2026, 6, 1, 9, 30, 15))
+                .failureReason("Insufficient funds")
+                .sourceAccountNumber("1000000001")
+                .build();
+
+        String json = objectMapper.writerFor(TransactionDto.class).writeValueAsString(dto);
+
+        assertThat(json).isEqualTo(reflective.writeValueAsString(dto));
+        assertThat(objectMapper.readerFor(TransactionDto.class).<TransactionDto>readValue(json)).isEqualTo(dto);
+    }
+
+    @Test
+    void accountTransactionEventIsReadAsWithoutBlackbird() throws Exception {
+        String json = "{\"eventId\":\"" + UUID.randomUUID() + "\",\"eventType\":\"MONEY_DEPOSITED\","
+                + "\"accountId\":\"" + UUID.randomUUID() + "\",\"userId\":\"" + UUID.randomUUID() + "\","
+                + "\"amount\":125.40,\"currency\":\"USD\",\"balanceAfter\":1000.00,"
+                + "\"description\":\"Salary\",\"timestamp\":\"2026-06-01T09:30:15\",\"unknownField\":1}";
+
+        AccountTransactionEvent event = objectMapper.readerFor(AccountTransactionEvent.class).readValue(json);
+
+        assertThat(event).isEqualTo(reflective.readValue(json, AccountTransactionEvent.class));
+        assertThat(event.getAmount()).isEqualByComparingTo("125.40");
+    }
+}
@@ -0,0 +1,108 @@
+package com.banking.transaction.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request threads logging a per-request INFO statement through the appender
+ * chain of logback-spring.xml: JSON written synchronously, the prod ASYNC
+ * appender alone, and the full prod profile with LogRateLimitFilter.
+ *
+ * Output goes to a stream that discards it, so the numbers are the cost on
+ * the calling thread without any stdout back-pressure; a slow log pipe only
+ * makes the synchronous chain worse.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async", "async-rate-limited"})
+    public String chain;
+
+    private LoggerContext context;
+    private Logger logger;
+    private String reference;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.putProperty("SERVICE_NAME", "transaction-service");
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setCustomFields("{\"service\":\"transaction-service\"}");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> json = new OutputStreamAppender<>();
+        json.setContext(context);
+        json.setName("JSON");
+        json.setEncoder(encoder);
+        json.setOutputStream(OutputStream.nullOutputStream());
+        json.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        if ("sync".equals(chain)) {
+            root.addAppender(json);
+        } else {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.setMaxFlushTime(2000);
+            async.addAppender(json);
+            async.start();
+            root.addAppender(async);
+        }
+        if ("async-rate-limited".equals(chain)) {
+            LogRateLimitFilter filter = new LogRateLimitFilter();
+            filter.setContext(context);
+            filter.setLoggerPrefix("com.banking");
+            filter.setEventsPerSecond(20);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        logger = context.getLogger("com.banking.transaction.service.TransactionService");
+        reference = "TXN-20260601-000001";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void logCompletedTransaction() {
+        logger.info("Transaction {} completed for user {}", reference, UUID.randomUUID());
+    }
+}
@@ -0,0 +1,109 @@
+package com.banking.transaction.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        routing.destroy();
+    }
+
+    @Test
+    void readOnlyScopeWithoutATransactionGoesToTheReplica() throws SQLException {
+        routing = routing(0);
+
+        assertThat(routeIn(TransactionDefinition.PROPAGATION_SUPPORTS, true))
+                .isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void readOnlyTransactionGoesToTheReplica() throws SQLException {
+        routing = routing(0);
+
+        assertThat(routeIn(TransactionDefinition.PROPAGATION_REQUIRED, true))
+                .isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void writesAndCallsOutsideAnyScopeGoToThePrimary() throws SQLException {
+        routing = routing(0);
+
+        assertThat(routeIn(TransactionDefinition.PROPAGATION_REQUIRED, false))
+                .isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws SQLException {
+        routing = routing(30);
+
+        assertThat(routeIn(TransactionDefinition.PROPAGATION_SUPPORTS, true))
+                .isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+    }
+
+    private Object routeIn(int propagation, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new NoOpTransactionManager());
+        template.setPropagationBehavior(propagation);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> routing.determineCurrentLookupKey());
+    }
+
+    private static ReplicaRoutingDataSource routing(double replicaLagSeconds) throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(replicaLagSeconds);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class), replica,
+                "SELECT 0", 5, 60_000);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * Transaction manager without a resource; it only drives Spring's transaction synchronization.
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
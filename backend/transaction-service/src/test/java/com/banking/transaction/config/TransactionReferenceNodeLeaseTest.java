@@ -0,0 +1,89 @@
+package com.banking.transaction.config;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionReferenceNodeLeaseTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void createTable() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        jdbcTemplate.execute("CREATE TABLE transaction_reference_nodes (" +
+                "node_id SMALLINT PRIMARY KEY CHECK (node_id BETWEEN 0 AND 1023), " +
+                "instance_id VARCHAR(100) NOT NULL, " +
+                "lease_expires_at TIMESTAMP NOT NULL)");
+    }
+
+    @BeforeEach
+    void clearLeases() {
+        jdbcTemplate.update("DELETE FROM transaction_reference_nodes");
+    }
+
+    @Test
+    void runningInstancesClaimDistinctNodeIds() {
+        TransactionReferenceNodeLease first = new TransactionReferenceNodeLease(jdbcTemplate, -1, 60);
+        TransactionReferenceNodeLease second = new TransactionReferenceNodeLease(jdbcTemplate, -1, 60);
+
+        first.start();
+        second.start();
+
+        assertThat(leasedNodeIds()).containsExactly(0, 1);
+    }
+
+    @Test
+    void configuredNodeIdHeldByAnotherInstanceFailsTheStart() {
+        TransactionReferenceNodeLease running = new TransactionReferenceNodeLease(jdbcTemplate, 5, 60);
+        running.start();
+
+        TransactionReferenceNodeLease duplicate = new TransactionReferenceNodeLease(jdbcTemplate, 5, 60);
+
+        assertThatThrownBy(duplicate::start).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void stoppedInstanceReleasesItsNodeId() {
+        TransactionReferenceNodeLease first = new TransactionReferenceNodeLease(jdbcTemplate, 5, 60);
+        first.start();
+        first.stop();
+
+        TransactionReferenceNodeLease next = new TransactionReferenceNodeLease(jdbcTemplate, 5, 60);
+        next.start();
+
+        assertThat(leasedNodeIds()).containsExactly(5);
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndTheFormerHolderMovesAway() {
+        TransactionReferenceNodeLease stalled = new TransactionReferenceNodeLease(jdbcTemplate, -1, 60);
+        stalled.start();
+        jdbcTemplate.update("UPDATE transaction_reference_nodes SET lease_expires_at = now() - interval '1 second'");
+
+        TransactionReferenceNodeLease replacement = new TransactionReferenceNodeLease(jdbcTemplate, -1, 60);
+        replacement.start();
+        stalled.renewLease();
+
+        assertThat(leasedNodeIds()).containsExactly(0, 1);
+    }
+
+    private static List<Integer> leasedNodeIds() {
+        return jdbcTemplate.queryForList("SELECT node_id FROM transaction_reference_nodes ORDER BY node_id", Integer.class);
+    }
+}
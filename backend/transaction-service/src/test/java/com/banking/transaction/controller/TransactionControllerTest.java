@@ -0,0 +1,92 @@
+package com.banking.transaction.controller;
+
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.service.TransactionExportService;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import com.banking.transaction.service.TransactionVersionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Request handling of the paged status endpoint.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionControllerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @Mock
+    private TransactionVersionCache transactionVersionCache;
+
+    private TransactionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new TransactionController(transactionService, transactionExportService,
+                transactionSummaryService, transactionVersionCache);
+    }
+
+    @Test
+    void pageSizeIsCappedAtOneHundred() {
+        when(transactionService.getTransactionsByStatus(eq(TransactionStatus.COMPLETED), eq(null), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        ResponseEntity<CursorPage<TransactionDto>> response = controller.getTransactionsByStatus("completed", null, 100_000);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(transactionService).getTransactionsByStatus(TransactionStatus.COMPLETED, null, 100);
+    }
+
+    @Test
+    void pageSizeBelowOneIsRaisedToOne() {
+        when(transactionService.getTransactionsByStatus(eq(TransactionStatus.FAILED), eq("cursor"), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        controller.getTransactionsByStatus("FAILED", "cursor", -5);
+
+        verify(transactionService).getTransactionsByStatus(TransactionStatus.FAILED, "cursor", 1);
+    }
+
+    @Test
+    void unknownStatusIsABadRequest() {
+        ResponseEntity<CursorPage<TransactionDto>> response = controller.getTransactionsByStatus("SETTLED", null, 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        when(transactionService.getTransactionsByStatus(TransactionStatus.PENDING, "not-a-cursor", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        ResponseEntity<CursorPage<TransactionDto>> response =
+                controller.getTransactionsByStatus("PENDING", "not-a-cursor", 20);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
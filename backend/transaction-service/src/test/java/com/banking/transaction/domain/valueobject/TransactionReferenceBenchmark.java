@@ -0,0 +1,46 @@
+package com.banking.transaction.domain.valueobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference generation on concurrent request threads: the time-ordered
+ * generator against the random UUID string it replaced.
+ * Run with -Djmh.args="-prof gc" to see the bytes allocated per reference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class TransactionReferenceBenchmark {
+
+    @Setup
+    public void setUp() {
+        TransactionReference.useNodeId(1);
+    }
+
+    @Benchmark
+    public TransactionReference timeOrdered() {
+        return TransactionReference.generate();
+    }
+
+    @Benchmark
+    public TransactionReference randomUuid() {
+        return new TransactionReference("TXN-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase());
+    }
+}
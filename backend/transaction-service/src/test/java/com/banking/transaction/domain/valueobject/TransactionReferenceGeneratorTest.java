@@ -0,0 +1,89 @@
+package com.banking.transaction.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionReferenceGeneratorTest {
+
+    @Test
+    void referencesAreFixedWidthAndStrictlyIncreasing() {
+        TransactionReferenceGenerator generator = new TransactionReferenceGenerator(7);
+
+        // Far more than 4096 per millisecond, so the sequence overflows into borrowed milliseconds
+        String previous = generator.nextReference();
+        for (int i = 0; i < 200_000; i++) {
+            String next = generator.nextReference();
+            assertThat(next).hasSize(previous.length()).startsWith(TransactionReferenceGenerator.PREFIX);
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameReference() throws Exception {
+        TransactionReferenceGenerator generator = new TransactionReferenceGenerator(1);
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(generator.nextReference());
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).hasSize(threads * perThread);
+    }
+
+    @Test
+    void differentNodesNeverCollide() {
+        TransactionReferenceGenerator first = new TransactionReferenceGenerator(0);
+        TransactionReferenceGenerator second = new TransactionReferenceGenerator(TransactionReferenceGenerator.MAX_NODE_ID);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(ids.add(first.nextId())).isTrue();
+            assertThat(ids.add(second.nextId())).isTrue();
+        }
+    }
+
+    @Test
+    void encodingPreservesNumericOrder() {
+        long[] ids = {0L, 1L, 31L, 32L, 1L << 40, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(TransactionReferenceGenerator.encode(ids[i]))
+                    .isGreaterThan(TransactionReferenceGenerator.encode(ids[i - 1]));
+        }
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideTenBits() {
+        assertThatThrownBy(() -> new TransactionReferenceGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TransactionReferenceGenerator(TransactionReferenceGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
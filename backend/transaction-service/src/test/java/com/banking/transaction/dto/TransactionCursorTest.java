@@ -0,0 +1,40 @@
+package com.banking.transaction.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTest {
+
+    @Test
+    void roundTripKeepsMicrosecondsAndWholeMinutes() {
+        UUID id = UUID.randomUUID();
+        for (LocalDateTime createdAt : new LocalDateTime[] {
+                LocalDateTime.of(2026, 10, 19, 10, 15, 30, 123_456_000),
+                LocalDateTime.of(2026, 10, 19, 10, 15)}) {
+            TransactionCursor decoded = TransactionCursor.decode(new TransactionCursor(createdAt, id).encode());
+
+            assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(decoded.getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = new TransactionCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void tamperedTokensAreRejected() {
+        assertThatThrownBy(() -> TransactionCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TransactionCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
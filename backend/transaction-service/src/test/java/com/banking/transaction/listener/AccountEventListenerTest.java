@@ -0,0 +1,54 @@
+package com.banking.transaction.listener;
+
+import com.banking.transaction.service.TransactionEventIngestionService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountEventListenerTest {
+
+    private final TransactionEventIngestionService ingestionService = mock(TransactionEventIngestionService.class);
+    private final AccountEventListener listener = new AccountEventListener(ingestionService);
+
+    private final List<ConsumerRecord<String, String>> records = List.of(
+            record(0), record(1), record(2), record(3));
+
+    @Test
+    void healthyBatchIsIngestedAtOnce() {
+        when(ingestionService.ingest(records)).thenReturn(4);
+
+        listener.onEvents(records);
+
+        verify(ingestionService).ingest(records);
+        verify(ingestionService, never()).ingest(List.of(records.get(0)));
+    }
+
+    @Test
+    void failedBatchReportsTheFailingRecordAfterIngestingTheOnesBeforeIt() {
+        when(ingestionService.ingest(anyList())).thenReturn(1);
+        when(ingestionService.ingest(records)).thenThrow(new IllegalArgumentException("unreadable"));
+        when(ingestionService.ingest(List.of(records.get(2)))).thenThrow(new IllegalArgumentException("unreadable"));
+
+        assertThatThrownBy(() -> listener.onEvents(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(2));
+
+        verify(ingestionService).ingest(List.of(records.get(0)));
+        verify(ingestionService).ingest(List.of(records.get(1)));
+        verify(ingestionService, never()).ingest(List.of(records.get(3)));
+    }
+
+    private static ConsumerRecord<String, String> record(long offset) {
+        return new ConsumerRecord<>(AccountEventListener.ACCOUNT_TRANSACTION_EVENTS_TOPIC, 0, offset, "key", "{}");
+    }
+}
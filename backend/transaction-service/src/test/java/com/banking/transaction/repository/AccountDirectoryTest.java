@@ -0,0 +1,110 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Ownership checks and enrichment against the local account directory and its database fallback.
+ */
+class AccountDirectoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private AccountDirectory accountDirectory;
+    private UUID userId;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountDirectory = new AccountDirectory(jdbcTemplate);
+        userId = insertUser();
+        accountId = insertAccount(userId);
+    }
+
+    @Test
+    void accountMissingFromTheDirectoryIsReadFromTheDatabaseOnce() {
+        assertThat(accountDirectory.find(accountId)).isEmpty();
+
+        assertThat(accountDirectory.belongsTo(accountId, userId)).isTrue();
+
+        AccountDirectory.Entry entry = accountDirectory.find(accountId).orElseThrow();
+        assertThat(entry.getUserId()).isEqualTo(userId);
+        assertThat(entry.getAccountNumber()).isEqualTo(accountNumber(accountId));
+        assertThat(entry.getStatus()).isEqualTo("ACTIVE");
+        assertThat(entry.getCurrency()).isEqualTo("USD");
+    }
+
+    @Test
+    void unknownAccountsAndOtherUsersAccountsAreRejected() {
+        accountDirectory.markReady();
+
+        assertThat(accountDirectory.belongsTo(UUID.randomUUID(), userId)).isFalse();
+        assertThat(accountDirectory.belongsTo(accountId, insertUser())).isFalse();
+    }
+
+    @Test
+    void directoryEntryIsUsedWithoutTheDatabase() {
+        UUID eventOnlyAccount = UUID.randomUUID();
+        accountDirectory.put(eventOnlyAccount, userId, "9000000001", "ACTIVE", "EUR");
+
+        assertThat(accountDirectory.belongsTo(eventOnlyAccount, userId)).isTrue();
+        assertThat(accountDirectory.size()).isEqualTo(1);
+    }
+
+    @Test
+    void transactionsCarryTheAccountNumbersTheDirectoryKnows() {
+        UUID otherAccountId = insertAccount(userId);
+        accountDirectory.put(accountId, userId, accountNumber(accountId), "ACTIVE", "USD");
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, " +
+                "transaction_type, amount, currency, status, user_id) " +
+                "VALUES (?, 'TXN-DIR-1', ?, ?, 'TRANSFER', 10.00, 'USD', 'COMPLETED', ?)",
+                UUID.randomUUID(), accountId, otherAccountId, userId);
+        TransactionService transactionService = new TransactionService(transactionRepository,
+                mock(EventPublisherService.class), accountDirectory, mock(ExternalReferenceIndex.class),
+                mock(TransactionTemplate.class), mock(TransactionSummaryService.class),
+                mock(TransactionSearchRepository.class));
+
+        TransactionDto transaction = transactionService.getUserTransactionsAfter(userId, null, 10)
+                .getContent().get(0);
+
+        assertThat(transaction.getSourceAccountNumber()).isEqualTo(accountNumber(accountId));
+        // Enrichment never queries the database; the target is not in the directory
+        assertThat(transaction.getTargetAccountNumber()).isNull();
+    }
+
+    private UUID insertUser() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", id, "user-" + id, id + "@bank.test");
+        return id;
+    }
+
+    private UUID insertAccount(UUID owner) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", id, accountNumber(id), owner);
+        return id;
+    }
+
+    private static String accountNumber(UUID accountId) {
+        return accountId.toString().substring(0, 20);
+    }
+}
@@ -0,0 +1,213 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans and results of the source-or-target account queries.
+ *
+ * The plan tests load a busy account, 2% of 40k rows on each side, and
+ * EXPLAIN the exact SQL of the repository methods. A regression to an OR
+ * filter shows up as a BitmapOr, and losing the in-order merge of the two
+ * index scans shows up as a Sort over the whole account. Empty partitions
+ * are sequentially scanned at no cost, so only partitions with rows count.
+ */
+class AccountHistoryQueryTest extends PostgresRepositoryTest {
+
+    private static final int ROWS = 40_000;
+    private static final String FROM_INDEX_SUFFIX = "_from_account_id_created_at_id_idx";
+    private static final String TO_INDEX_SUFFIX = "_to_account_id_created_at_id_idx";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UUID userId;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = insertAccount();
+    }
+
+    @Test
+    void pagedHistoryMergesBothIndexesInOrder() {
+        loadBusyAccount();
+
+        for (JsonNode plan : Arrays.asList(
+                explain(nativeQuery("findAccountHistory"), params().addValue("limit", 21)),
+                explain(nativeQuery("findAccountHistoryAfter"), params().addValue("limit", 21)
+                        .addValue("createdAt", Timestamp.valueOf(LocalDateTime.now().minusDays(2)))
+                        .addValue("id", UUID.randomUUID())),
+                explain(nativeQuery("findByAccountId") + " LIMIT 20 OFFSET 0", params().addValue("limit", 20)))) {
+            assertThat(nodeTypes(plan)).doesNotContain("BitmapOr", "Sort");
+            assertThat(seqScannedRelations(plan)).doesNotContainAnyElementsOf(nonEmptyPartitions());
+            assertThat(indexNames(plan)).anyMatch(name -> name.endsWith(FROM_INDEX_SUFFIX))
+                    .anyMatch(name -> name.endsWith(TO_INDEX_SUFFIX));
+        }
+    }
+
+    @Test
+    void unpagedAccountQueriesScanOnlyTheAccountIndexes() {
+        loadBusyAccount();
+        MapSqlParameterSource range = params()
+                .addValue("startDate", Timestamp.valueOf(LocalDateTime.now().minusDays(1)))
+                .addValue("endDate", Timestamp.valueOf(LocalDateTime.now()));
+
+        for (JsonNode plan : Arrays.asList(
+                explain(nativeQuery("findByAccountIdAndDateRange"), range),
+                explain(nativeQuery("streamAccountStatement"), range),
+                explain(nativeQuery("countByAccountIdAndStatus").replace(":#{#status.name()}", "'COMPLETED'"),
+                        params()))) {
+            assertThat(nodeTypes(plan)).doesNotContain("BitmapOr");
+            assertThat(seqScannedRelations(plan)).doesNotContainAnyElementsOf(nonEmptyPartitions());
+            assertThat(indexNames(plan)).isNotEmpty()
+                    .allMatch(name -> name.endsWith(FROM_INDEX_SUFFIX) || name.endsWith(TO_INDEX_SUFFIX));
+        }
+    }
+
+    @Test
+    void selfTransferIsReturnedAndCountedOnce() {
+        UUID otherAccountId = insertAccount();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        UUID selfTransfer = insert(accountId, accountId, now.minusMinutes(1));
+        UUID incoming = insert(otherAccountId, accountId, now.minusMinutes(2));
+        UUID outgoing = insert(accountId, otherAccountId, now.minusMinutes(3));
+        List<UUID> expected = Arrays.asList(selfTransfer, incoming, outgoing);
+
+        Page<Transaction> page = transactionRepository.findByAccountId(accountId, 10, PageRequest.of(0, 10));
+        assertThat(ids(page.getContent())).containsExactlyElementsOf(expected);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+
+        assertThat(ids(transactionRepository.findAccountHistory(accountId, 10))).containsExactlyElementsOf(expected);
+        assertThat(ids(transactionRepository.findAccountHistoryAfter(accountId, now, UUID.randomUUID(), 10)))
+                .containsExactlyElementsOf(expected);
+        assertThat(ids(transactionRepository.findByAccountIdAndDateRange(accountId, now.minusHours(1), now)))
+                .containsExactlyElementsOf(expected);
+        assertThat(transactionRepository.countByAccountIdAndStatus(accountId, TransactionStatus.COMPLETED))
+                .isEqualTo(3);
+    }
+
+    /**
+     * Spreads ROWS transfers over the last 20 days; the test account is the source of
+     * every 50th and the target of the next one, the rest go between 1000 other accounts.
+     */
+    private void loadBusyAccount() {
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "SELECT gen_random_uuid(), 'PLAN' || n, ?, 'CHECKING', 'ACTIVE' FROM generate_series(1, 1000) AS n",
+                userId);
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, " +
+                "transaction_type, amount, currency, status, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'TXN-PLAN-' || n, " +
+                "CASE WHEN n % 50 = 0 THEN ? ELSE others[1 + n % 1000] END, " +
+                "CASE WHEN n % 50 = 1 THEN ? ELSE others[1 + (n * 7 + 3) % 1000] END, " +
+                "'TRANSFER', 10.00, 'USD', 'COMPLETED', ?, LOCALTIMESTAMP - make_interval(secs => n * 43) " +
+                "FROM generate_series(1, ?) AS n, " +
+                "(SELECT array_agg(id) AS others FROM accounts WHERE account_number LIKE 'PLAN%') AS a",
+                accountId, accountId, userId, ROWS);
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    private MapSqlParameterSource params() {
+        return new MapSqlParameterSource("accountId", accountId);
+    }
+
+    private static String nativeQuery(String methodName) {
+        Method method = Arrays.stream(TransactionRepository.class.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No repository method " + methodName));
+        Query query = method.getAnnotation(Query.class);
+        assertThat(query.nativeQuery()).isTrue();
+        return query.value();
+    }
+
+    private JsonNode explain(String sql, MapSqlParameterSource parameters) {
+        String json = namedJdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, parameters, String.class);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    private static List<String> nodeTypes(JsonNode plan) {
+        return collect(plan, node -> node.path("Node Type").asText(null));
+    }
+
+    private static List<String> seqScannedRelations(JsonNode plan) {
+        return collect(plan, node -> "Seq Scan".equals(node.path("Node Type").asText())
+                ? node.path("Relation Name").asText() : null);
+    }
+
+    private List<String> nonEmptyPartitions() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT tableoid::regclass::text FROM transactions", String.class);
+    }
+
+    private static List<String> indexNames(JsonNode plan) {
+        return collect(plan, node -> node.path("Index Name").asText(null));
+    }
+
+    private static List<String> collect(JsonNode plan, Function<JsonNode, String> field) {
+        List<String> values = new ArrayList<>();
+        String value = field.apply(plan);
+        if (value != null) {
+            values.add(value);
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            values.addAll(collect(child, field));
+        }
+        return values;
+    }
+
+    private static List<UUID> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getId).collect(Collectors.toList());
+    }
+
+    private UUID insertAccount() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", id, id.toString().substring(0, 20), userId);
+        return id;
+    }
+
+    private UUID insert(UUID from, UUID to, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, " +
+                "transaction_type, amount, currency, status, user_id, created_at) " +
+                "VALUES (?, ?, ?, ?, 'TRANSFER', 10.00, 'USD', 'COMPLETED', ?, ?)",
+                id, "TXN-" + id, from, to, userId, Timestamp.valueOf(createdAt));
+        return id;
+    }
+}
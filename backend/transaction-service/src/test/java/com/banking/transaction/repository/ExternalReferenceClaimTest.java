@@ -0,0 +1,101 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.valueobject.TransactionReference;
+import com.banking.transaction.dto.CreateTransactionRequest;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.DuplicateExternalReferenceException;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * External references claimed by transactions that are no longer readable,
+ * as after their partition was detached. Runs without a test transaction:
+ * the failed claim aborts the database transaction it runs in.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExternalReferenceClaimTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+    private String externalReference;
+
+    @BeforeAll
+    static void leaseNodeId() {
+        TransactionReference.useNodeId(1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        AccountDirectory accountDirectory = mock(AccountDirectory.class);
+        transactionService = new TransactionService(transactionRepository, mock(EventPublisherService.class),
+                accountDirectory, new ExternalReferenceIndex(transactionRepository, 1000, 0.01, 100),
+                new TransactionTemplate(transactionManager), mock(TransactionSummaryService.class),
+                mock(TransactionSearchRepository.class));
+
+        userId = UUID.randomUUID();
+        accountId = UUID.randomUUID();
+        externalReference = "archived-" + userId;
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        jdbcTemplate.update("INSERT INTO transaction_external_references (external_reference) VALUES (?)",
+                externalReference);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transaction_external_references WHERE external_reference = ?",
+                externalReference);
+    }
+
+    @Test
+    void claimWithoutAReadableTransactionIsReported() {
+        assertThat(transactionRepository.isExternalReferenceClaimed(externalReference)).isTrue();
+        assertThat(transactionRepository.isExternalReferenceClaimed("never-" + userId)).isFalse();
+    }
+
+    @Test
+    void reusingTheReferenceOfAnArchivedTransactionIsAConflict() {
+        CreateTransactionRequest request = CreateTransactionRequest.builder()
+                .type("WITHDRAWAL")
+                .amount(new BigDecimal("25.00"))
+                .currency("USD")
+                .sourceAccountId(accountId)
+                .userId(userId)
+                .externalReference(externalReference)
+                .build();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request))
+                .isInstanceOf(DuplicateExternalReferenceException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?",
+                Long.class, userId)).isZero();
+    }
+}
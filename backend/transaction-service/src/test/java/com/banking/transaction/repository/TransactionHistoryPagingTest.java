@@ -0,0 +1,191 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset pagination boundaries of the user and account history endpoints.
+ */
+class TransactionHistoryPagingTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+    private UUID otherAccountId;
+    private final List<Row> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionService(transactionRepository, mock(EventPublisherService.class),
+                mock(AccountDirectory.class), mock(ExternalReferenceIndex.class), mock(TransactionTemplate.class),
+                mock(TransactionSummaryService.class), mock(TransactionSearchRepository.class));
+
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = insertAccount();
+        otherAccountId = insertAccount();
+    }
+
+    @Test
+    void userHistoryVisitsEveryRowOnceInKeysetOrderAcrossTiedTimestamps() {
+        for (int i = 0; i < 15; i++) {
+            insert("DEPOSIT", null, accountId, BASE.minusMinutes(i));
+        }
+        // Eight rows sharing one timestamp force the id tie-breaker across page boundaries
+        for (int i = 0; i < 8; i++) {
+            insert("DEPOSIT", null, accountId, BASE.minusMinutes(7));
+        }
+
+        List<CursorPage<TransactionDto>> pages = walk(
+                (cursor, size) -> transactionService.getUserTransactionsAfter(userId, cursor, size), 5);
+
+        assertThat(ids(pages)).containsExactlyElementsOf(expectedOrder());
+        assertThat(pages).hasSize(5);
+    }
+
+    @Test
+    void exactMultipleOfThePageSizeEndsWithoutAnEmptyPage() {
+        for (int i = 0; i < 10; i++) {
+            insert("DEPOSIT", null, accountId, BASE.minusMinutes(i));
+        }
+
+        List<CursorPage<TransactionDto>> pages = walk(
+                (cursor, size) -> transactionService.getUserTransactionsAfter(userId, cursor, size), 5);
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0).isHasMore()).isTrue();
+        assertThat(pages.get(1).getContent()).hasSize(5);
+        assertThat(pages.get(1).isHasMore()).isFalse();
+        assertThat(pages.get(1).getNextCursor()).isNull();
+    }
+
+    @Test
+    void emptyHistoryIsOnePageWithoutCursor() {
+        CursorPage<TransactionDto> page = transactionService.getUserTransactionsAfter(userId, null, 5);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void accountHistoryVisitsEveryRowOnceFromBothSidesOfTheAccount() {
+        for (int i = 0; i < 4; i++) {
+            insert("DEPOSIT", null, accountId, BASE.minusMinutes(i));
+            insert("WITHDRAWAL", accountId, null, BASE.minusMinutes(i));
+            insert("TRANSFER", accountId, otherAccountId, BASE.minusMinutes(i + 2));
+            insert("TRANSFER", otherAccountId, accountId, BASE.minusMinutes(i + 2));
+        }
+        // Not part of this account's history
+        insert("DEPOSIT", null, otherAccountId, BASE.minusMinutes(1));
+
+        List<CursorPage<TransactionDto>> pages = walk(
+                (cursor, size) -> transactionService.getAccountTransactionsAfter(accountId, cursor, size), 3);
+
+        List<UUID> expected = rows.stream()
+                .filter(row -> accountId.equals(row.from) || accountId.equals(row.to))
+                .sorted(KEYSET_ORDER)
+                .map(row -> row.id)
+                .collect(Collectors.toList());
+        assertThat(ids(pages)).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Follows nextCursor until the last page, checking the page invariants on the way
+     */
+    private List<CursorPage<TransactionDto>> walk(BiFunction<String, Integer, CursorPage<TransactionDto>> fetch,
+                                                  int size) {
+        List<CursorPage<TransactionDto>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TransactionDto> page = fetch.apply(cursor, size);
+            assertThat(page.isHasMore()).isEqualTo(page.getNextCursor() != null);
+            if (page.isHasMore()) {
+                assertThat(page.getContent()).hasSize(size);
+            } else {
+                assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+            }
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private List<UUID> ids(List<CursorPage<TransactionDto>> pages) {
+        return pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .map(TransactionDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<UUID> expectedOrder() {
+        return rows.stream().sorted(KEYSET_ORDER).map(row -> row.id).collect(Collectors.toList());
+    }
+
+    // created_at DESC, id DESC; Postgres orders UUIDs bytewise, which matches their lowercase text form
+    private static final Comparator<Row> KEYSET_ORDER = Comparator.<Row, LocalDateTime>comparing(row -> row.createdAt)
+            .thenComparing(row -> row.id.toString())
+            .reversed();
+
+    private UUID insertAccount() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", id, id.toString().substring(0, 20), userId);
+        return id;
+    }
+
+    private void insert(String type, UUID from, UUID to, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, " +
+                "transaction_type, amount, currency, status, user_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, 10.00, 'USD', 'COMPLETED', ?, ?)",
+                id, "TXN-" + id, from, to, type, userId, Timestamp.valueOf(createdAt));
+        rows.add(new Row(id, from, to, createdAt));
+    }
+
+    private static final class Row {
+        final UUID id;
+        final UUID from;
+        final UUID to;
+        final LocalDateTime createdAt;
+
+        Row(UUID id, UUID from, UUID to, LocalDateTime createdAt) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+            this.createdAt = createdAt;
+        }
+    }
+}
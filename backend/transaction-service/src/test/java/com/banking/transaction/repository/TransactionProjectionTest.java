@@ -0,0 +1,188 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.domain.entity.TransactionType;
+import com.banking.transaction.dto.TransactionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Constructor projections of the list reads against the entity mapping they replaced.
+ */
+@Slf4j
+class TransactionProjectionTest extends PostgresRepositoryTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final String ENTITY_PAGE =
+            "SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.createdAt DESC, t.id DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+    private UUID accountId;
+    private UUID otherAccountId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = insertAccount();
+        otherAccountId = insertAccount();
+
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS).minusHours(1);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            boolean failed = i % 10 == 0;
+            jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, " +
+                    "to_account_id, transaction_type, amount, currency, status, description, external_reference, " +
+                    "user_id, created_at, updated_at, completed_at, failure_reason) " +
+                    "VALUES (?, ?, ?, ?, 'TRANSFER', ?, 'EUR', ?, ?, ?, ?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), "TXN-PROJ-" + i, accountId, otherAccountId, 10 + i + 0.25,
+                    failed ? "FAILED" : "COMPLETED", "Rent, \"flat\" " + i, i % 3 == 0 ? "ext-" + i : null, userId,
+                    Timestamp.valueOf(base.minusMinutes(i)), Timestamp.valueOf(base.minusMinutes(i).plusSeconds(1)),
+                    failed ? null : Timestamp.valueOf(base.minusMinutes(i).plusSeconds(2)),
+                    failed ? "Insufficient funds" : null);
+        }
+    }
+
+    @Test
+    void projectedRowsEqualTheEntityMapping() {
+        List<TransactionDto> expected = loadEntityPage();
+
+        assertThat(transactionRepository.findDtosByUserId(userId, PageRequest.of(0, PAGE_SIZE)).getContent())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(transactionRepository.findUserHistory(userId, PageRequest.of(0, PAGE_SIZE)))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+        assertThat(transactionRepository.findDtosByUserIdAndStatus(userId, TransactionStatus.FAILED,
+                PageRequest.of(0, PAGE_SIZE)).getContent())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(expected.stream()
+                        .filter(dto -> "FAILED".equals(dto.getStatus()))
+                        .collect(Collectors.toList()));
+        assertThat(transactionRepository.findDtosByUserIdAndType(userId, TransactionType.TRANSFER,
+                PageRequest.of(0, PAGE_SIZE)).getContent())
+                .hasSize(PAGE_SIZE);
+    }
+
+    @Test
+    void projectionsLeaveThePersistenceContextEmpty() {
+        entityManager.clear();
+
+        transactionRepository.findDtosByUserId(userId, PageRequest.of(0, PAGE_SIZE));
+        transactionRepository.findUserHistory(userId, PageRequest.of(0, PAGE_SIZE));
+        transactionRepository.findByStatusPage(TransactionStatus.COMPLETED, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(session().getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void nativeAccountHistoryLoadsReadOnlyEntities() {
+        entityManager.clear();
+
+        List<Transaction> history = transactionRepository.findAccountHistory(accountId, PAGE_SIZE);
+
+        assertThat(history).hasSize(PAGE_SIZE);
+        assertThat(history).allMatch(transaction -> session().isReadOnly(transaction));
+    }
+
+    /**
+     * Before/after measurement for a 100-row history page: bytes allocated by the
+     * calling thread and wall time, entity load plus mapping against the projection.
+     */
+    @Test
+    void projectedPageAllocatesLessThanMappingEntities() {
+        Measurement entities = measure(this::loadEntityPage);
+        Measurement projection = measure(() -> transactionRepository.findUserHistory(
+                userId, PageRequest.of(0, PAGE_SIZE)));
+
+        log.info("{}-row page, entities + mapping: {} bytes, {} us; projection: {} bytes, {} us", PAGE_SIZE,
+                entities.bytes, entities.micros, projection.bytes, projection.micros);
+        assertThat(projection.bytes).isLessThan(entities.bytes);
+    }
+
+    private List<TransactionDto> loadEntityPage() {
+        return entityManager.createQuery(ENTITY_PAGE, Transaction.class)
+                .setParameter("userId", userId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(TransactionDto::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Median over measured runs after a warm-up; the persistence context is cleared
+     * after every run so neither path reuses entities loaded by the previous one.
+     */
+    private Measurement measure(Supplier<List<TransactionDto>> page) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int warmUp = 50;
+        int runs = 51;
+        long[] bytes = new long[runs];
+        long[] nanos = new long[runs];
+        for (int i = 0; i < warmUp + runs; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            assertThat(page.get()).hasSize(PAGE_SIZE);
+            entityManager.clear();
+            if (i >= warmUp) {
+                nanos[i - warmUp] = System.nanoTime() - start;
+                bytes[i - warmUp] = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }
+        }
+        Arrays.sort(bytes);
+        Arrays.sort(nanos);
+        return new Measurement(bytes[runs / 2], nanos[runs / 2] / 1000);
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    private UUID insertAccount() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", id, id.toString().substring(0, 20), userId);
+        return id;
+    }
+
+    private static final class Measurement {
+        final long bytes;
+        final long micros;
+
+        Measurement(long bytes, long micros) {
+            this.bytes = bytes;
+            this.micros = micros;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.dto.TransactionSearchCriteria;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Description, counterparty, date and amount filters of the transaction search.
+ */
+class TransactionSearchTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+    private UUID landlordAccountId;
+    private UUID employerAccountId;
+
+    private UUID rent;
+    private UUID salary;
+    private UUID groceries;
+    private UUID discount;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionService(transactionRepository, mock(EventPublisherService.class),
+                mock(AccountDirectory.class), mock(ExternalReferenceIndex.class), mock(TransactionTemplate.class),
+                mock(TransactionSummaryService.class), new TransactionSearchRepository(entityManager));
+
+        userId = insertUser();
+        accountId = insertAccount(userId);
+        UUID otherUserId = insertUser();
+        landlordAccountId = insertAccount(otherUserId);
+        employerAccountId = insertAccount(otherUserId);
+
+        rent = insert(userId, accountId, landlordAccountId, "Rent for March", "1200.00", BASE);
+        salary = insert(userId, employerAccountId, accountId, "MARCH SALARY", "3500.00", BASE.plusDays(1));
+        groceries = insert(userId, accountId, null, "Groceries at the market", "82.40", BASE.plusDays(2));
+        discount = insert(userId, accountId, null, "Coupon 50%_off", "10.00", BASE.plusDays(3));
+        // Another user's transaction matching every filter below
+        insert(otherUserId, landlordAccountId, accountId, "Rent for March refund", "1200.00", BASE);
+    }
+
+    @Test
+    void textMatchesAnyPartOfTheDescriptionIgnoringCase() {
+        assertThat(search(criteria().text("march"))).containsExactly(salary, rent);
+        assertThat(search(criteria().text("  MARKET "))).containsExactly(groceries);
+    }
+
+    @Test
+    void likeWildcardsInTheTextAreMatchedLiterally() {
+        assertThat(search(criteria().text("50%_"))).containsExactly(discount);
+        assertThat(search(criteria().text("_"))).containsExactly(discount);
+        assertThat(search(criteria().text("%"))).containsExactly(discount);
+    }
+
+    @Test
+    void counterpartyMatchesEitherSideOfTheTransaction() {
+        assertThat(search(criteria().counterpartyAccountId(landlordAccountId))).containsExactly(rent);
+        assertThat(search(criteria().counterpartyAccountId(employerAccountId))).containsExactly(salary);
+    }
+
+    @Test
+    void dateAndAmountBoundsAreInclusive() {
+        assertThat(search(criteria().fromDate(BASE.plusDays(1)).toDate(BASE.plusDays(2))))
+                .containsExactly(groceries, salary);
+        assertThat(search(criteria().minAmount(new BigDecimal("82.40")).maxAmount(new BigDecimal("1200.00"))))
+                .containsExactly(groceries, rent);
+    }
+
+    @Test
+    void filtersAreCombined() {
+        assertThat(search(criteria().text("march").minAmount(new BigDecimal("2000"))))
+                .containsExactly(salary);
+        assertThat(search(criteria().text("rent").counterpartyAccountId(employerAccountId))).isEmpty();
+    }
+
+    @Test
+    void withoutFiltersTheUsersWholeHistoryIsPagedNewestFirst() {
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TransactionDto> page = transactionService.searchUserTransactions(criteria().build(), cursor, 3);
+            page.getContent().forEach(transaction -> visited.add(transaction.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(visited).containsExactly(discount, groceries, salary, rent);
+    }
+
+    private List<UUID> search(TransactionSearchCriteria.TransactionSearchCriteriaBuilder criteria) {
+        List<UUID> ids = new ArrayList<>();
+        transactionService.searchUserTransactions(criteria.build(), null, 20).getContent()
+                .forEach(transaction -> ids.add(transaction.getId()));
+        return ids;
+    }
+
+    private TransactionSearchCriteria.TransactionSearchCriteriaBuilder criteria() {
+        return TransactionSearchCriteria.builder().userId(userId);
+    }
+
+    private UUID insertUser() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", id, "user-" + id, id + "@bank.test");
+        return id;
+    }
+
+    private UUID insertAccount(UUID owner) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", id, id.toString().substring(0, 20), owner);
+        return id;
+    }
+
+    private UUID insert(UUID owner, UUID from, UUID to, String description, String amount, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, " +
+                "transaction_type, amount, currency, status, description, user_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 'USD', 'COMPLETED', ?, ?, ?)",
+                id, "TXN-" + id, from, to, to == null ? "WITHDRAWAL" : "TRANSFER", new BigDecimal(amount), description, owner, Timestamp.valueOf(createdAt));
+        return id;
+    }
+}
@@ -0,0 +1,229 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionType;
+import com.banking.transaction.domain.valueobject.Money;
+import com.banking.transaction.domain.valueobject.TransactionReference;
+import com.banking.transaction.dto.TransactionSummaryDto;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import com.banking.transaction.service.TransactionVersionCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-user status counters and monthly totals across every status transition.
+ */
+class TransactionStatusCountTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserStatusCountRepository statusCountRepository;
+
+    @Autowired
+    private UserMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private TransactionSummaryService summaryService;
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+
+    @BeforeAll
+    static void leaseNodeId() {
+        TransactionReference.useNodeId(1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        TransactionVersionCache versionCache = new TransactionVersionCache(statusCountRepository, transactionManager, 100, 60);
+        summaryService = new TransactionSummaryService(statusCountRepository, monthlyTotalRepository, versionCache);
+        transactionService = new TransactionService(transactionRepository, mock(EventPublisherService.class),
+                mock(AccountDirectory.class), mock(ExternalReferenceIndex.class), mock(TransactionTemplate.class),
+                summaryService, mock(TransactionSearchRepository.class));
+
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", accountId, accountId.toString().substring(0, 20), userId);
+    }
+
+    @Test
+    void newTransactionIsCountedAsPending() {
+        create();
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("PENDING", 1L));
+        assertThat(monthlyTotals()).isEmpty();
+    }
+
+    @Test
+    void processingAndCompletionMoveTheCountAndBookTheAmount() {
+        UUID id = create();
+
+        transactionService.processTransaction(id);
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("PROCESSING", 1L));
+
+        transactionService.completeTransaction(id);
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("COMPLETED", 1L));
+        assertThat(monthlyTotals()).singleElement().satisfies(total -> {
+            assertThat(total.getType()).isEqualTo("WITHDRAWAL");
+            assertThat(total.getCount()).isEqualTo(1);
+            assertThat(total.getTotalAmount()).isEqualByComparingTo("25.00");
+        });
+    }
+
+    @Test
+    void failureFromProcessingIsCountedWithoutAnAmount() {
+        UUID id = create();
+        transactionService.processTransaction(id);
+
+        transactionService.failTransaction(id, "declined");
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("FAILED", 1L));
+        assertThat(monthlyTotals()).isEmpty();
+    }
+
+    @Test
+    void failureFromPendingIsCounted() {
+        UUID id = create();
+
+        transactionService.failTransaction(id, "declined");
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("FAILED", 1L));
+    }
+
+    @Test
+    void cancellationIsCounted() {
+        UUID id = create();
+
+        transactionService.cancelTransaction(id);
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("CANCELLED", 1L));
+    }
+
+    @Test
+    void reversalTakesTheAmountBackOutOfTheMonth() {
+        UUID id = create();
+        transactionService.processTransaction(id);
+        transactionService.completeTransaction(id);
+
+        transactionService.reverseTransaction(id);
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("REVERSED", 1L));
+        assertThat(monthlyTotals()).singleElement().satisfies(total -> {
+            assertThat(total.getCount()).isZero();
+            assertThat(total.getTotalAmount()).isEqualByComparingTo("0.00");
+        });
+    }
+
+    @Test
+    void rejectedTransitionLeavesTheCountersAlone() {
+        UUID id = create();
+        transactionService.processTransaction(id);
+        transactionService.completeTransaction(id);
+
+        assertThatThrownBy(() -> transactionService.cancelTransaction(id)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(nonZeroCounts()).containsExactly(Map.entry("COMPLETED", 1L));
+        assertThat(monthlyTotals()).singleElement().satisfies(total -> assertThat(total.getCount()).isEqualTo(1));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentStatusChangesAreCountedOnce() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            UUID id = transactionTemplate.execute(status -> create());
+            transactionTemplate.executeWithoutResult(status -> transactionService.processTransaction(id));
+
+            CyclicBarrier start = new CyclicBarrier(2);
+            List<Future<Boolean>> completions = List.of(
+                    callers.submit(() -> complete(transactionTemplate, id, start)),
+                    callers.submit(() -> complete(transactionTemplate, id, start)));
+
+            long succeeded = 0;
+            for (Future<Boolean> completion : completions) {
+                succeeded += completion.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(succeeded).isEqualTo(1);
+            assertThat(nonZeroCounts()).containsExactly(Map.entry("COMPLETED", 1L));
+            assertThat(monthlyTotals()).singleElement().satisfies(total -> assertThat(total.getCount()).isEqualTo(1));
+        } finally {
+            callers.shutdownNow();
+            for (String table : List.of("user_status_counts", "user_monthly_totals", "user_transaction_versions",
+                    "transactions", "accounts", "users")) {
+                jdbcTemplate.update("DELETE FROM " + table + ("users".equals(table) ? " WHERE id = ?" : " WHERE user_id = ?"),
+                        userId);
+            }
+        }
+    }
+
+    private boolean complete(TransactionTemplate transactionTemplate, UUID id, CyclicBarrier start) throws Exception {
+        start.await(5, TimeUnit.SECONDS);
+        try {
+            transactionTemplate.executeWithoutResult(status -> transactionService.completeTransaction(id));
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private UUID create() {
+        Transaction transaction = transactionRepository.saveAndFlush(new Transaction(TransactionType.WITHDRAWAL,
+                new Money(new BigDecimal("25.00"), "USD"), accountId, "ATM", userId));
+        summaryService.recordCreated(transaction);
+        return transaction.getId();
+    }
+
+    private Map<String, Long> nonZeroCounts() {
+        // The counters are changed by native updates; drop counter rows read earlier in the test
+        entityManager.clear();
+        Map<String, Long> counts = new LinkedHashMap<>(summaryService.getUserSummary(userId).getCountsByStatus());
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+
+    private List<TransactionSummaryDto.TypeTotal> monthlyTotals() {
+        return summaryService.getUserSummary(userId).getMonthlyTotals();
+    }
+}
@@ -0,0 +1,144 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.dto.CursorPage;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.service.AccountDirectory;
+import com.banking.transaction.service.EventPublisherService;
+import com.banking.transaction.service.ExternalReferenceIndex;
+import com.banking.transaction.service.TransactionService;
+import com.banking.transaction.service.TransactionSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Keyset pagination of the operator status endpoint, oldest first.
+ */
+class TransactionStatusPagingTest extends PostgresRepositoryTest {
+
+    // Older than anything other tests insert, so these rows come first in every status
+    private static final LocalDateTime BASE = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+    private final List<Row> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionService(transactionRepository, mock(EventPublisherService.class),
+                mock(AccountDirectory.class), mock(ExternalReferenceIndex.class), mock(TransactionTemplate.class),
+                mock(TransactionSummaryService.class), mock(TransactionSearchRepository.class));
+
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password_hash, first_name, last_name) " +
+                "VALUES (?, ?, ?, 'x', 'Test', 'User')", userId, "user-" + userId, userId + "@bank.test");
+        accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id, account_type, status) " +
+                "VALUES (?, ?, ?, 'CHECKING', 'ACTIVE')", accountId, accountId.toString().substring(0, 20), userId);
+    }
+
+    @Test
+    void statusPagesVisitEveryRowOnceOldestFirstAcrossTiedTimestamps() {
+        for (int i = 0; i < 7; i++) {
+            insert(TransactionStatus.COMPLETED, BASE.plusMinutes(i));
+            insert(TransactionStatus.FAILED, BASE.plusMinutes(i));
+        }
+        // Five rows sharing one timestamp force the id tie-breaker across page boundaries
+        for (int i = 0; i < 5; i++) {
+            insert(TransactionStatus.COMPLETED, BASE.plusMinutes(3));
+        }
+
+        List<TransactionDto> visited = walk(TransactionStatus.COMPLETED, 4, 12);
+
+        assertThat(visited).extracting(TransactionDto::getStatus).containsOnly("COMPLETED");
+        assertThat(visited).extracting(TransactionDto::getId)
+                .containsExactlyElementsOf(expectedOrder(TransactionStatus.COMPLETED));
+    }
+
+    @Test
+    void lastPageOfAStatusHasNoCursor() {
+        for (int i = 0; i < 3; i++) {
+            insert(TransactionStatus.CANCELLED, BASE.plusMinutes(i));
+        }
+        insert(TransactionStatus.FAILED, BASE);
+
+        CursorPage<TransactionDto> first = transactionService.getTransactionsByStatus(TransactionStatus.CANCELLED, null, 2);
+        CursorPage<TransactionDto> second = transactionService.getTransactionsByStatus(
+                TransactionStatus.CANCELLED, first.getNextCursor(), 2);
+
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getContent()).extracting(TransactionDto::getId)
+                .containsExactly(expectedOrder(TransactionStatus.CANCELLED).get(2));
+    }
+
+    /**
+     * Follows nextCursor from the first page until {@code wanted} rows are collected
+     */
+    private List<TransactionDto> walk(TransactionStatus status, int size, int wanted) {
+        List<TransactionDto> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TransactionDto> page = transactionService.getTransactionsByStatus(status, cursor, size);
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+            assertThat(page.isHasMore()).isEqualTo(page.getNextCursor() != null);
+            visited.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null && visited.size() < wanted);
+        return visited.subList(0, Math.min(wanted, visited.size()));
+    }
+
+    // created_at, id; Postgres orders UUIDs bytewise, which matches their lowercase text form
+    private List<UUID> expectedOrder(TransactionStatus status) {
+        return rows.stream()
+                .filter(row -> row.status == status)
+                .sorted(Comparator.<Row, LocalDateTime>comparing(row -> row.createdAt)
+                        .thenComparing(row -> row.id.toString()))
+                .map(row -> row.id)
+                .collect(Collectors.toList());
+    }
+
+    private void insert(TransactionStatus status, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, transaction_reference, from_account_id, " +
+                "transaction_type, amount, currency, status, user_id, created_at) " +
+                "VALUES (?, ?, ?, 'WITHDRAWAL', 10.00, 'USD', ?, ?, ?)",
+                id, "TXN-" + id, accountId, status.name(), userId, Timestamp.valueOf(createdAt));
+        rows.add(new Row(id, status, createdAt));
+    }
+
+    private static final class Row {
+        final UUID id;
+        final TransactionStatus status;
+        final LocalDateTime createdAt;
+
+        Row(UUID id, TransactionStatus status, LocalDateTime createdAt) {
+            this.id = id;
+            this.status = status;
+            this.createdAt = createdAt;
+        }
+    }
+}
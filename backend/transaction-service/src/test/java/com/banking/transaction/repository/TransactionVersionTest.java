@@ -0,0 +1,126 @@
+package com.banking.transaction.repository;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionStatus;
+import com.banking.transaction.domain.entity.TransactionType;
+import com.banking.transaction.domain.valueobject.Money;
+import com.banking.transaction.domain.valueobject.TransactionReference;
+import com.banking.transaction.service.TransactionSummaryService;
+import com.banking.transaction.service.TransactionVersionCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-user transaction version behind the ETags of the transaction read endpoints.
+ */
+class TransactionVersionTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private UserStatusCountRepository statusCountRepository;
+
+    @Autowired
+    private UserMonthlyTotalRepository monthlyTotalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionVersionCache versionCache;
+    private TransactionSummaryService summaryService;
+    private UUID userId;
+
+    @BeforeAll
+    static void leaseNodeId() {
+        TransactionReference.useNodeId(1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        versionCache = new TransactionVersionCache(statusCountRepository, transactionManager, 100, 60);
+        summaryService = new TransactionSummaryService(statusCountRepository, monthlyTotalRepository, versionCache);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void userWithoutTransactionsHasVersionZero() {
+        assertThat(versionCache.getVersion(userId)).isEqualTo("0");
+    }
+
+    @Test
+    void everyInsertAndStatusChangeIncrementsTheVersion() {
+        Transaction transaction = transaction();
+        summaryService.recordCreated(transaction);
+        assertThat(statusCountRepository.findVersion(userId)).isEqualTo(1);
+
+        transaction.process();
+        summaryService.recordStatusChange(transaction, TransactionStatus.PENDING);
+        transaction.complete();
+        summaryService.recordStatusChange(transaction, TransactionStatus.PROCESSING);
+
+        assertThat(statusCountRepository.findVersion(userId)).isEqualTo(3);
+    }
+
+    @Test
+    void countsThatReturnToAnEarlierStateStillGetANewVersion() {
+        Transaction first = transaction();
+        summaryService.recordCreated(first);
+        first.process();
+        summaryService.recordStatusChange(first, TransactionStatus.PENDING);
+        long afterFirst = statusCountRepository.findVersion(userId);
+
+        // A second PENDING transaction and a failure of the first bring back counts seen before
+        Transaction second = transaction();
+        summaryService.recordCreated(second);
+        first.fail("declined");
+        summaryService.recordStatusChange(first, TransactionStatus.PROCESSING);
+
+        assertThat(statusCountRepository.findVersion(userId)).isGreaterThan(afterFirst);
+    }
+
+    @Test
+    void unchangedStatusKeepsTheVersion() {
+        Transaction transaction = transaction();
+        summaryService.recordCreated(transaction);
+
+        summaryService.recordStatusChange(transaction, TransactionStatus.PENDING);
+
+        assertThat(statusCountRepository.findVersion(userId)).isEqualTo(1);
+    }
+
+    @Test
+    void cachedVersionIsReloadedAfterInvalidation() {
+        assertThat(versionCache.getVersion(userId)).isEqualTo("0");
+        statusCountRepository.incrementVersion(userId);
+        assertThat(versionCache.getVersion(userId)).isEqualTo("0");
+
+        versionCache.invalidate(userId);
+
+        assertThat(versionCache.getVersion(userId)).isEqualTo("1");
+    }
+
+    @Test
+    void snapshotCarriesTheVersionOfTheDataItWasReadWith() {
+        assertThat(versionCache.getVersion(userId)).isEqualTo("0");
+        summaryService.recordCreated(transaction());
+
+        TransactionVersionCache.Snapshot<Long> snapshot = versionCache.readSnapshot(userId,
+                () -> summaryService.getUserSummary(userId).getCountsByStatus().get("PENDING"));
+
+        // The cached version is stale until the commit; the snapshot is not
+        assertThat(versionCache.getVersion(userId)).isEqualTo("0");
+        assertThat(snapshot.getVersion()).isEqualTo("1");
+        assertThat(snapshot.getContent()).isEqualTo(1L);
+    }
+
+    private Transaction transaction() {
+        return new Transaction(TransactionType.TRANSFER, new Money(new BigDecimal("25.00"), "USD"),
+                UUID.randomUUID(), UUID.randomUUID(), "Rent", userId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExternalReferenceIndexTest {
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+
+    private ExternalReferenceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ExternalReferenceIndex(transactionRepository, 10_000, 0.01, 3);
+    }
+
+    @Test
+    void recordedReferencesAreNeverReportedAsUnseen() {
+        IntStream.range(0, 10_000).forEach(i -> index.record("ext-" + i, UUID.randomUUID()));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> index.mightContain("ext-" + i))).isTrue();
+    }
+
+    @Test
+    void freshReferencesAreMostlyReportedAsUnseen() {
+        IntStream.range(0, 10_000).forEach(i -> index.record("ext-" + i, UUID.randomUUID()));
+
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> index.mightContain("new-" + i)).count();
+
+        // Sized for 1%; allow for variance
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void recentReferencesResolveToTheirTransactionUntilEvicted() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.record("ext-1", first);
+        index.record("ext-2", second);
+        index.record("ext-3", UUID.randomUUID());
+
+        // ext-1 becomes the most recently used, so ext-2 is the one evicted
+        assertThat(index.getRecent("ext-1")).isEqualTo(first);
+        index.record("ext-4", UUID.randomUUID());
+
+        assertThat(index.getRecent("ext-1")).isEqualTo(first);
+        assertThat(index.getRecent("ext-2")).isNull();
+        // Evicted from the LRU but still in the filter
+        assertThat(index.mightContain("ext-2")).isTrue();
+    }
+
+    @Test
+    void warmUpLoadsStoredReferencesIntoTheFilter() {
+        when(transactionRepository.streamAllExternalReferences()).thenReturn(Stream.of("stored-1", "stored-2"));
+
+        index.warmUp();
+
+        assertThat(index.mightContain("stored-1")).isTrue();
+        assertThat(index.mightContain("stored-2")).isTrue();
+        assertThat(index.getRecent("stored-1")).isNull();
+    }
+}
@@ -0,0 +1,144 @@
+package com.banking.transaction.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class TransactionPartitionManagerTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void connect() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transactions CASCADE");
+        // Detached partitions outlive their parent
+        for (String table : jdbcTemplate.queryForList(
+                "SELECT tablename FROM pg_tables WHERE tablename LIKE 'transactions\\_%'", String.class)) {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+        jdbcTemplate.execute("CREATE TABLE transactions (" +
+                "id BIGSERIAL, " +
+                "amount DECIMAL(19,2) NOT NULL CHECK (amount > 0), " +
+                "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_transactions_created_at ON transactions (created_at)");
+        jdbcTemplate.execute("CREATE TABLE transactions_default PARTITION OF transactions DEFAULT");
+    }
+
+    @Test
+    void createsPartitionsAhead() {
+        manager(3, 0).maintainPartitions();
+
+        YearMonth current = YearMonth.now();
+        assertThat(partitions()).contains(name(current), name(current.plusMonths(3)))
+                .doesNotContain(name(current.plusMonths(4)));
+    }
+
+    @Test
+    void rowsInTheDefaultPartitionAreMovedIntoTheirMonth() {
+        YearMonth current = YearMonth.now();
+        YearMonth far = current.plusMonths(6);
+        YearMonth past = current.minusMonths(14);
+        insert(far, 3);
+        insert(past, 2);
+        insert(current, 1);
+
+        TransactionPartitionManager manager = manager(3, 0);
+        manager.maintainPartitions();
+
+        assertThat(partitions()).contains(name(current), name(far), name(past));
+        assertThat(rowsIn("transactions_default")).isZero();
+        assertThat(rowsIn(name(far))).isEqualTo(3);
+        assertThat(rowsIn(name(past))).isEqualTo(2);
+        assertThat(rowsIn(name(current))).isEqualTo(1);
+        assertThat(meterRegistry.get("transactions.partitions.default.rows").gauge().value()).isEqualTo(6);
+
+        manager.maintainPartitions();
+        assertThat(meterRegistry.get("transactions.partitions.default.rows").gauge().value()).isZero();
+    }
+
+    @Test
+    void oldPartitionsAreDetachedConcurrentlyWithoutADefaultPartition() {
+        jdbcTemplate.execute("DROP TABLE transactions_default");
+        YearMonth old = YearMonth.now().minusMonths(13);
+        createPartition(old);
+        insert(old, 2);
+
+        manager(3, 12).maintainPartitions();
+
+        assertThat(partitions()).doesNotContain(name(old)).contains(name(YearMonth.now()));
+        assertThat(rowsIn(name(old))).isEqualTo(2);
+        assertThat(rowsIn("transactions")).isZero();
+    }
+
+    @Test
+    void oldPartitionsAreDetachedWithADefaultPartition() {
+        YearMonth old = YearMonth.now().minusMonths(13);
+        YearMonth kept = YearMonth.now().minusMonths(12);
+        createPartition(old);
+        createPartition(kept);
+
+        manager(3, 12).maintainPartitions();
+
+        assertThat(partitions()).doesNotContain(name(old)).contains(name(kept));
+    }
+
+    private TransactionPartitionManager manager(int monthsAhead, int retentionMonths) {
+        return new TransactionPartitionManager(jdbcTemplate, transactionTemplate, meterRegistry,
+                monthsAhead, retentionMonths, "", 5000);
+    }
+
+    private static void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format("CREATE TABLE %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                name(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    private static void insert(YearMonth month, int rows) {
+        for (int i = 0; i < rows; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (amount, created_at) VALUES (10.00, ?)",
+                    Timestamp.valueOf(month.atDay(1 + i).atTime(12, 0)));
+        }
+    }
+
+    private static List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT inhrelid::regclass::text FROM pg_inherits " +
+                "WHERE inhparent = 'transactions'::regclass", String.class);
+    }
+
+    private static int rowsIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Integer.class);
+    }
+
+    private static String name(YearMonth month) {
+        return String.format("transactions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,203 @@
+package com.banking.transaction.service;
+
+import com.banking.transaction.domain.entity.Transaction;
+import com.banking.transaction.domain.entity.TransactionType;
+import com.banking.transaction.domain.valueobject.Money;
+import com.banking.transaction.domain.valueobject.TransactionReference;
+import com.banking.transaction.dto.CreateTransactionRequest;
+import com.banking.transaction.dto.TransactionDto;
+import com.banking.transaction.repository.TransactionRepository;
+import com.banking.transaction.repository.TransactionSearchRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Idempotent creation through external references.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    private static final String EXTERNAL_REFERENCE = "order-42";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EventPublisherService eventPublisherService;
+
+    @Mock
+    private AccountDirectory accountDirectory;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @Mock
+    private TransactionSearchRepository transactionSearchRepository;
+
+    private ExternalReferenceIndex externalReferenceIndex;
+    private TransactionService transactionService;
+    private UUID userId;
+    private UUID accountId;
+
+    @BeforeAll
+    static void leaseNodeId() {
+        TransactionReference.useNodeId(1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        externalReferenceIndex = new ExternalReferenceIndex(transactionRepository, 1000, 0.01, 100);
+        transactionService = new TransactionService(transactionRepository, eventPublisherService, accountDirectory,
+                externalReferenceIndex, transactionTemplate, transactionSummaryService, transactionSearchRepository);
+        userId = UUID.randomUUID();
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    void retryBySameUserAndAccountReturnsTheExistingTransaction() {
+        Transaction existing = recorded(userId, accountId);
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+
+        TransactionDto result = transactionService.createTransaction(request(userId, accountId));
+
+        assertThat(result.getId()).isEqualTo(existing.getId());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void referenceOfAnotherUserIsAConflict() {
+        recorded(UUID.randomUUID(), UUID.randomUUID());
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(DuplicateExternalReferenceException.class);
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void referenceOfAnotherSourceAccountIsAConflict() {
+        recorded(userId, UUID.randomUUID());
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(DuplicateExternalReferenceException.class);
+    }
+
+    @Test
+    void ownershipIsCheckedBeforeTheReferenceIsLookedUp() {
+        externalReferenceIndex.record(EXTERNAL_REFERENCE, UUID.randomUUID());
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(false);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void concurrentInsertBySameUserReturnsTheStoredTransaction() {
+        Transaction stored = transaction(userId, accountId);
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transactionRepository.findByExternalReference(EXTERNAL_REFERENCE)).thenReturn(Optional.of(stored));
+
+        TransactionDto result = transactionService.createTransaction(request(userId, accountId));
+
+        assertThat(result.getId()).isEqualTo(stored.getId());
+        assertThat(externalReferenceIndex.getRecent(EXTERNAL_REFERENCE)).isEqualTo(stored.getId());
+    }
+
+    @Test
+    void concurrentInsertByAnotherUserIsAConflict() {
+        Transaction stored = transaction(UUID.randomUUID(), UUID.randomUUID());
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transactionRepository.findByExternalReference(EXTERNAL_REFERENCE)).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(DuplicateExternalReferenceException.class);
+    }
+
+    @Test
+    void referenceOfAnArchivedTransactionIsAConflict() {
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transactionRepository.findByExternalReference(EXTERNAL_REFERENCE)).thenReturn(Optional.empty());
+        when(transactionRepository.isExternalReferenceClaimed(EXTERNAL_REFERENCE)).thenReturn(true);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(DuplicateExternalReferenceException.class);
+    }
+
+    @Test
+    void violationWithAnUnclaimedReferenceIsRethrown() {
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("check violation"));
+        when(transactionRepository.findByExternalReference(EXTERNAL_REFERENCE)).thenReturn(Optional.empty());
+        when(transactionRepository.isExternalReferenceClaimed(EXTERNAL_REFERENCE)).thenReturn(false);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request(userId, accountId)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreRethrown() {
+        CreateTransactionRequest request = request(userId, accountId);
+        request.setExternalReference(null);
+        when(accountDirectory.belongsTo(accountId, userId)).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException("check violation"));
+
+        assertThatThrownBy(() -> transactionService.createTransaction(request))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(transactionRepository, never()).findByExternalReference(anyString());
+    }
+
+    private Transaction recorded(UUID owner, UUID sourceAccountId) {
+        Transaction transaction = transaction(owner, sourceAccountId);
+        externalReferenceIndex.record(EXTERNAL_REFERENCE, transaction.getId());
+        when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
+        return transaction;
+    }
+
+    private static Transaction transaction(UUID owner, UUID sourceAccountId) {
+        Transaction transaction = new Transaction(TransactionType.WITHDRAWAL, new Money(new BigDecimal("25.00"), "USD"),
+                sourceAccountId, null, "ATM", owner);
+        transaction.setExternalReference(EXTERNAL_REFERENCE);
+        ReflectionTestUtils.setField(transaction, "id", UUID.randomUUID());
+        return transaction;
+    }
+
+    private static CreateTransactionRequest request(UUID userId, UUID accountId) {
+        return CreateTransactionRequest.builder()
+                .type("WITHDRAWAL")
+                .amount(new BigDecimal("25.00"))
+                .currency("USD")
+                .sourceAccountId(accountId)
+                .userId(userId)
+                .description("ATM")
+                .externalReference(EXTERNAL_REFERENCE)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+-- Migration: Daily balance history read model for account-service
+-- One row per account and day with the opening/closing balance and turnover.
+-- account-service upserts the row in the same transaction as every posting, so
+-- balance charts read N days with a single primary key range scan.
+
+CREATE TABLE account_daily_balances (
+    account_id UUID NOT NULL REFERENCES accounts(id),
+    balance_date DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    opening_balance DECIMAL(15,2) NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    total_credits DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_debits DECIMAL(15,2) NOT NULL DEFAULT 0,
+    transaction_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (account_id, balance_date)
+);
+
+COMMENT ON TABLE account_daily_balances IS 'Daily balance and turnover per account, maintained on every posting';
@@ -0,0 +1,6 @@
+-- Migration: Add a row version to accounts
+-- account-service increments it on every update (JPA @Version) while holding the
+-- row lock, so it orders the states of an account. The shared Redis account cache
+-- keeps the version with each entry and never replaces a newer state with an older one.
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- Migration: Track consumed Kafka offsets for transaction-service
+-- transaction-service creates transaction records from banking.transaction.events and stores
+-- the last applied offset per topic partition in the same database transaction,
+-- so redelivered records are skipped instead of creating duplicate transactions.
+
+CREATE TABLE consumed_offsets (
+    topic_partition VARCHAR(255) PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+);
+
+COMMENT ON TABLE consumed_offsets IS 'Last Kafka offset applied to the database, per topic partition';
@@ -0,0 +1,10 @@
+-- Migration: Enforce unique external references on transactions
+-- Retried upstream calls carry the same external_reference; the partial unique index
+-- lets transaction-service return the existing transaction instead of creating a duplicate.
+-- Rows without an external reference are not indexed.
+
+-- Replaces the plain lookup index from add_missing_transaction_columns.sql
+DROP INDEX IF EXISTS idx_transactions_external_reference;
+
+CREATE UNIQUE INDEX uq_transactions_external_reference ON transactions(external_reference)
+    WHERE external_reference IS NOT NULL;
@@ -0,0 +1,12 @@
+-- Migration: Composite indexes for keyset (cursor) pagination of transaction history
+-- History pages are ordered by (created_at DESC, id DESC) and resume from the last
+-- row of the previous page, so each page is an index range scan instead of OFFSET.
+-- The composite indexes also cover the plain per-user and per-account lookups.
+
+DROP INDEX IF EXISTS idx_transactions_user_id;
+DROP INDEX IF EXISTS idx_transactions_from_account;
+DROP INDEX IF EXISTS idx_transactions_to_account;
+
+CREATE INDEX idx_transactions_user_created ON transactions(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_from_account_created ON transactions(from_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_created ON transactions(to_account_id, created_at DESC, id DESC);
@@ -0,0 +1,14 @@
+-- Migration: Add the transactional outbox used by account-service
+-- Kafka messages are inserted in the same transaction as the state change they
+-- announce and deleted by the relay once Kafka has acknowledged them, so a
+-- message is sent if and only if its transaction commits
+
+CREATE TABLE outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE outbox_messages IS 'Kafka messages of account-service waiting to be relayed';
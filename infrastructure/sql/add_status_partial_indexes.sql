@@ -0,0 +1,18 @@
+-- Migration: Partial indexes per transaction status
+-- Status listings are paged oldest first by (created_at, id). One partial index per
+-- status keeps each listing an index range scan, and the small statuses (PENDING,
+-- PROCESSING, FAILED) get small indexes instead of sharing one with COMPLETED.
+
+-- Replaces the low-selectivity single-column status index
+DROP INDEX IF EXISTS idx_transactions_status;
+
+CREATE INDEX idx_transactions_pending_created ON transactions(created_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_transactions_processing_created ON transactions(created_at, id) WHERE status = 'PROCESSING';
+CREATE INDEX idx_transactions_completed_created ON transactions(created_at, id) WHERE status = 'COMPLETED';
+CREATE INDEX idx_transactions_failed_created ON transactions(created_at, id) WHERE status = 'FAILED';
+CREATE INDEX idx_transactions_cancelled_created ON transactions(created_at, id) WHERE status = 'CANCELLED';
+CREATE INDEX idx_transactions_reversed_created ON transactions(created_at, id) WHERE status = 'REVERSED';
+
+-- Failed transactions with a reason, most recently updated first
+CREATE INDEX idx_transactions_failed_reasons ON transactions(updated_at DESC)
+    WHERE status = 'FAILED' AND failure_reason IS NOT NULL;
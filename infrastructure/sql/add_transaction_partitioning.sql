@@ -0,0 +1,101 @@
+-- Migration: Monthly range partitioning of transactions on created_at
+-- Rebuilds transactions as a partitioned table and copies the existing rows.
+-- Run during a maintenance window with transaction-service stopped.
+--
+-- Partitioned tables can only enforce uniqueness together with the partition key, so:
+--   * the primary key becomes (id, created_at)
+--   * transaction_reference keeps a plain index (references are unique by construction)
+--   * external reference uniqueness moves to transaction_external_references
+--   * fraud_alerts.transaction_id loses its foreign key to transactions
+
+BEGIN;
+
+ALTER TABLE fraud_alerts DROP CONSTRAINT IF EXISTS fraud_alerts_transaction_id_fkey;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+DROP TRIGGER IF EXISTS update_transactions_updated_at ON transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    transaction_reference VARCHAR(50) NOT NULL,
+    from_account_id UUID REFERENCES accounts(id),
+    to_account_id UUID REFERENCES accounts(id),
+    transaction_type VARCHAR(20) NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'PAYMENT', 'REFUND')),
+    amount DECIMAL(15,2) NOT NULL,
+    currency VARCHAR(3) DEFAULT 'USD',
+    status VARCHAR(20) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED', 'PROCESSING', 'REVERSED')),
+    description TEXT,
+    user_id UUID NOT NULL REFERENCES users(id),
+    external_reference VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    failure_reason VARCHAR(1000),
+    metadata JSONB,
+
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT positive_amount CHECK (amount > 0),
+    CONSTRAINT valid_accounts CHECK (
+        (transaction_type = 'DEPOSIT' AND from_account_id IS NULL AND to_account_id IS NOT NULL) OR
+        (transaction_type = 'WITHDRAWAL' AND from_account_id IS NOT NULL AND to_account_id IS NULL) OR
+        (transaction_type IN ('TRANSFER', 'PAYMENT') AND from_account_id IS NOT NULL AND to_account_id IS NOT NULL) OR
+        (transaction_type = 'REFUND')
+    )
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month from the oldest row through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    month_start := COALESCE((SELECT date_trunc('month', MIN(created_at))::date FROM transactions_unpartitioned),
+                            date_trunc('month', CURRENT_DATE)::date);
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_' || to_char(month_start, '"y"YYYY"m"MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+INSERT INTO transactions
+SELECT id, transaction_reference, from_account_id, to_account_id, transaction_type, amount, currency, status,
+       description, user_id, external_reference, COALESCE(created_at, CURRENT_TIMESTAMP), updated_at,
+       completed_at, failure_reason, metadata
+FROM transactions_unpartitioned;
+
+CREATE TABLE transaction_external_references (
+    external_reference VARCHAR(100) PRIMARY KEY,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO transaction_external_references (external_reference, created_at)
+SELECT external_reference, MIN(created_at)
+FROM transactions
+WHERE external_reference IS NOT NULL
+GROUP BY external_reference;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Indexes are created on the parent and cascade to every partition
+CREATE INDEX idx_transactions_from_account_created ON transactions(from_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_created ON transactions(to_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_pending_created ON transactions(created_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_transactions_processing_created ON transactions(created_at, id) WHERE status = 'PROCESSING';
+CREATE INDEX idx_transactions_completed_created ON transactions(created_at, id) WHERE status = 'COMPLETED';
+CREATE INDEX idx_transactions_failed_created ON transactions(created_at, id) WHERE status = 'FAILED';
+CREATE INDEX idx_transactions_cancelled_created ON transactions(created_at, id) WHERE status = 'CANCELLED';
+CREATE INDEX idx_transactions_reversed_created ON transactions(created_at, id) WHERE status = 'REVERSED';
+CREATE INDEX idx_transactions_failed_reasons ON transactions(updated_at DESC) WHERE status = 'FAILED' AND failure_reason IS NOT NULL;
+CREATE INDEX idx_transactions_created_at ON transactions(created_at);
+CREATE INDEX idx_transactions_reference ON transactions(transaction_reference);
+CREATE INDEX idx_transactions_user_created ON transactions(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_user_description_trgm ON transactions USING gin (user_id, lower(description) gin_trgm_ops);
+CREATE INDEX idx_transactions_external_reference ON transactions(external_reference) WHERE external_reference IS NOT NULL;
+
+CREATE TRIGGER update_transactions_updated_at BEFORE UPDATE ON transactions
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMIT;
@@ -0,0 +1,13 @@
+-- Migration: Lease node ids for transaction reference generation
+-- Transaction references embed a 10-bit node id and transaction_reference has no unique
+-- constraint on the partitioned table, so two live instances must never share a node id.
+-- Each transaction-service instance claims a node id here on startup and renews the lease
+-- while it runs; a configured TRANSACTION_NODE_ID held by another live instance fails startup.
+
+CREATE TABLE transaction_reference_nodes (
+    node_id SMALLINT PRIMARY KEY CHECK (node_id BETWEEN 0 AND 1023),
+    instance_id VARCHAR(100) NOT NULL,
+    lease_expires_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE transaction_reference_nodes IS 'Node id leases of running transaction-service instances';
@@ -0,0 +1,10 @@
+-- Migration: Trigram index for searching a user's transactions by description
+-- The search endpoint filters on user_id and lower(description) LIKE '%text%'.
+-- btree_gin lets user_id live in the same GIN index as the trigrams, so a
+-- substring search within one user's history is a single index lookup.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_transactions_user_description_trgm ON transactions
+    USING gin (user_id, lower(description) gin_trgm_ops);
@@ -0,0 +1,30 @@
+-- Migration: Add transfers table for the account-to-account transfer saga
+-- Each row tracks one transfer through RESERVE_FUNDS -> CREDIT_TARGET -> SETTLE_SOURCE
+-- (or RELEASE_FUNDS when the target account cannot be credited)
+
+CREATE TABLE transfers (
+    id UUID PRIMARY KEY,
+    source_account_id UUID NOT NULL REFERENCES accounts(id),
+    target_account_id UUID NOT NULL REFERENCES accounts(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    amount DECIMAL(15,2) NOT NULL,
+    currency VARCHAR(3) NOT NULL DEFAULT 'USD',
+    status VARCHAR(20) NOT NULL DEFAULT 'REQUESTED' CHECK (status IN ('REQUESTED', 'FUNDS_RESERVED', 'TARGET_CREDITED', 'COMPLETED', 'COMPENSATING', 'FAILED')),
+    description VARCHAR(500),
+    failure_reason VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    CONSTRAINT positive_transfer_amount CHECK (amount > 0),
+    CONSTRAINT distinct_transfer_accounts CHECK (source_account_id <> target_account_id)
+);
+
+CREATE INDEX idx_transfers_source_account ON transfers(source_account_id);
+CREATE INDEX idx_transfers_target_account ON transfers(target_account_id);
+CREATE INDEX idx_transfers_status ON transfers(status);
+
+CREATE TRIGGER update_transfers_updated_at BEFORE UPDATE ON transfers
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+COMMENT ON TABLE transfers IS 'Saga state for transfers between two accounts';
@@ -0,0 +1,38 @@
+-- Migration: Per-user transaction counters for the transaction summary endpoint
+-- transaction-service updates these in the same database transaction as every insert
+-- and status change, so GET /api/transactions/user/{userId}/summary reads a few
+-- primary-key rows instead of scanning the user's history.
+
+CREATE TABLE user_status_counts (
+    user_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (user_id, status)
+);
+
+CREATE TABLE user_monthly_totals (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (user_id, month, transaction_type, currency)
+);
+
+-- Backfill from existing transactions (run before starting the new service version)
+INSERT INTO user_status_counts (user_id, status, transaction_count)
+SELECT user_id, status, COUNT(*)
+FROM transactions
+GROUP BY user_id, status;
+
+INSERT INTO user_monthly_totals (user_id, month, transaction_type, currency, transaction_count, total_amount)
+SELECT user_id, date_trunc('month', completed_at)::date, transaction_type, currency, COUNT(*), SUM(amount)
+FROM transactions
+WHERE status = 'COMPLETED' AND completed_at IS NOT NULL
+GROUP BY user_id, date_trunc('month', completed_at)::date, transaction_type, currency;
+
+COMMENT ON TABLE user_status_counts IS 'Number of transactions per user currently in each status';
+COMMENT ON TABLE user_monthly_totals IS 'Completed transaction count and amount per user, month, type and currency';
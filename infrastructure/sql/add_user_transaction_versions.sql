@@ -0,0 +1,19 @@
+-- Migration: Per-user transaction version for ETags on the transaction read endpoints
+-- transaction-service increments it in the same database transaction as the status
+-- counters, before touching them, so it only ever grows and every committed change to
+-- a user's transactions gets a version of its own.
+
+CREATE TABLE IF NOT EXISTS user_transaction_versions (
+    user_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Backfill from existing transactions (run before starting the new service version)
+INSERT INTO user_transaction_versions (user_id, version)
+SELECT user_id, COUNT(*)
+FROM transactions
+WHERE user_id IS NOT NULL
+GROUP BY user_id
+ON CONFLICT (user_id) DO NOTHING;
+
+COMMENT ON TABLE user_transaction_versions IS 'Monotonic version per user, incremented by every transaction insert and status change';
@@ -0,0 +1,8 @@
+-- Migration: Allow the REVERSED transaction status
+-- transaction-service sets it when a completed transaction is reversed, but the
+-- status check never listed it, so every reversal failed on the update.
+-- The constraint is defined on the partitioned parent and replaced in all partitions.
+
+ALTER TABLE transactions DROP CONSTRAINT IF EXISTS transactions_status_check;
+ALTER TABLE transactions ADD CONSTRAINT transactions_status_check
+    CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED', 'PROCESSING', 'REVERSED'));
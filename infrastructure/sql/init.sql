@@ -4,6 +4,10 @@
 -- Enable UUID extension for primary keys
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
+-- Trigram matching (and btree operators in GIN) for transaction search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
 -- User management table
 CREATE TABLE users (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -38,7 +42,8 @@ CREATE TABLE accounts (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     closed_at TIMESTAMP,
     daily_limit DECIMAL(15,2) DEFAULT 5000.00,
-    monthly_limit DECIMAL(15,2) DEFAULT 50000.00
+    monthly_limit DECIMAL(15,2) DEFAULT 50000.00,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Transaction types and status as VARCHAR with constraints
@@ -47,24 +52,25 @@ CREATE TABLE accounts (
 
 -- Transactions table
 CREATE TABLE transactions (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    transaction_reference VARCHAR(50) UNIQUE NOT NULL,
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    transaction_reference VARCHAR(50) NOT NULL,
     from_account_id UUID REFERENCES accounts(id),
     to_account_id UUID REFERENCES accounts(id),
     transaction_type VARCHAR(20) NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'PAYMENT', 'REFUND')),
     amount DECIMAL(15,2) NOT NULL,
     currency VARCHAR(3) DEFAULT 'USD',
-    status VARCHAR(20) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED', 'PROCESSING')),
+    status VARCHAR(20) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED', 'CANCELLED', 'PROCESSING', 'REVERSED')),
     description TEXT,
     user_id UUID NOT NULL REFERENCES users(id),
     external_reference VARCHAR(100),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     completed_at TIMESTAMP,
     failure_reason VARCHAR(1000),
     metadata JSONB,
     
-    -- Constraints
+    -- Constraints (the partition key must be part of the primary key)
+    PRIMARY KEY (id, created_at),
     CONSTRAINT positive_amount CHECK (amount > 0),
     CONSTRAINT valid_accounts CHECK (
         (transaction_type = 'DEPOSIT' AND from_account_id IS NULL AND to_account_id IS NOT NULL) OR
@@ -72,6 +78,111 @@ CREATE TABLE transactions (
         (transaction_type IN ('TRANSFER', 'PAYMENT') AND from_account_id IS NOT NULL AND to_account_id IS NOT NULL) OR
         (transaction_type = 'REFUND')
     )
+) PARTITION BY RANGE (created_at);
+
+-- Monthly partitions: last month through three months ahead. transaction-service
+-- creates later months itself; the default partition only catches stragglers.
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN -1..3 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_' || to_char(month_start, '"y"YYYY"m"MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Global uniqueness of external references (a partitioned table can only enforce
+-- uniqueness together with the partition key)
+CREATE TABLE transaction_external_references (
+    external_reference VARCHAR(100) PRIMARY KEY,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Transfers table - saga state for account-to-account transfers
+CREATE TABLE transfers (
+    id UUID PRIMARY KEY,
+    source_account_id UUID NOT NULL REFERENCES accounts(id),
+    target_account_id UUID NOT NULL REFERENCES accounts(id),
+    user_id UUID NOT NULL REFERENCES users(id),
+    amount DECIMAL(15,2) NOT NULL,
+    currency VARCHAR(3) NOT NULL DEFAULT 'USD',
+    status VARCHAR(20) NOT NULL DEFAULT 'REQUESTED' CHECK (status IN ('REQUESTED', 'FUNDS_RESERVED', 'TARGET_CREDITED', 'COMPLETED', 'COMPENSATING', 'FAILED')),
+    description VARCHAR(500),
+    failure_reason VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    CONSTRAINT positive_transfer_amount CHECK (amount > 0),
+    CONSTRAINT distinct_transfer_accounts CHECK (source_account_id <> target_account_id)
+);
+
+-- Transactional outbox of account-service: Kafka messages written in the same
+-- transaction as the state change they announce, deleted once relayed
+CREATE TABLE outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Daily balance and turnover per account (balance history read model)
+CREATE TABLE account_daily_balances (
+    account_id UUID NOT NULL REFERENCES accounts(id),
+    balance_date DATE NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    opening_balance DECIMAL(15,2) NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    total_credits DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_debits DECIMAL(15,2) NOT NULL DEFAULT 0,
+    transaction_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (account_id, balance_date)
+);
+
+-- Per-user transaction counters (transaction summary read model)
+CREATE TABLE user_status_counts (
+    user_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (user_id, status)
+);
+
+CREATE TABLE user_monthly_totals (
+    user_id UUID NOT NULL,
+    month DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19,2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (user_id, month, transaction_type, currency)
+);
+
+-- Per-user transaction version, bumped with every counter update (ETag high-water mark)
+CREATE TABLE user_transaction_versions (
+    user_id UUID PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Last Kafka offset applied per topic partition (consumer-side dedupe)
+CREATE TABLE consumed_offsets (
+    topic_partition VARCHAR(255) PRIMARY KEY,
+    last_offset BIGINT NOT NULL
+);
+
+-- Node ids embedded in transaction references, leased by running transaction-service instances
+CREATE TABLE transaction_reference_nodes (
+    node_id SMALLINT PRIMARY KEY CHECK (node_id BETWEEN 0 AND 1023),
+    instance_id VARCHAR(100) NOT NULL,
+    lease_expires_at TIMESTAMP NOT NULL
 );
 
 -- Audit log for all events
@@ -92,7 +203,7 @@ CREATE TABLE audit_events (
 
 CREATE TABLE fraud_alerts (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
-    transaction_id UUID REFERENCES transactions(id),
+    transaction_id UUID,
     user_id UUID REFERENCES users(id),
     alert_type VARCHAR(50) NOT NULL,
     risk_score DECIMAL(5,2) NOT NULL,
@@ -128,12 +239,23 @@ CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_accounts_user_id ON accounts(user_id);
 CREATE INDEX idx_accounts_number ON accounts(account_number);
 CREATE INDEX idx_accounts_status ON accounts(status);
-CREATE INDEX idx_transactions_from_account ON transactions(from_account_id);
-CREATE INDEX idx_transactions_to_account ON transactions(to_account_id);
-CREATE INDEX idx_transactions_status ON transactions(status);
+CREATE INDEX idx_transactions_from_account_created ON transactions(from_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_to_account_created ON transactions(to_account_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_pending_created ON transactions(created_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_transactions_processing_created ON transactions(created_at, id) WHERE status = 'PROCESSING';
+CREATE INDEX idx_transactions_completed_created ON transactions(created_at, id) WHERE status = 'COMPLETED';
+CREATE INDEX idx_transactions_failed_created ON transactions(created_at, id) WHERE status = 'FAILED';
+CREATE INDEX idx_transactions_cancelled_created ON transactions(created_at, id) WHERE status = 'CANCELLED';
+CREATE INDEX idx_transactions_reversed_created ON transactions(created_at, id) WHERE status = 'REVERSED';
+CREATE INDEX idx_transactions_failed_reasons ON transactions(updated_at DESC) WHERE status = 'FAILED' AND failure_reason IS NOT NULL;
 CREATE INDEX idx_transactions_created_at ON transactions(created_at);
 CREATE INDEX idx_transactions_reference ON transactions(transaction_reference);
-CREATE INDEX idx_transactions_user_id ON transactions(user_id);
+CREATE INDEX idx_transactions_user_created ON transactions(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_transactions_user_description_trgm ON transactions USING gin (user_id, lower(description) gin_trgm_ops);
+CREATE INDEX idx_transactions_external_reference ON transactions(external_reference) WHERE external_reference IS NOT NULL;
+CREATE INDEX idx_transfers_source_account ON transfers(source_account_id);
+CREATE INDEX idx_transfers_target_account ON transfers(target_account_id);
+CREATE INDEX idx_transfers_status ON transfers(status);
 CREATE INDEX idx_audit_events_entity ON audit_events(entity_type, entity_id);
 CREATE INDEX idx_audit_events_timestamp ON audit_events(timestamp);
 CREATE INDEX idx_fraud_alerts_transaction ON fraud_alerts(transaction_id);
@@ -161,6 +283,9 @@ CREATE TRIGGER update_accounts_updated_at BEFORE UPDATE ON accounts
 CREATE TRIGGER update_transactions_updated_at BEFORE UPDATE ON transactions
     FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 
+CREATE TRIGGER update_transfers_updated_at BEFORE UPDATE ON transfers
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
 -- Sample data for testing
 INSERT INTO users (id, username, email, password_hash, first_name, last_name, phone_number) VALUES
 ('b061f043-07b3-4006-be9f-b75e90631b96', 'john.doe', 'john.doe@bank.com', '$2a$10$dummy.hash.for.testing', 'John', 'Doe', '+1234567890'),
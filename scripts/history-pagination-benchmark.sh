@@ -0,0 +1,224 @@
+#!/bin/bash
+
+# History Pagination Benchmark Script
+# Compares OFFSET paging (Page<TransactionDto> endpoints) with keyset paging
+# (cursor endpoints) on the user transaction history at increasing page depth,
+# then the account history query as a source-or-target OR filter against the
+# UNION ALL of the two per-column index scans used by TransactionRepository.
+#
+# Usage: ./scripts/history-pagination-benchmark.sh [rows] [page-size]
+#
+# Runs against the banking-postgres container started by docker-compose.
+# A synthetic user with ROWS deposits and withdrawals spread over the last four
+# weeks and 100 accounts is inserted into the real (partitioned) transactions
+# table, next to four times as many transfers between 1000 other accounts,
+# inside a transaction
+# that is rolled back at the end, so nothing is left behind. Every query runs
+# under EXPLAIN ANALYZE three times; the fastest execution time is reported.
+#
+#   offset   ORDER BY created_at DESC LIMIT size OFFSET depth * size, plus the
+#            COUNT(*) that every Page response needs
+#   keyset   the cursor query for the same page, starting after the last row
+#            of the previous page
+#   or       history of one of the user's accounts (ROWS / 100 rows) filtered
+#            on from_account_id = ? OR to_account_id = ?
+#   union    the same history as UNION ALL of both sides, each limited to a page
+
+set -e
+
+ROWS=${1:-200000}
+PAGE_SIZE=${2:-20}
+
+BLUE='\033[0;34m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+if ! docker ps --format '{{.Names}}' | grep -q '^banking-postgres$'; then
+    print_error "banking-postgres is not running. Start it with docker-compose up -d postgres first."
+    exit 1
+fi
+
+psql_exec() {
+    docker exec -i banking-postgres psql -v ON_ERROR_STOP=1 -q -U banking_user -d banking_db "$@"
+}
+
+print_status "Benchmarking $ROWS rows, page size $PAGE_SIZE..."
+
+psql_exec <<SQL
+BEGIN;
+
+INSERT INTO users (id, username, email, password_hash, first_name, last_name)
+VALUES ('00000000-0000-7000-8000-00000000be01', 'pagination.benchmark', 'pagination.benchmark@bank.test',
+        'x', 'Pagination', 'Benchmark');
+INSERT INTO accounts (id, account_number, user_id, account_type, status)
+SELECT ('00000000-0000-7000-8002-' || lpad(to_hex(n), 12, '0'))::uuid, 'BENCH2' || lpad(n::text, 7, '0'),
+       '00000000-0000-7000-8000-00000000be01', 'CHECKING', 'ACTIVE'
+FROM generate_series(0, 99) AS n;
+INSERT INTO users (id, username, email, password_hash, first_name, last_name)
+VALUES ('00000000-0000-7000-8000-00000000be03', 'pagination.background', 'pagination.background@bank.test',
+        'x', 'Pagination', 'Background');
+INSERT INTO accounts (id, account_number, user_id, account_type, status)
+SELECT ('00000000-0000-7000-8001-' || lpad(to_hex(n), 12, '0'))::uuid, 'BENCH1' || lpad(n::text, 7, '0'),
+       '00000000-0000-7000-8000-00000000be03', 'CHECKING', 'ACTIVE'
+FROM generate_series(0, 999) AS n;
+
+INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, transaction_type, amount,
+                          status, description, user_id, created_at)
+SELECT gen_random_uuid(), 'BENCHBG' || n,
+       ('00000000-0000-7000-8001-' || lpad(to_hex(n % 1000), 12, '0'))::uuid,
+       ('00000000-0000-7000-8001-' || lpad(to_hex((n * 7 + 3) % 1000), 12, '0'))::uuid,
+       'TRANSFER', 10.00, 'COMPLETED', 'Background transfer ' || n, '00000000-0000-7000-8000-00000000be03',
+       LOCALTIMESTAMP - make_interval(secs => (n::double precision / ($ROWS * 4)) * 28 * 24 * 3600)
+FROM generate_series(1, $ROWS * 4) AS n;
+
+INSERT INTO transactions (id, transaction_reference, from_account_id, to_account_id, transaction_type, amount,
+                          status, description, user_id, created_at)
+SELECT gen_random_uuid(), 'BENCH' || n,
+       CASE WHEN n / 100 % 2 = 1 THEN ('00000000-0000-7000-8002-' || lpad(to_hex(n % 100), 12, '0'))::uuid END,
+       CASE WHEN n / 100 % 2 = 0 THEN ('00000000-0000-7000-8002-' || lpad(to_hex(n % 100), 12, '0'))::uuid END,
+       CASE WHEN n / 100 % 2 = 0 THEN 'DEPOSIT' ELSE 'WITHDRAWAL' END, 10.00, 'COMPLETED',
+       'Benchmark transaction ' || n, '00000000-0000-7000-8000-00000000be01',
+       LOCALTIMESTAMP - make_interval(secs => (n::double precision / $ROWS) * 28 * 24 * 3600)
+FROM generate_series(1, $ROWS) AS n;
+
+ANALYZE transactions;
+
+CREATE TEMP TABLE pagination_results (
+    page INTEGER NOT NULL,
+    method TEXT NOT NULL,
+    millis NUMERIC NOT NULL
+);
+
+DO \$\$
+DECLARE
+    bench_user UUID := '00000000-0000-7000-8000-00000000be01';
+    depth INTEGER;
+    cursor_created_at TIMESTAMP;
+    cursor_id UUID;
+    run INTEGER;
+    plan JSON;
+    offset_ms NUMERIC;
+    count_ms NUMERIC;
+    keyset_ms NUMERIC;
+BEGIN
+    FOREACH depth IN ARRAY ARRAY[0, 10, 100, 1000, ($ROWS / $PAGE_SIZE) - 1] LOOP
+        CONTINUE WHEN depth < 0;
+        IF depth > 0 THEN
+            SELECT t.created_at, t.id INTO cursor_created_at, cursor_id
+            FROM transactions t WHERE t.user_id = bench_user
+            ORDER BY t.created_at DESC, t.id DESC OFFSET depth * $PAGE_SIZE - 1 LIMIT 1;
+        END IF;
+
+        offset_ms := NULL; count_ms := NULL; keyset_ms := NULL;
+        FOR run IN 1..3 LOOP
+            EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT * FROM transactions t WHERE t.user_id = %L '
+                           'ORDER BY t.created_at DESC LIMIT %s OFFSET %s', bench_user, $PAGE_SIZE, depth * $PAGE_SIZE)
+                INTO plan;
+            offset_ms := LEAST(offset_ms, (plan->0->>'Execution Time')::NUMERIC);
+
+            EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT COUNT(*) FROM transactions t WHERE t.user_id = %L',
+                           bench_user)
+                INTO plan;
+            count_ms := LEAST(count_ms, (plan->0->>'Execution Time')::NUMERIC);
+
+            IF depth = 0 THEN
+                EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT * FROM transactions t WHERE t.user_id = %L '
+                               'ORDER BY t.created_at DESC, t.id DESC LIMIT %s', bench_user, $PAGE_SIZE + 1)
+                    INTO plan;
+            ELSE
+                EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT * FROM transactions t WHERE t.user_id = %L '
+                               'AND t.created_at <= %L AND (t.created_at < %L OR t.id < %L) '
+                               'ORDER BY t.created_at DESC, t.id DESC LIMIT %s',
+                               bench_user, cursor_created_at, cursor_created_at, cursor_id, $PAGE_SIZE + 1)
+                    INTO plan;
+            END IF;
+            keyset_ms := LEAST(keyset_ms, (plan->0->>'Execution Time')::NUMERIC);
+        END LOOP;
+
+        INSERT INTO pagination_results VALUES
+            (depth + 1, 'offset', offset_ms),
+            (depth + 1, 'offset + count', offset_ms + count_ms),
+            (depth + 1, 'keyset', keyset_ms);
+    END LOOP;
+END
+\$\$;
+
+SELECT page AS "PAGE",
+       max(millis) FILTER (WHERE method = 'offset') AS "OFFSET (ms)",
+       max(millis) FILTER (WHERE method = 'offset + count') AS "OFFSET + COUNT (ms)",
+       max(millis) FILTER (WHERE method = 'keyset') AS "KEYSET (ms)"
+FROM pagination_results
+GROUP BY page
+ORDER BY page;
+
+CREATE TEMP TABLE account_results (
+    page INTEGER NOT NULL,
+    method TEXT NOT NULL,
+    millis NUMERIC NOT NULL
+);
+
+DO \$\$
+DECLARE
+    bench_account UUID := '00000000-0000-7000-8002-000000000000';
+    depth INTEGER;
+    after_cursor TEXT;
+    run INTEGER;
+    plan JSON;
+    or_ms NUMERIC;
+    union_ms NUMERIC;
+BEGIN
+    FOREACH depth IN ARRAY ARRAY[0, 10, ($ROWS / 100 / $PAGE_SIZE) - 1] LOOP
+        CONTINUE WHEN depth < 0;
+        after_cursor := '';
+        IF depth > 0 THEN
+            SELECT format(' AND (t.created_at, t.id) < (%L::timestamp, %L::uuid)', t.created_at, t.id)
+            INTO after_cursor
+            FROM transactions t WHERE t.from_account_id = bench_account OR t.to_account_id = bench_account
+            ORDER BY t.created_at DESC, t.id DESC OFFSET depth * $PAGE_SIZE - 1 LIMIT 1;
+        END IF;
+
+        or_ms := NULL; union_ms := NULL;
+        FOR run IN 1..3 LOOP
+            EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT * FROM transactions t '
+                           'WHERE (t.from_account_id = %L OR t.to_account_id = %L)%s '
+                           'ORDER BY t.created_at DESC, t.id DESC LIMIT %s',
+                           bench_account, bench_account, after_cursor, $PAGE_SIZE + 1)
+                INTO plan;
+            or_ms := LEAST(or_ms, (plan->0->>'Execution Time')::NUMERIC);
+
+            EXECUTE format('EXPLAIN (ANALYZE, FORMAT JSON) SELECT h.* FROM ('
+                           '(SELECT t.* FROM transactions t WHERE t.from_account_id = %1\$L%2\$s '
+                           'ORDER BY t.created_at DESC, t.id DESC LIMIT %3\$s) UNION ALL '
+                           '(SELECT t.* FROM transactions t WHERE t.to_account_id = %1\$L '
+                           'AND t.from_account_id IS DISTINCT FROM %1\$L%2\$s '
+                           'ORDER BY t.created_at DESC, t.id DESC LIMIT %3\$s)) h '
+                           'ORDER BY h.created_at DESC, h.id DESC LIMIT %3\$s',
+                           bench_account, after_cursor, $PAGE_SIZE + 1)
+                INTO plan;
+            union_ms := LEAST(union_ms, (plan->0->>'Execution Time')::NUMERIC);
+        END LOOP;
+
+        INSERT INTO account_results VALUES
+            (depth + 1, 'or', or_ms),
+            (depth + 1, 'union', union_ms);
+    END LOOP;
+END
+\$\$;
+
+SELECT page AS "ACCOUNT PAGE",
+       max(millis) FILTER (WHERE method = 'or') AS "OR FILTER (ms)",
+       max(millis) FILTER (WHERE method = 'union') AS "UNION ALL (ms)"
+FROM account_results
+GROUP BY page
+ORDER BY page;
+
+ROLLBACK;
+SQL
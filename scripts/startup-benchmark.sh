@@ -0,0 +1,122 @@
+#!/bin/bash
+
+# Startup Benchmark Script
+# Measures time-to-ready for every backend service image, with and without
+# the fast-start mode (AppCDS archive + lazy initialization).
+#
+# Usage: ./scripts/startup-benchmark.sh [runs-per-mode]
+#
+# Infrastructure must already be running (docker-compose up -d postgres kafka redis).
+# Each service is packaged (Boot 3 modules with -Pfast-start for Spring AOT) and
+# built into an image, then started RUNS times per mode on the compose network.
+# Time-to-ready is the wall-clock time from `docker run` until Spring Boot logs
+# "Started <Application>"; the median per mode is reported.
+#
+#   plain       unpacked classpath, no application CDS archive, no lazy init
+#               (Spring AOT stays on for modules built with it)
+#   fast-start  the image entrypoint (-XX:SharedArchiveFile) + fast-start profile
+
+set -e
+
+RUNS=${1:-5}
+READY_TIMEOUT=180
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+
+BLUE='\033[0;34m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+NETWORK=$(docker network ls --filter name=banking-network --format '{{.Name}}' | head -1)
+if [ -z "$NETWORK" ]; then
+    print_error "banking-network not found. Start the infrastructure with docker-compose first."
+    exit 1
+fi
+
+DB_ENV="-e DB_HOST=postgres -e DB_PORT=5432"
+KAFKA_ENV="-e KAFKA_HOST=kafka -e KAFKA_PORT=29092"
+BOOT3_ENV="-e SPRING_DATASOURCE_URL=jdbc:postgresql://postgres:5432/banking_db \
+ -e SPRING_DATASOURCE_USERNAME=banking_user -e SPRING_DATASOURCE_PASSWORD=banking_pass \
+ -e KAFKA_BOOTSTRAP_SERVERS=kafka:29092"
+
+# service|maven flags|environment|spring profiles
+SERVICES=(
+    "account-service||$DB_ENV $KAFKA_ENV -e REDIS_HOST=redis|docker,prod"
+    "transaction-service||$DB_ENV $KAFKA_ENV|docker,prod"
+    "api-gateway|-Pfast-start|-e KAFKA_BOOTSTRAP_SERVERS=kafka:29092|docker"
+    "fraud-detection-service|-Pfast-start|$BOOT3_ENV|docker"
+    "notification-service|-Pfast-start|$BOOT3_ENV|docker"
+)
+
+# Prints milliseconds from container start until the Boot "Started" line
+time_to_ready() {
+    local image=$1 env=$2 profiles=$3 mode=$4
+    local name="startup-benchmark-$$"
+    local args=() cmd=()
+    if [ "$mode" = "plain" ]; then
+        args=(--entrypoint java)
+        cmd=(@launch.args)
+    else
+        profiles="$profiles,fast-start"
+    fi
+
+    local start=$(date +%s%N)
+    # shellcheck disable=SC2086
+    docker run -d --rm --name "$name" --network "$NETWORK" $env \
+        -e SPRING_PROFILES_ACTIVE="$profiles" "${args[@]}" "$image" "${cmd[@]}" > /dev/null
+
+    local elapsed=""
+    while [ $(( ($(date +%s%N) - start) / 1000000000 )) -lt $READY_TIMEOUT ]; do
+        if docker logs "$name" 2>&1 | grep -q "Started [A-Za-z]*Application"; then
+            elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+            break
+        fi
+        # Exited (and removed by --rm) before becoming ready
+        docker inspect "$name" > /dev/null 2>&1 || break
+        sleep 0.1
+    done
+    docker rm -f "$name" > /dev/null 2>&1 || true
+    echo "${elapsed:-timeout}"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "n/a"; else print v[int((NR + 1) / 2)] }'
+}
+
+RESULTS=()
+for entry in "${SERVICES[@]}"; do
+    IFS='|' read -r service mvn_flags env profiles <<< "$entry"
+    image="banking/$service:startup-benchmark"
+
+    print_status "Building $service..."
+    (cd "$ROOT_DIR/backend/$service" && mvn -B -q package -DskipTests $mvn_flags)
+    docker build -q -t "$image" "$ROOT_DIR/backend/$service" > /dev/null
+
+    row="$service"
+    for mode in plain fast-start; do
+        samples=()
+        for run in $(seq 1 "$RUNS"); do
+            sample=$(time_to_ready "$image" "$env" "$profiles" "$mode")
+            print_status "$service $mode run $run: ${sample}ms"
+            samples+=("$sample")
+        done
+        row="$row|$(printf '%s\n' "${samples[@]}" | grep -v timeout | median)"
+    done
+    RESULTS+=("$row")
+done
+
+echo ""
+printf "%-26s %14s %14s\n" "SERVICE" "PLAIN (ms)" "FAST-START (ms)"
+for row in "${RESULTS[@]}"; do
+    IFS='|' read -r service plain fast <<< "$row"
+    printf "%-26s %14s %14s\n" "$service" "$plain" "$fast"
+done
+echo ""
+print_status "Median of $RUNS runs per mode; 'n/a' means no run became ready within ${READY_TIMEOUT}s"
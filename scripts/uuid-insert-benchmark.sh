@@ -0,0 +1,108 @@
+#!/bin/bash
+
+# UUID Insert Benchmark Script
+# Compares insert throughput into a UUID primary key for random v4 ids (the
+# former uuid2 strategy) and time-ordered v7 ids (UuidV7Generator).
+#
+# Usage: ./scripts/uuid-insert-benchmark.sh [rows] [batch-size]
+#
+# Runs against the banking-postgres container started by docker-compose.
+# Rows go into two scratch tables shaped like the primary key of accounts and
+# transactions, in committed batches that alternate between v4 and v7 so both
+# see the same checkpoints and autovacuum activity. Batch timings are kept, so
+# the slowdown once the v4 index outgrows shared_buffers shows up in the
+# "last 10%" column. The scratch schema is dropped afterwards.
+#
+# The v7 ids are generated in SQL with the same layout as UuidV7Generator
+# (48-bit millisecond timestamp first); within a millisecond they are random
+# rather than counter-ordered, which still keeps inserts on the right-hand
+# edge of the index.
+
+set -e
+
+ROWS=${1:-20000000}
+BATCH=${2:-1000000}
+BATCHES=$(( (ROWS + BATCH - 1) / BATCH ))
+
+BLUE='\033[0;34m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+if ! docker ps --format '{{.Names}}' | grep -q '^banking-postgres$'; then
+    print_error "banking-postgres is not running. Start it with docker-compose up -d postgres first."
+    exit 1
+fi
+
+psql_exec() {
+    docker exec -i banking-postgres psql -v ON_ERROR_STOP=1 -q -U banking_user -d banking_db "$@"
+}
+
+print_status "Inserting $ROWS rows per id type in $BATCHES batches of $BATCH..."
+
+psql_exec <<SQL
+DROP SCHEMA IF EXISTS uuid_benchmark CASCADE;
+CREATE SCHEMA uuid_benchmark;
+
+CREATE FUNCTION uuid_benchmark.uuid_v7() RETURNS UUID LANGUAGE sql VOLATILE AS \$\$
+    SELECT encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid())
+        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+        FROM 1 FOR 6), 52, 1), 53, 1), 'hex')::UUID
+\$\$;
+
+CREATE TABLE uuid_benchmark.v4 (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    amount DECIMAL(19,2) NOT NULL
+);
+CREATE TABLE uuid_benchmark.v7 (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP NOT NULL,
+    amount DECIMAL(19,2) NOT NULL
+);
+CREATE TABLE uuid_benchmark.results (
+    kind TEXT NOT NULL,
+    batch INTEGER NOT NULL,
+    row_count BIGINT NOT NULL,
+    millis NUMERIC NOT NULL
+);
+
+DO \$\$
+DECLARE
+    b INTEGER;
+    kind TEXT;
+    started TIMESTAMPTZ;
+BEGIN
+    FOR b IN 1..$BATCHES LOOP
+        FOREACH kind IN ARRAY ARRAY['v4', 'v7'] LOOP
+            started := clock_timestamp();
+            EXECUTE format('INSERT INTO uuid_benchmark.%I SELECT %s, now(), random() * 1000 FROM generate_series(1, %s)',
+                kind, CASE kind WHEN 'v4' THEN 'gen_random_uuid()' ELSE 'uuid_benchmark.uuid_v7()' END, $BATCH);
+            INSERT INTO uuid_benchmark.results
+            VALUES (kind, b, $BATCH, extract(epoch FROM clock_timestamp() - started) * 1000);
+            COMMIT;
+        END LOOP;
+    END LOOP;
+END
+\$\$;
+
+SELECT kind AS "ID TYPE",
+       sum(row_count) AS "ROWS",
+       round(sum(millis) / 1000, 1) AS "SECONDS",
+       round(sum(row_count) / (sum(millis) / 1000)) AS "ROWS/S",
+       round(sum(row_count) FILTER (WHERE batch > $BATCHES * 0.9)
+             / (sum(millis) FILTER (WHERE batch > $BATCHES * 0.9) / 1000)) AS "ROWS/S (LAST 10%)",
+       pg_size_pretty(pg_relation_size(format('uuid_benchmark.%I', kind || '_pkey')::regclass)) AS "INDEX SIZE"
+FROM uuid_benchmark.results
+GROUP BY kind
+ORDER BY kind;
+
+DROP SCHEMA uuid_benchmark CASCADE;
+SQL